@@ -0,0 +1,113 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DER encoding and decoding of synthetic chains of PREFIX-SHA-256 fulfillments, each nested in the next, to
+ * show how {@link CryptoConditionReader} and {@link CryptoConditionWriter} scale with depth.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeepPrefixChainBenchmark {
+
+  /**
+   * JMH state holding a chain of prefix fulfillments, and its encoding.
+   */
+  @State(Scope.Benchmark)
+  public static class ChainState {
+
+    @Param( {"10", "1000"})
+    public int depth;
+
+    public Fulfillment fulfillment;
+
+    public byte[] encodedFulfillment;
+
+    /**
+     * Wrap a preimage fulfillment in {@link #depth} prefix fulfillments and encode the result.
+     *
+     * @throws DerEncodingException If the chain cannot be encoded.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws DerEncodingException {
+      Fulfillment chain = PreimageSha256Fulfillment.from("Hello World!".getBytes(StandardCharsets.UTF_8));
+      for (int i = 0; i < depth; i++) {
+        chain = PrefixSha256Fulfillment.from(("Level " + i).getBytes(StandardCharsets.UTF_8), 1024, chain);
+      }
+      this.fulfillment = chain;
+      this.encodedFulfillment = CryptoConditionWriter.writeFulfillment(chain);
+    }
+  }
+
+  /**
+   * Decode the chain.
+   *
+   * @param state The {@link ChainState} holding the chain.
+   *
+   * @return The decoded {@link Fulfillment}, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the fulfillment cannot be decoded.
+   */
+  @Benchmark
+  public Fulfillment readFulfillment(final ChainState state) throws DerEncodingException {
+    return CryptoConditionReader.readFulfillment(ByteBuffer.wrap(state.encodedFulfillment));
+  }
+
+  /**
+   * Encode the chain.
+   *
+   * @param state The {@link ChainState} holding the chain.
+   *
+   * @return The encoded fulfillment, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the fulfillment cannot be encoded.
+   */
+  @Benchmark
+  public byte[] writeFulfillment(final ChainState state) throws DerEncodingException {
+    return CryptoConditionWriter.writeFulfillment(state.fulfillment);
+  }
+}
@@ -0,0 +1,95 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.ThresholdSha256Condition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of THRESHOLD-SHA-256 conditions with very many subconditions, such as a governance
+ * threshold over every member of a large group.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LargeThresholdBenchmark {
+
+  /**
+   * JMH state holding the subconditions of a threshold, in a random order.
+   */
+  @State(Scope.Benchmark)
+  public static class SubconditionsState {
+
+    @Param( {"10000", "100000"})
+    public int subconditionCount;
+
+    public List<Condition> subconditions;
+
+    /**
+     * Derive {@link #subconditionCount} distinct preimage conditions and shuffle them.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+      final List<Condition> conditions = new ArrayList<>(subconditionCount);
+      for (int i = 0; i < subconditionCount; i++) {
+        conditions.add(
+            PreimageSha256Fulfillment.from(("Member " + i).getBytes(StandardCharsets.UTF_8)).getDerivedCondition()
+        );
+      }
+      Collections.shuffle(conditions, new Random(subconditionCount));
+      this.subconditions = conditions;
+    }
+  }
+
+  /**
+   * Construct a threshold requiring two thirds of the subconditions.
+   *
+   * @param state The {@link SubconditionsState} holding the subconditions.
+   *
+   * @return The constructed {@link ThresholdSha256Condition}, so that JMH does not eliminate the work.
+   */
+  @Benchmark
+  public ThresholdSha256Condition constructThreshold(final SubconditionsState state) {
+    return ThresholdSha256Condition.from(state.subconditionCount * 2 / 3, state.subconditions);
+  }
+}
@@ -0,0 +1,74 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DER decoding of conditions and fulfillments using {@link CryptoConditionReader}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderBenchmark {
+
+  /**
+   * Decode the binary condition of the current test vector.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The decoded {@link Condition}, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the condition cannot be decoded.
+   */
+  @Benchmark
+  public Condition readCondition(final TestVectorState state) throws DerEncodingException {
+    return CryptoConditionReader.readCondition(state.fixture.getConditionBytes());
+  }
+
+  /**
+   * Decode the binary fulfillment of the current test vector.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The decoded {@link Fulfillment}, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the fulfillment cannot be decoded.
+   */
+  @Benchmark
+  public Fulfillment readFulfillment(final TestVectorState state) throws DerEncodingException {
+    return CryptoConditionReader.readFulfillment(state.fixture.getFulfillmentBytes());
+  }
+}
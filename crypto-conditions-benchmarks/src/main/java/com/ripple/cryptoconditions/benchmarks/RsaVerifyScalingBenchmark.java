@@ -0,0 +1,115 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Fulfillment;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the throughput of RSA-SHA-256 {@link Fulfillment#verify} scales with the number of threads verifying
+ * concurrently.
+ *
+ * <p>Run {@link #main(String[])} to measure every thread count from 1 to 64, or pass {@code -t} to the JMH runner to
+ * measure a single thread count.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RsaVerifyScalingBenchmark {
+
+  private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+  /**
+   * JMH state holding an RSA test vector, shared by all benchmark threads.
+   */
+  @State(Scope.Benchmark)
+  public static class RsaVectorState {
+
+    static {
+      // RSA-SHA-256 verification requires a provider for SHA256withRSA/PSS.
+      Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Param( {
+        "0013_test-basic-rsa",
+        "0014_test-basic-rsa4096"
+    })
+    public String vectorName;
+
+    public TestVectorFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      this.fixture = TestVectorFixture.load(vectorName);
+    }
+  }
+
+  /**
+   * Verify the fulfillment of the current RSA test vector against its condition and message.
+   *
+   * @param state The {@link RsaVectorState} holding the test vector.
+   *
+   * @return The result of verification, so that JMH does not eliminate the work.
+   */
+  @Benchmark
+  public boolean verify(final RsaVectorState state) {
+    final TestVectorFixture fixture = state.fixture;
+    return fixture.getFulfillment().verify(fixture.getCondition(), fixture.getMessage());
+  }
+
+  /**
+   * Runs this benchmark once for every thread count from 1 to 64.
+   *
+   * @param args Ignored.
+   *
+   * @throws RunnerException if JMH fails to run the benchmark.
+   */
+  public static void main(final String[] args) throws RunnerException {
+    for (final int threads : THREAD_COUNTS) {
+      final Options options = new OptionsBuilder()
+          .include(RsaVerifyScalingBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build();
+      new Runner(options).run();
+    }
+  }
+}
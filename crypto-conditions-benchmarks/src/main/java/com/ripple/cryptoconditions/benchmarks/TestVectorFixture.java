@@ -0,0 +1,125 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.io.BaseEncoding;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+/**
+ * A benchmark fixture backed by one of the RFC test vectors found in {@code vectors/valid}.
+ *
+ * <p>Accessors return the underlying arrays without copying them so that benchmarks measure only the
+ * operation under test. Callers must not mutate the returned arrays.</p>
+ */
+public class TestVectorFixture {
+
+  private static final String VECTOR_PATH = "/com/ripple/cryptoconditions/vectors/valid/%s.json";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final String name;
+  private final byte[] conditionBytes;
+  private final byte[] fulfillmentBytes;
+  private final byte[] message;
+  private final Condition condition;
+  private final Fulfillment fulfillment;
+
+  private TestVectorFixture(
+      final String name, final byte[] conditionBytes, final byte[] fulfillmentBytes, final byte[] message
+  ) throws DerEncodingException {
+    this.name = Objects.requireNonNull(name);
+    this.conditionBytes = Objects.requireNonNull(conditionBytes);
+    this.fulfillmentBytes = Objects.requireNonNull(fulfillmentBytes);
+    this.message = Objects.requireNonNull(message);
+    this.condition = CryptoConditionReader.readCondition(conditionBytes);
+    this.fulfillment = CryptoConditionReader.readFulfillment(fulfillmentBytes);
+  }
+
+  /**
+   * Load the test vector with the supplied name (e.g., {@code 0005_test-basic-preimage}) from the classpath.
+   *
+   * @param name The name of the test vector, without the {@code .json} extension.
+   *
+   * @return A {@link TestVectorFixture} holding the binary forms of the vector's condition, fulfillment and message.
+   */
+  public static TestVectorFixture load(final String name) {
+    Objects.requireNonNull(name);
+
+    final String path = String.format(VECTOR_PATH, name);
+    try (InputStream inputStream = TestVectorFixture.class.getResourceAsStream(path)) {
+      if (inputStream == null) {
+        throw new IllegalArgumentException("No test vector found at " + path);
+      }
+      final JsonNode vector = OBJECT_MAPPER.readTree(inputStream);
+      return new TestVectorFixture(
+          name,
+          decodeHex(vector, "conditionBinary"),
+          decodeHex(vector, "fulfillment"),
+          decodeHex(vector, "message")
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (DerEncodingException e) {
+      throw new IllegalStateException("Unable to decode test vector " + name, e);
+    }
+  }
+
+  private static byte[] decodeHex(final JsonNode vector, final String fieldName) {
+    final JsonNode field = vector.get(fieldName);
+    if (field == null) {
+      throw new IllegalArgumentException("Test vector is missing field " + fieldName);
+    }
+    return BaseEncoding.base16().decode(field.asText().toUpperCase());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public byte[] getConditionBytes() {
+    return conditionBytes;
+  }
+
+  public byte[] getFulfillmentBytes() {
+    return fulfillmentBytes;
+  }
+
+  public byte[] getMessage() {
+    return message;
+  }
+
+  public Condition getCondition() {
+    return condition;
+  }
+
+  public Fulfillment getFulfillment() {
+    return fulfillment;
+  }
+}
@@ -0,0 +1,59 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.Security;
+
+/**
+ * JMH state that exposes one basic test vector per crypto-condition type, so that every benchmark is reported
+ * separately for PREIMAGE, PREFIX, THRESHOLD, RSA and ED25519.
+ */
+@State(Scope.Benchmark)
+public class TestVectorState {
+
+  static {
+    // RSA-SHA-256 verification requires a provider for SHA256withRSA/PSS.
+    Security.addProvider(new BouncyCastleProvider());
+  }
+
+  @Param( {
+      "0005_test-basic-preimage",
+      "0006_test-basic-prefix",
+      "0008_test-basic-threshold",
+      "0013_test-basic-rsa",
+      "0015_test-basic-ed25519"
+  })
+  public String vectorName;
+
+  public TestVectorFixture fixture;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    this.fixture = TestVectorFixture.load(vectorName);
+  }
+}
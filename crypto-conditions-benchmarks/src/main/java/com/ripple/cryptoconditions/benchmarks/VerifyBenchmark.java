@@ -0,0 +1,72 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.ParallelFulfillmentVerifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Fulfillment#verify} for each crypto-condition type.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerifyBenchmark {
+
+  private static final ParallelFulfillmentVerifier PARALLEL_VERIFIER = new ParallelFulfillmentVerifier();
+
+  /**
+   * Verify the fulfillment of the current test vector against its condition and message.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The result of verification, so that JMH does not eliminate the work.
+   */
+  @Benchmark
+  public boolean verify(final TestVectorState state) {
+    final TestVectorFixture fixture = state.fixture;
+    return fixture.getFulfillment().verify(fixture.getCondition(), fixture.getMessage());
+  }
+
+  /**
+   * Verify the fulfillment of the current test vector using a {@link ParallelFulfillmentVerifier}.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The result of verification, so that JMH does not eliminate the work.
+   */
+  @Benchmark
+  public boolean verifyInParallel(final TestVectorState state) {
+    final TestVectorFixture fixture = state.fixture;
+    return PARALLEL_VERIFIER.verify(fixture.getFulfillment(), fixture.getCondition(), fixture.getMessage());
+  }
+}
@@ -0,0 +1,72 @@
+package com.ripple.cryptoconditions.benchmarks;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures DER encoding of conditions and fulfillments using {@link CryptoConditionWriter}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriterBenchmark {
+
+  /**
+   * Encode the condition of the current test vector.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The DER encoding of the condition, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the condition cannot be encoded.
+   */
+  @Benchmark
+  public byte[] writeCondition(final TestVectorState state) throws DerEncodingException {
+    return CryptoConditionWriter.writeCondition(state.fixture.getCondition());
+  }
+
+  /**
+   * Encode the fulfillment of the current test vector.
+   *
+   * @param state The {@link TestVectorState} holding the test vector.
+   *
+   * @return The DER encoding of the fulfillment, so that JMH does not eliminate the work.
+   *
+   * @throws DerEncodingException If the fulfillment cannot be encoded.
+   */
+  @Benchmark
+  public byte[] writeFulfillment(final TestVectorState state) throws DerEncodingException {
+    return CryptoConditionWriter.writeFulfillment(state.fixture.getFulfillment());
+  }
+}
@@ -0,0 +1,115 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Verifies fulfillments asynchronously on a caller-supplied {@link Executor}, so that threads which must not block
+ * (such as event-loop threads) can hand off verification.</p>
+ *
+ * <p>Verification itself is performed by {@link Fulfillment#verify(Condition, byte[])}. If verification throws an
+ * exception, the returned future completes exceptionally with that exception. Instances are thread-safe.</p>
+ */
+public class AsyncFulfillmentVerifier {
+
+  private final Executor executor;
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param executor The {@link Executor} that verification is performed on.
+   */
+  public AsyncFulfillmentVerifier(final Executor executor) {
+    this.executor = Objects.requireNonNull(executor, "Executor must not be null!");
+  }
+
+  /**
+   * Verifies {@code fulfillment} against {@code condition} and {@code message} asynchronously.
+   *
+   * @param fulfillment The {@link Fulfillment} to verify.
+   * @param condition   A {@link Condition} that {@code fulfillment} should verify.
+   * @param message     An optionally-empty byte array that is part of validating the supplied condition. The array is
+   *                    copied, so it may be reused once this method returns.
+   *
+   * @return A {@link CompletableFuture} that completes with {@code true} if {@code fulfillment} validates the supplied
+   *     condition and message, and {@code false} otherwise.
+   */
+  public CompletableFuture<Boolean> verify(
+      final Fulfillment<?> fulfillment, final Condition condition, final byte[] message
+  ) {
+    Objects.requireNonNull(fulfillment, "Fulfillment must not be null!");
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    Objects.requireNonNull(message, "Message must not be null!");
+
+    final byte[] messageCopy = Arrays.copyOf(message, message.length);
+    return CompletableFuture.supplyAsync(() -> fulfillment.verify(condition, messageCopy), executor);
+  }
+
+  /**
+   * Verifies a {@link VerificationRequest} asynchronously.
+   *
+   * @param request The {@link VerificationRequest} to verify.
+   *
+   * @return A {@link CompletableFuture} that completes with {@code true} if the request's fulfillment validates its
+   *     condition and message, and {@code false} otherwise.
+   */
+  public CompletableFuture<Boolean> verify(final VerificationRequest request) {
+    Objects.requireNonNull(request, "VerificationRequest must not be null!");
+    return CompletableFuture.supplyAsync(
+        () -> request.getFulfillment().verify(request.getCondition(), request.getMessage()), executor
+    );
+  }
+
+  /**
+   * Verifies a batch of {@link VerificationRequest}s asynchronously. Each request is submitted to the executor
+   * separately, so requests are verified concurrently when the executor allows it.
+   *
+   * @param requests A {@link List} of {@link VerificationRequest}s to verify.
+   *
+   * @return A {@link CompletableFuture} that completes with an unmodifiable {@link List} holding the result of each
+   *     request, in the same order as {@code requests}. If verifying any request throws an exception, the future
+   *     completes exceptionally.
+   */
+  public CompletableFuture<List<Boolean>> verifyAll(final List<? extends VerificationRequest> requests) {
+    Objects.requireNonNull(requests, "VerificationRequests must not be null!");
+
+    final List<CompletableFuture<Boolean>> results = new ArrayList<>(requests.size());
+    for (final VerificationRequest request : requests) {
+      results.add(verify(request));
+    }
+
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0]))
+        .thenApply(ignored -> {
+          final List<Boolean> verified = new ArrayList<>(results.size());
+          for (final CompletableFuture<Boolean> result : results) {
+            verified.add(result.join());
+          }
+          return Collections.unmodifiableList(verified);
+        });
+  }
+}
@@ -0,0 +1,315 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.utils.HashUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Verifies fulfillments, remembering the result of each verification in a bounded cache so that verifying the same
+ * fulfillment against the same condition and message again does not repeat the work.</p>
+ *
+ * <p>Results are keyed by the condition (its encoding, which holds its fingerprint, cost and subtypes), the SHA-256
+ * digest of the fulfillment's encoding and the SHA-256 digest of the message. Both {@code true} and {@code false}
+ * results are cached; verifications that throw an exception are not. Any {@link Fulfillment} may be verified, because
+ * the result of {@link Fulfillment#verify(Condition, byte[])} depends only on these inputs. An
+ * {@link EncodedFulfillment} is keyed by the encoding it holds, without being decoded. A fulfillment or condition
+ * that this library cannot encode, such as one of a type it does not know, is verified without consulting the cache,
+ * and counts as a miss.</p>
+ *
+ * <p>Once the cache holds its maximum number of results, the least-recently-used result is evicted. Results may also
+ * expire a fixed time after they were cached. The cache is split into independently locked segments, each evicting
+ * on its own, so that many threads can read it concurrently; as a consequence, eviction is only approximately
+ * least-recently-used across the whole cache. Two threads that miss on the same key at the same time both verify the
+ * fulfillment. Instances are thread-safe.</p>
+ */
+public class CachingFulfillmentVerifier {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private final Segment[] segments;
+  private final long timeToLiveNanos;
+  private final LongSupplier nanoTime;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Required-args Constructor. Cached results do not expire.
+   *
+   * @param maximumSize The maximum number of results to cache.
+   */
+  public CachingFulfillmentVerifier(final int maximumSize) {
+    this(maximumSize, Long.MAX_VALUE, System::nanoTime);
+  }
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param maximumSize The maximum number of results to cache.
+   * @param timeToLive  How long a result is cached for.
+   */
+  public CachingFulfillmentVerifier(final int maximumSize, final Duration timeToLive) {
+    this(maximumSize, toNanos(timeToLive), System::nanoTime);
+  }
+
+  /**
+   * Required-args Constructor, for testing with a fake clock.
+   *
+   * @param maximumSize     The maximum number of results to cache.
+   * @param timeToLiveNanos How long a result is cached for, in nanoseconds.
+   * @param nanoTime        The source of the current time, as per {@link System#nanoTime()}.
+   */
+  CachingFulfillmentVerifier(final int maximumSize, final long timeToLiveNanos, final LongSupplier nanoTime) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive.");
+    }
+    if (timeToLiveNanos <= 0) {
+      throw new IllegalArgumentException("Time to live must be positive.");
+    }
+    this.timeToLiveNanos = timeToLiveNanos;
+    this.nanoTime = Objects.requireNonNull(nanoTime);
+
+    // A power of two, so that a segment can be selected by masking, and no more than the maximum size.
+    final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // Spread the maximum size across the segments, so that the segments hold exactly that many results in total.
+      segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+    }
+  }
+
+  /**
+   * Verifies {@code fulfillment} against {@code condition} and {@code message}, as per
+   * {@link Fulfillment#verify(Condition, byte[])}, returning a cached result if there is one.
+   *
+   * @param fulfillment The {@link Fulfillment} to verify.
+   * @param condition   A {@link Condition} that {@code fulfillment} should verify.
+   * @param message     An optionally-empty byte array that is part of validating the supplied condition.
+   *
+   * @return {@code true} if {@code fulfillment} validates the supplied condition and message; {@code false}
+   *     otherwise.
+   */
+  public boolean verify(final Fulfillment<?> fulfillment, final Condition condition, final byte[] message) {
+    Objects.requireNonNull(fulfillment, "Fulfillment must not be null!");
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    Objects.requireNonNull(message, "Message must not be null!");
+
+    final byte[] conditionEncoding = encodingOrNull(condition);
+    final byte[] fulfillmentEncoding = conditionEncoding == null ? null : encodingOrNull(fulfillment);
+    if (fulfillmentEncoding == null) {
+      missCount.increment();
+      return fulfillment.verify(condition, message);
+    }
+
+    final CacheKey key = new CacheKey(
+        conditionEncoding, HashUtils.sha256(fulfillmentEncoding), HashUtils.sha256(message)
+    );
+    final Segment segment = segmentFor(key);
+
+    CachedResult cachedResult;
+    synchronized (segment) {
+      cachedResult = segment.get(key);
+      if (cachedResult != null && isExpired(cachedResult)) {
+        segment.remove(key);
+        cachedResult = null;
+      }
+    }
+    if (cachedResult != null) {
+      hitCount.increment();
+      return cachedResult.verified;
+    }
+
+    missCount.increment();
+    final boolean verified = fulfillment.verify(condition, message);
+    final CachedResult result = new CachedResult(verified, nanoTime.getAsLong());
+    synchronized (segment) {
+      segment.put(key, result);
+    }
+    return verified;
+  }
+
+  /**
+   * Accessor for the number of verifications that were answered from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Accessor for the number of verifications that were not answered from the cache.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Accessor for the number of results currently cached, including any that have expired but not yet been removed.
+   *
+   * @return The number of cached results.
+   */
+  public long size() {
+    long size = 0;
+    for (final Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes every cached result. The hit and miss counts are not reset.
+   */
+  public void invalidateAll() {
+    for (final Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  /**
+   * Returns the encoding of {@code condition}, or {@code null} if this library cannot encode it.
+   */
+  private static byte[] encodingOrNull(final Condition condition) {
+    try {
+      return ConditionBase.encodingOf(condition);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Returns the encoding of {@code fulfillment}, or {@code null} if this library cannot encode it, for example because
+   * it, or one of its subfulfillments, is of a type that this library does not know.
+   */
+  private static byte[] encodingOrNull(final Fulfillment<?> fulfillment) {
+    if (fulfillment instanceof EncodedFulfillment) {
+      return ((EncodedFulfillment<?>) fulfillment).getEncoded();
+    }
+    try {
+      return CryptoConditionEncoder.encodeFulfillment(fulfillment);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private Segment segmentFor(final CacheKey key) {
+    final int hash = key.hashCode;
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  private boolean isExpired(final CachedResult cachedResult) {
+    return nanoTime.getAsLong() - cachedResult.cachedAtNanos >= timeToLiveNanos;
+  }
+
+  private static long toNanos(final Duration timeToLive) {
+    Objects.requireNonNull(timeToLive, "Time to live must not be null!");
+    try {
+      return timeToLive.toNanos();
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Identifies a single verification.
+   */
+  private static final class CacheKey {
+
+    private final byte[] conditionEncoding;
+    private final byte[] fulfillmentHash;
+    private final byte[] messageHash;
+    private final int hashCode;
+
+    CacheKey(final byte[] conditionEncoding, final byte[] fulfillmentHash, final byte[] messageHash) {
+      this.conditionEncoding = conditionEncoding;
+      this.fulfillmentHash = fulfillmentHash;
+      this.messageHash = messageHash;
+      this.hashCode = 31 * (31 * Arrays.hashCode(conditionEncoding) + Arrays.hashCode(fulfillmentHash))
+          + Arrays.hashCode(messageHash);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      final CacheKey that = (CacheKey) obj;
+      return hashCode == that.hashCode
+          && Arrays.equals(messageHash, that.messageHash)
+          && Arrays.equals(fulfillmentHash, that.fulfillmentHash)
+          && Arrays.equals(conditionEncoding, that.conditionEncoding);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * The result of a single verification, and when it was cached.
+   */
+  private static final class CachedResult {
+
+    private final boolean verified;
+    private final long cachedAtNanos;
+
+    CachedResult(final boolean verified, final long cachedAtNanos) {
+      this.verified = verified;
+      this.cachedAtNanos = cachedAtNanos;
+    }
+  }
+
+  /**
+   * A bounded, access-ordered map that evicts its least-recently-used result. Must be accessed while holding its
+   * lock.
+   */
+  private static final class Segment extends LinkedHashMap<CacheKey, CachedResult> {
+
+    private final int maximumSize;
+
+    Segment(final int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<CacheKey, CachedResult> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
@@ -20,19 +20,82 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
-import com.ripple.cryptoconditions.der.DerEncodingException;
+import java.util.Objects;
 
 /**
  * This class provides shared, concrete logic for all conditions.
  */
 public abstract class ConditionBase<C extends Condition> implements Condition {
 
+  // The canonical DER encoding of this (immutable) condition, computed on first use. Racing threads may each compute
+  // it, but always produce identical bytes; volatile ensures the array's contents are visible once published.
+  private volatile byte[] encoded;
+
+  /**
+   * Returns the DER encoding of {@code condition}, reusing the cached encoding of a {@link ConditionBase}, or the
+   * encoding held by an {@link EncodedCondition}.
+   *
+   * <p>The returned array may be shared and must not be modified.</p>
+   *
+   * @param condition The {@link Condition} to encode.
+   *
+   * @return The ASN.1 DER encoding of {@code condition}.
+   */
+  static byte[] encodingOf(final Condition condition) {
+    Objects.requireNonNull(condition);
+    if (condition instanceof ConditionBase) {
+      return ((ConditionBase<?>) condition).getEncoded();
+    }
+    if (condition instanceof EncodedCondition) {
+      return ((EncodedCondition) condition).getEncoded();
+    }
+    return CryptoConditionEncoder.encodeCondition(condition);
+  }
+
+  /**
+   * Returns the condition that {@code condition} stands in for if it is an {@link EncodedCondition}, so that it can
+   * be inspected by type or compared for equality with the conditions of this library.
+   *
+   * @param condition A {@link Condition}.
+   *
+   * @return The decoded form of {@code condition}, or {@code condition} itself if it is not an
+   *     {@link EncodedCondition}.
+   */
+  static Condition decodedOf(final Condition condition) {
+    return condition instanceof EncodedCondition ? ((EncodedCondition) condition).getCondition() : condition;
+  }
+
+  /**
+   * Compares two encoded conditions as unsigned bytes, in lexicographic order, with a shorter encoding ordered first
+   * when it is a prefix of the other.
+   *
+   * @param encoded1 The first encoded condition.
+   * @param encoded2 The second encoded condition.
+   *
+   * @return a negative integer, zero, or a positive integer as {@code encoded1} is less than, equal to, or greater
+   *     than {@code encoded2}.
+   */
+  static int compareEncodings(final byte[] encoded1, final byte[] encoded2) {
+    if (encoded1 == encoded2) {
+      // Repeated subconditions share their cached encoding, so weighted thresholds compare their duplicates cheaply.
+      return 0;
+    }
+    final int minLength = Math.min(encoded1.length, encoded2.length);
+    for (int i = 0; i < minLength; i++) {
+      int result = Integer.compareUnsigned(encoded1[i], encoded2[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return encoded1.length - encoded2.length;
+  }
+
   /**
    * <p>An implementation of {@link Comparable#compareTo(Object)} to conform to the {@link
    * Comparable} interface.</p>
    *
    * <p>This implementation merely loops through the bytes of each encoded condition and returns the
-   * result of that comparison.</p>
+   * result of that comparison. Each condition's encoding is computed once and then reused.</p>
    *
    * @param that A {@link Condition} to compare against this condition.
    *
@@ -41,21 +104,22 @@ public abstract class ConditionBase<C extends Condition> implements Condition {
    */
   @Override
   public final int compareTo(Condition that) {
-    try {
-      byte[] c1encoded = CryptoConditionWriter.writeCondition(this);
-      byte[] c2encoded = CryptoConditionWriter.writeCondition(that);
-
-      int minLength = Math.min(c1encoded.length, c2encoded.length);
-      for (int i = 0; i < minLength; i++) {
-        int result = Integer.compareUnsigned(c1encoded[i], c2encoded[i]);
-        if (result != 0) {
-          return result;
-        }
-      }
-      return c1encoded.length - c2encoded.length;
+    return compareEncodings(getEncoded(), encodingOf(that));
+  }
 
-    } catch (DerEncodingException e) {
-      throw new RuntimeException(e);
+  /**
+   * Returns the DER encoding of this condition, computing it on first use.
+   *
+   * <p>The returned array is shared and must not be modified.</p>
+   *
+   * @return The ASN.1 DER encoding of this condition.
+   */
+  final byte[] getEncoded() {
+    byte[] result = encoded;
+    if (result == null) {
+      result = CryptoConditionEncoder.encodeCondition(this);
+      encoded = result;
     }
+    return result;
   }
 }
@@ -0,0 +1,393 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.der.DerArrayWriter;
+import com.ripple.cryptoconditions.der.DerTag;
+import com.ripple.cryptoconditions.utils.UnsignedBigInteger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes conditions and fulfillments into ASN.1 DER using two passes over the tree.
+ *
+ * <p>The first pass computes the content length of every constructed TLV bottom-up, recording each length in
+ * pre-order together with every primitive value it needs. The second pass replays those lengths and values in the
+ * same order, writing the whole tree into one exactly-sized byte array. This avoids encoding each nested
+ * Prefix/Threshold level into its own buffer and copying it into its parent. Both passes walk nested fulfillments
+ * using an explicit stack, so fulfillments of any depth are encoded without deep recursion.</p>
+ *
+ * <p>Instances are not thread-safe and must only be used for a single encoding.</p>
+ */
+final class CryptoConditionEncoder {
+
+  private int[] lengths = new int[8];
+  private int lengthCount;
+  private int lengthIndex;
+
+  private final List<byte[]> values = new ArrayList<>();
+  private int valueIndex;
+
+  // The stack of compound fulfillments being visited, allocated on first use. Frames are reused by depth, so both
+  // passes together allocate only as many frames as the fulfillment has nested compound fulfillments.
+  private Frame[] frames;
+  private int depth;
+
+  private CryptoConditionEncoder() {
+  }
+
+  /**
+   * Encodes a Condition using ASN.1 DER encoding. This always encodes {@code condition} afresh; callers that can use
+   * a cached encoding should use {@link ConditionBase#encodingOf(Condition)} instead.
+   *
+   * @param condition A {@link Condition} to encode.
+   *
+   * @return A byte array containing the ASN.1 DER encoding of the supplied {@code condition}.
+   */
+  static byte[] encodeCondition(final Condition condition) {
+    Objects.requireNonNull(condition);
+
+    final CryptoConditionEncoder encoder = new CryptoConditionEncoder();
+    final DerArrayWriter out = new DerArrayWriter(encoder.sizeCondition(condition));
+    encoder.writeCondition(condition, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Encodes a Fulfillment using ASN.1 DER encoding.
+   *
+   * @param fulfillment A {@link Fulfillment} to encode.
+   *
+   * @return A byte array containing the ASN.1 DER encoding of the supplied {@code fulfillment}.
+   */
+  static byte[] encodeFulfillment(final Fulfillment fulfillment) {
+    Objects.requireNonNull(fulfillment);
+
+    final CryptoConditionEncoder encoder = new CryptoConditionEncoder();
+    final DerArrayWriter out = new DerArrayWriter(encoder.sizeFulfillment(fulfillment));
+    encoder.writeFulfillment(fulfillment, out);
+    return out.toByteArray();
+  }
+
+  /**
+   * Computes the encoded length of a condition, recording the lengths and values needed to write it.
+   *
+   * @param condition A {@link Condition} to size.
+   *
+   * @return The total number of bytes of the encoded condition.
+   */
+  private int sizeCondition(final Condition condition) {
+    Objects.requireNonNull(condition);
+    final Condition decoded = ConditionBase.decodedOf(condition);
+
+    if (!(decoded instanceof PreimageSha256Condition
+        || decoded instanceof PrefixSha256Condition
+        || decoded instanceof Ed25519Sha256Condition
+        || decoded instanceof RsaSha256Condition
+        || decoded instanceof ThresholdSha256Condition)) {
+      throw new IllegalArgumentException(
+          String.format("Unhandled Condition type: %s", decoded.getClass().getName())
+      );
+    }
+
+    final int index = reserveLength();
+    int contentLength = DerArrayWriter.encodedLength(addValue(decoded.getFingerprint()).length)
+        + DerArrayWriter.encodedLength(DerArrayWriter.integerLength(decoded.getCost()));
+    if (decoded instanceof CompoundCondition) {
+      final byte[] subtypes = CryptoConditionType
+          .getEnumOfTypesAsBitString(((CompoundCondition) decoded).getSubtypes());
+      contentLength += DerArrayWriter.encodedLength(addValue(subtypes).length);
+    }
+    return setLength(index, contentLength);
+  }
+
+  /**
+   * Writes a condition that was previously sized using {@link #sizeCondition(Condition)}.
+   *
+   * @param condition A {@link Condition} to write.
+   * @param out       The {@link DerArrayWriter} to write to.
+   */
+  private void writeCondition(final Condition condition, final DerArrayWriter out) {
+    final Condition decoded = ConditionBase.decodedOf(condition);
+    out.writeTag(DerTag.CONSTRUCTED.getTag() + DerTag.TAGGED.getTag() + decoded.getType().getTypeCode());
+    out.writeLength(nextLength());
+    out.writeTaggedObject(0, nextValue());
+    out.writeTaggedInteger(1, decoded.getCost());
+    if (decoded instanceof CompoundCondition) {
+      out.writeTaggedObject(2, nextValue());
+    }
+  }
+
+  /**
+   * Computes the encoded length of a fulfillment, recording the lengths and values needed to write it. Nested
+   * fulfillments are visited using an explicit stack rather than recursion, so a fulfillment of any depth is sized in
+   * constant stack space.
+   *
+   * @param fulfillment A {@link Fulfillment} to size.
+   *
+   * @return The total number of bytes of the encoded fulfillment.
+   */
+  private int sizeFulfillment(final Fulfillment fulfillment) {
+    int encodedLength = beginSizing(fulfillment);
+    while (depth > 0) {
+      final Frame frame = frames[depth - 1];
+      if (encodedLength >= 0) {
+        frame.contentLength += encodedLength;
+      }
+      final Fulfillment subfulfillment = frame.nextSubfulfillment();
+      if (subfulfillment != null) {
+        encodedLength = beginSizing(subfulfillment);
+      } else {
+        encodedLength = finishSizing(frame);
+        depth--;
+      }
+    }
+    return encodedLength;
+  }
+
+  /**
+   * Begins sizing a fulfillment, in pre-order, by reserving its length slot and recording the values that precede its
+   * subfulfillments, if any. Only a compound fulfillment has a frame pushed for it; the sizes of its subfulfillments
+   * are then added to {@link Frame#contentLength} as each one is finished.
+   *
+   * @param fulfillment A {@link Fulfillment} to size.
+   *
+   * @return The total number of bytes of the encoded fulfillment, or {@code -1} if a frame was pushed for it and its
+   *     size is not yet known.
+   */
+  private int beginSizing(final Fulfillment fulfillment) {
+    Objects.requireNonNull(fulfillment);
+
+    final int index = reserveLength();
+    final int contentLength;
+    if (fulfillment instanceof PreimageSha256Fulfillment) {
+      final byte[] preimage = Base64.getUrlDecoder()
+          .decode(((PreimageSha256Fulfillment) fulfillment).getEncodedPreimage());
+      contentLength = DerArrayWriter.encodedLength(addValue(preimage).length);
+    } else if (fulfillment instanceof PrefixSha256Fulfillment) {
+      final PrefixSha256Fulfillment prefixFulfillment = (PrefixSha256Fulfillment) fulfillment;
+      final Frame frame = pushFrame(fulfillment, index);
+      frame.headerLength = DerArrayWriter.encodedLength(addValue(prefixFulfillment.getPrefix()).length)
+          + DerArrayWriter.encodedLength(DerArrayWriter.integerLength(prefixFulfillment.getMaxMessageLength()));
+      frame.subfulfillmentsIndex = reserveLength();
+      frame.subfulfillment = prefixFulfillment.getSubfulfillment();
+      return -1;
+    } else if (fulfillment instanceof Ed25519Sha256Fulfillment) {
+      final Ed25519Sha256Fulfillment ed25519Fulfillment = (Ed25519Sha256Fulfillment) fulfillment;
+      final byte[] publicKey = ed25519Fulfillment.getPublicKey().getA().toByteArray();
+      contentLength = DerArrayWriter.encodedLength(addValue(publicKey).length)
+          + DerArrayWriter.encodedLength(addValue(ed25519Fulfillment.getSignature()).length);
+    } else if (fulfillment instanceof RsaSha256Fulfillment) {
+      final RsaSha256Fulfillment rsaFulfillment = (RsaSha256Fulfillment) fulfillment;
+      final byte[] modulus = UnsignedBigInteger.toUnsignedByteArray(rsaFulfillment.getPublicKey().getModulus());
+      contentLength = DerArrayWriter.encodedLength(addValue(modulus).length)
+          + DerArrayWriter.encodedLength(addValue(rsaFulfillment.getSignature()).length);
+    } else if (fulfillment instanceof ThresholdSha256Fulfillment) {
+      final Frame frame = pushFrame(fulfillment, index);
+      frame.subfulfillmentsIndex = reserveLength();
+      frame.subfulfillments = ((ThresholdSha256Fulfillment) fulfillment).getSubfulfillments();
+      return -1;
+    } else {
+      throw new IllegalArgumentException(
+          String.format("Unhandled Fulfillment type: %s", fulfillment.getClass().getName())
+      );
+    }
+    return setLength(index, contentLength);
+  }
+
+  /**
+   * Finishes sizing a fulfillment, in post-order, once all of its subfulfillments have been sized.
+   *
+   * @param frame The {@link Frame} of the fulfillment.
+   *
+   * @return The total number of bytes of the encoded fulfillment.
+   */
+  private int finishSizing(final Frame frame) {
+    if (frame.fulfillment instanceof PrefixSha256Fulfillment) {
+      frame.contentLength = frame.headerLength + setLength(frame.subfulfillmentsIndex, frame.contentLength);
+    } else if (frame.fulfillment instanceof ThresholdSha256Fulfillment) {
+      // Subconditions are copied from their cached encodings rather than re-encoded.
+      final int subconditionsIndex = reserveLength();
+      int subconditionsLength = 0;
+      for (final Condition subcondition : ((ThresholdSha256Fulfillment) frame.fulfillment).getSubconditions()) {
+        subconditionsLength += addValue(ConditionBase.encodingOf(subcondition)).length;
+      }
+      frame.contentLength = setLength(frame.subfulfillmentsIndex, frame.contentLength)
+          + setLength(subconditionsIndex, subconditionsLength);
+    }
+    return setLength(frame.index, frame.contentLength);
+  }
+
+  /**
+   * Writes a fulfillment that was previously sized using {@link #sizeFulfillment(Fulfillment)}, visiting nested
+   * fulfillments in the same order. Nothing follows the subfulfillment of a prefix, so only THRESHOLD-SHA-256
+   * fulfillments, which are followed by their subconditions, need a frame on the stack.
+   *
+   * @param fulfillment A {@link Fulfillment} to write.
+   * @param out         The {@link DerArrayWriter} to write to.
+   */
+  private void writeFulfillment(final Fulfillment fulfillment, final DerArrayWriter out) {
+    Fulfillment next = fulfillment;
+    while (true) {
+      out.writeTaggedConstructedHeader(next.getType().getTypeCode(), nextLength());
+      if (next instanceof PrefixSha256Fulfillment) {
+        final PrefixSha256Fulfillment prefixFulfillment = (PrefixSha256Fulfillment) next;
+        out.writeTaggedObject(0, nextValue());
+        out.writeTaggedInteger(1, prefixFulfillment.getMaxMessageLength());
+        out.writeTaggedConstructedHeader(2, nextLength());
+        next = prefixFulfillment.getSubfulfillment();
+        continue;
+      }
+
+      if (next instanceof ThresholdSha256Fulfillment) {
+        out.writeTaggedConstructedHeader(0, nextLength());
+        pushFrame(next, 0).subfulfillments = ((ThresholdSha256Fulfillment) next).getSubfulfillments();
+      } else if (next instanceof PreimageSha256Fulfillment) {
+        out.writeTaggedObject(0, nextValue());
+      } else {
+        // Ed25519 and RSA fulfillments both hold a public key and a signature.
+        out.writeTaggedObject(0, nextValue());
+        out.writeTaggedObject(1, nextValue());
+      }
+
+      // Finish every threshold whose subfulfillments have all been written, until one has another to write.
+      next = null;
+      while (next == null) {
+        if (depth == 0) {
+          return;
+        }
+        final Frame frame = frames[depth - 1];
+        next = frame.nextSubfulfillment();
+        if (next == null) {
+          out.writeTaggedConstructedHeader(1, nextLength());
+          for (int i = 0; i < ((ThresholdSha256Fulfillment) frame.fulfillment).getSubconditions().size(); i++) {
+            out.writeBytes(nextValue());
+          }
+          depth--;
+        }
+      }
+    }
+  }
+
+  /**
+   * Pushes a frame for a compound {@code fulfillment} onto the stack, reusing the frame last used at the same depth,
+   * if any.
+   *
+   * @param fulfillment The {@link Fulfillment} about to be visited.
+   * @param index       The index of the slot reserved for the content length of {@code fulfillment}.
+   *
+   * @return The {@link Frame}, reset to visit {@code fulfillment}.
+   */
+  private Frame pushFrame(final Fulfillment fulfillment, final int index) {
+    if (frames == null) {
+      frames = new Frame[8];
+    } else if (depth == frames.length) {
+      frames = Arrays.copyOf(frames, depth * 2);
+    }
+    Frame frame = frames[depth];
+    if (frame == null) {
+      frame = new Frame();
+      frames[depth] = frame;
+    }
+    depth++;
+    frame.reset(fulfillment, index);
+    return frame;
+  }
+
+  /**
+   * Reserves a slot for the content length of a constructed TLV, before its children are sized.
+   *
+   * @return The index of the reserved slot.
+   */
+  private int reserveLength() {
+    if (lengthCount == lengths.length) {
+      lengths = Arrays.copyOf(lengths, lengthCount * 2);
+    }
+    return lengthCount++;
+  }
+
+  /**
+   * Records the content length of a constructed TLV in a slot previously returned by {@link #reserveLength()}.
+   *
+   * @param index         The index of the slot.
+   * @param contentLength The content length of the TLV.
+   *
+   * @return The total encoded length of the TLV.
+   */
+  private int setLength(final int index, final int contentLength) {
+    lengths[index] = contentLength;
+    return DerArrayWriter.encodedLength(contentLength);
+  }
+
+  private int nextLength() {
+    return lengths[lengthIndex++];
+  }
+
+  private byte[] addValue(final byte[] value) {
+    values.add(value);
+    return value;
+  }
+
+  private byte[] nextValue() {
+    return values.get(valueIndex++);
+  }
+
+  /**
+   * A fulfillment that is being sized or written, together with its progress through its subfulfillments.
+   */
+  private static final class Frame {
+
+    private Fulfillment fulfillment;
+    private Fulfillment subfulfillment;
+    private List<Fulfillment> subfulfillments;
+    private int nextSubfulfillmentIndex;
+    private int index;
+    private int subfulfillmentsIndex;
+    private int headerLength;
+    private int contentLength;
+
+    void reset(final Fulfillment fulfillment, final int index) {
+      this.fulfillment = fulfillment;
+      this.index = index;
+      this.subfulfillment = null;
+      this.subfulfillments = null;
+      this.nextSubfulfillmentIndex = 0;
+      this.contentLength = 0;
+    }
+
+    /**
+     * Returns the next subfulfillment to visit, or {@code null} once every subfulfillment has been visited.
+     */
+    Fulfillment nextSubfulfillment() {
+      if (subfulfillments != null) {
+        return nextSubfulfillmentIndex < subfulfillments.size() ? subfulfillments.get(nextSubfulfillmentIndex++) : null;
+      }
+      // A prefix's only subfulfillment, if any, is visited once.
+      final Fulfillment next = subfulfillment;
+      subfulfillment = null;
+      return next;
+    }
+  }
+}
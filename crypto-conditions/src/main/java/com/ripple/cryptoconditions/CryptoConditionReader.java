@@ -20,36 +20,48 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
+import com.ripple.cryptoconditions.der.DerBufferReader;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 import com.ripple.cryptoconditions.der.DerInputStream;
 import com.ripple.cryptoconditions.der.DerTag;
-import com.ripple.cryptoconditions.utils.UnsignedBigInteger;
 import net.i2p.crypto.eddsa.EdDSAPublicKey;
-import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
-import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.math.BigInteger;
-import java.security.KeyFactory;
-import java.security.NoSuchAlgorithmException;
-import java.security.PublicKey;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.security.interfaces.RSAPublicKey;
-import java.security.spec.InvalidKeySpecException;
-import java.security.spec.RSAPublicKeySpec;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Provides utility methods to read a crypto-condition from DER encoding.
+ *
+ * <p>All variants decode using a {@link DerBufferReader}, which walks the encoding by position rather than copying
+ * each nested object into its own buffer. Nested fulfillments are read using an explicit stack rather than recursion,
+ * so the depth of a fulfillment is bounded only by {@link ReaderLimits#getMaxDepth()}.</p>
+ *
+ * <p>Every variant enforces a set of {@link ReaderLimits}, throwing a {@link ReaderLimitsExceededException} as soon as
+ * an encoding is found to exceed them. Variants that do not accept any limits enforce
+ * {@link ReaderLimits#unlimited()}, so callers reading untrusted encodings should pass limits, such as
+ * {@link ReaderLimits#defaults()}, explicitly.</p>
  */
 public class CryptoConditionReader {
 
   public static final String ED_25519 = "Ed25519";
 
+  private static final ReaderLimits UNLIMITED = ReaderLimits.unlimited();
+
+  /**
+   * The fixed cost that the crypto-conditions specification adds for each PREFIX-SHA-256 fulfillment, and for each
+   * subfulfillment of a THRESHOLD-SHA-256 fulfillment.
+   */
+  private static final long STRUCTURAL_COST = 1024L;
+
   /**
    * Reads a DER encoded condition from the buffer.
    *
@@ -76,21 +88,44 @@ public class CryptoConditionReader {
    */
   public static Condition readCondition(byte[] buffer, int offset, int length)
       throws DerEncodingException {
+    return readCondition(ByteBuffer.wrap(buffer, offset, length));
+  }
 
-    ByteArrayInputStream bais = new ByteArrayInputStream(buffer, offset, length);
-    DerInputStream in = new DerInputStream(bais);
-
-    try {
-      return readCondition(in);
-    } catch (IOException ioe) {
-      throw new UncheckedIOException(ioe);
-    } finally {
-      try {
-        in.close();
-      } catch (IOException ioe) {
-        throw new UncheckedIOException(ioe);
-      }
-    }
+  /**
+   * Reads a DER encoded condition from a {@link ByteBuffer}, which may be a heap or a direct buffer. Reading starts at
+   * the buffer's current position, which is advanced past the condition on success.
+   *
+   * @param buffer contains the raw DER encoded condition.
+   *
+   * @return The condition read from the buffer.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  public static Condition readCondition(ByteBuffer buffer) throws DerEncodingException {
+    return readCondition(buffer, UNLIMITED);
+  }
+
+  /**
+   * Reads a DER encoded condition from a {@link ByteBuffer}, which may be a heap or a direct buffer, rejecting it if
+   * it exceeds {@code limits}. Reading starts at the buffer's current position, which is advanced past the condition
+   * on success.
+   *
+   * @param buffer contains the raw DER encoded condition.
+   * @param limits The {@link ReaderLimits} to enforce.
+   *
+   * @return The condition read from the buffer.
+   *
+   * @throws ReaderLimitsExceededException when the condition exceeds {@code limits}.
+   * @throws DerEncodingException          when DER encoding fails for any reason.
+   */
+  public static Condition readCondition(ByteBuffer buffer, ReaderLimits limits) throws DerEncodingException {
+    Objects.requireNonNull(buffer);
+
+    final DerBufferReader in = new DerBufferReader(buffer);
+    final Condition condition = readCondition(in, in.getLimit(), new LimitTracker(limits));
+    // Cast to Buffer so that this compiles to the Java 8 method signature.
+    ((Buffer) buffer).position(in.getPosition());
+    return condition;
   }
 
   /**
@@ -121,23 +156,91 @@ public class CryptoConditionReader {
    */
   public static Condition readCondition(DerInputStream in, AtomicInteger bytesRead)
       throws DerEncodingException, IOException {
+    return readCondition(in, bytesRead, UNLIMITED);
+  }
 
+  /**
+   * Reads a DER encoded condition from the input stream, rejecting it if it exceeds {@code limits}. The encoded size
+   * is checked before the condition's contents are read off the stream.
+   *
+   * @param in        The input stream containing the DER encoded condition.
+   * @param bytesRead will be updated with the number of bytes read from the stream.
+   * @param limits    The {@link ReaderLimits} to enforce.
+   *
+   * @return The condition read from the stream.
+   *
+   * @throws ReaderLimitsExceededException when the condition exceeds {@code limits}.
+   * @throws DerEncodingException          when DER encoding fails for any reason.
+   * @throws IOException                   if any I/O operation fails for any reason.
+   */
+  public static Condition readCondition(DerInputStream in, AtomicInteger bytesRead, ReaderLimits limits)
+      throws DerEncodingException, IOException {
+
+    final LimitTracker tracker = new LimitTracker(limits);
+    final int start = bytesRead.get();
     int tag = in.readTag(bytesRead, DerTag.CONSTRUCTED, DerTag.TAGGED);
     CryptoConditionType type = CryptoConditionType.valueOf(tag);
     int length = in.readLength(bytesRead);
+    tracker.checkEncodedSize(bytesRead.get() - start + (long) length);
+    tracker.countNode();
+
+    // Read the contents off the stream once, then decode them in place.
+    final byte[] contents = in.readValue(length, bytesRead);
+    return readConditionContents(type, new DerBufferReader(ByteBuffer.wrap(contents)), contents.length, tracker);
+  }
 
-    AtomicInteger innerBytesRead = new AtomicInteger();
-    byte[] fingerprint =
-        in.readTaggedObject(0, length - innerBytesRead.get(), innerBytesRead).getValue();
-    long cost = new BigInteger(
-        in.readTaggedObject(1, length - innerBytesRead.get(), innerBytesRead).getValue())
-        .longValue();
+  /**
+   * Reads a DER encoded condition, including its tag and length.
+   *
+   * @param in      The {@link DerBufferReader} positioned at the start of the condition.
+   * @param end     The position that the condition must end at or before.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return The condition read from the buffer.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static Condition readCondition(DerBufferReader in, int end, LimitTracker tracker)
+      throws DerEncodingException {
+    final int start = in.getPosition();
+    final int tag = in.readTag(end, DerTag.CONSTRUCTED, DerTag.TAGGED);
+    final CryptoConditionType type = CryptoConditionType.valueOf(tag);
+    final int length = in.readLength(end);
+    if (tracker.isAtTopLevel()) {
+      tracker.checkEncodedSize(in.getPosition() - start + (long) length);
+    }
+    tracker.countNode();
+
+    return readConditionContents(type, in, in.getPosition() + length, tracker);
+  }
+
+  /**
+   * Reads the contents of a DER encoded condition whose tag and length have already been read.
+   *
+   * @param type    The type of the condition, taken from its tag.
+   * @param in      The {@link DerBufferReader} positioned at the start of the condition's contents.
+   * @param end     The position at which the condition's contents end.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return The condition read from the buffer.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static Condition readConditionContents(
+      CryptoConditionType type, DerBufferReader in, int end, LimitTracker tracker
+  ) throws DerEncodingException {
+
+    byte[] fingerprint = in.readTaggedValue(0, end);
+    long cost = in.readTaggedLong(1, end);
+    if (tracker.isAtTopLevel()) {
+      // The subconditions of a fulfillment are never verified, so only a standalone condition is charged its cost.
+      tracker.addCost(cost);
+    }
     EnumSet<CryptoConditionType> subtypes = null;
     if (type == CryptoConditionType.PREFIX_SHA256 || type == CryptoConditionType.THRESHOLD_SHA256) {
-      subtypes = CryptoConditionType.getEnumOfTypesFromBitString(
-          in.readTaggedObject(2, length - innerBytesRead.get(), innerBytesRead).getValue());
+      subtypes = CryptoConditionType.getEnumOfTypesFromBitString(in.readTaggedValue(2, end));
     }
-    bytesRead.addAndGet(innerBytesRead.get());
+    in.setPosition(end);
 
     switch (type) {
       case PREIMAGE_SHA256:
@@ -181,21 +284,45 @@ public class CryptoConditionReader {
    */
   public static Fulfillment readFulfillment(byte[] buffer, int offset, int length)
       throws DerEncodingException {
+    return readFulfillment(ByteBuffer.wrap(buffer, offset, length));
+  }
 
-    ByteArrayInputStream bais = new ByteArrayInputStream(buffer, offset, length);
-    DerInputStream in = new DerInputStream(bais);
-
-    try {
-      return readFulfillment(in);
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    } finally {
-      try {
-        in.close();
-      } catch (IOException e) {
-        throw new UncheckedIOException(e);
-      }
-    }
+  /**
+   * Reads a DER encoded fulfillment from a {@link ByteBuffer}, which may be a heap or a direct buffer. Reading starts
+   * at the buffer's current position, which is advanced past the fulfillment on success.
+   *
+   * @param buffer The buffer holding the DER encoded fulfillment.
+   *
+   * @return The fulfillment read from the buffer.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  public static Fulfillment readFulfillment(ByteBuffer buffer) throws DerEncodingException {
+    return readFulfillment(buffer, UNLIMITED);
+  }
+
+  /**
+   * Reads a DER encoded fulfillment from a {@link ByteBuffer}, which may be a heap or a direct buffer, rejecting it if
+   * it exceeds {@code limits}. Reading starts at the buffer's current position, which is advanced past the
+   * fulfillment on success.
+   *
+   * @param buffer The buffer holding the DER encoded fulfillment.
+   * @param limits The {@link ReaderLimits} to enforce.
+   *
+   * @return The fulfillment read from the buffer.
+   *
+   * @throws ReaderLimitsExceededException when the fulfillment exceeds {@code limits}.
+   * @throws DerEncodingException          when DER encoding fails for any reason.
+   */
+  public static Fulfillment readFulfillment(ByteBuffer buffer, ReaderLimits limits) throws DerEncodingException {
+    Objects.requireNonNull(buffer);
+
+    final DerBufferReader in = new DerBufferReader(buffer);
+    final LimitTracker tracker = new LimitTracker(limits);
+    final Fulfillment fulfillment = readFulfillmentTree(in, beginFulfillment(in, in.getLimit(), tracker), tracker);
+    // Cast to Buffer so that this compiles to the Java 8 method signature.
+    ((Buffer) buffer).position(in.getPosition());
+    return fulfillment;
   }
 
   /**
@@ -226,7 +353,28 @@ public class CryptoConditionReader {
    */
   public static Fulfillment readFulfillment(DerInputStream in, AtomicInteger bytesRead)
       throws DerEncodingException, IOException {
+    return readFulfillment(in, bytesRead, UNLIMITED);
+  }
+
+  /**
+   * Reads a DER encoded fulfillment from the input stream, rejecting it if it exceeds {@code limits}. The encoded size
+   * is checked before the fulfillment's contents are read off the stream.
+   *
+   * @param in        The input stream containing the DER encoded fulfillment.
+   * @param bytesRead will be updated with the number of bytes read from the stream.
+   * @param limits    The {@link ReaderLimits} to enforce.
+   *
+   * @return The fulfillment read from the stream.
+   *
+   * @throws ReaderLimitsExceededException when the fulfillment exceeds {@code limits}.
+   * @throws DerEncodingException          when DER encoding fails for any reason.
+   * @throws IOException                   if any I/O operation fails for any reason.
+   */
+  public static Fulfillment readFulfillment(DerInputStream in, AtomicInteger bytesRead, ReaderLimits limits)
+      throws DerEncodingException, IOException {
 
+    final LimitTracker tracker = new LimitTracker(limits);
+    final int start = bytesRead.get();
     int tag = in.readTag(bytesRead, DerTag.CONSTRUCTED, DerTag.TAGGED);
     CryptoConditionType type = CryptoConditionType.valueOf(tag);
     int length = in.readLength(bytesRead);
@@ -234,114 +382,335 @@ public class CryptoConditionReader {
     if (length == 0) {
       throw new DerEncodingException("Encountered an empty fulfillment.");
     }
+    tracker.checkEncodedSize(bytesRead.get() - start + (long) length);
+
+    // Read the contents off the stream once, then decode them in place.
+    final byte[] contents = in.readValue(length, bytesRead);
+    final DerBufferReader contentsReader = new DerBufferReader(ByteBuffer.wrap(contents));
+    return readFulfillmentTree(
+        contentsReader, beginFulfillmentContents(type, contentsReader, contents.length, tracker), tracker
+    );
+  }
 
-    AtomicInteger innerBytesRead = new AtomicInteger();
-    switch (type) {
-      case PREIMAGE_SHA256:
+  /**
+   * Decodes the public key of an RSA-SHA-256 fulfillment in the same way as this reader, reusing a recently decoded
+   * key with the same modulus if there is one.
+   *
+   * @param modulus The unsigned, big-endian modulus, as encoded in an RSA-SHA-256 fulfillment.
+   *
+   * @return An {@link RSAPublicKey} with {@code modulus} and {@link RsaSha256Fulfillment#PUBLIC_EXPONENT}.
+   */
+  public static RSAPublicKey readRsaPublicKey(final byte[] modulus) {
+    Objects.requireNonNull(modulus);
+    return PublicKeyCache.rsaPublicKey(modulus.clone());
+  }
 
-        byte[] preimage =
-            in.readTaggedObject(0, length - innerBytesRead.get(), innerBytesRead).getValue();
+  /**
+   * Decodes the public key of an ED25519-SHA-256 fulfillment in the same way as this reader, reusing a recently
+   * decoded key with the same encoding if there is one.
+   *
+   * @param publicKey The 32-byte encoded public key, as encoded in an ED25519-SHA-256 fulfillment.
+   *
+   * @return An {@link EdDSAPublicKey}.
+   */
+  public static EdDSAPublicKey readEd25519PublicKey(final byte[] publicKey) {
+    Objects.requireNonNull(publicKey);
+    return PublicKeyCache.ed25519PublicKey(publicKey.clone());
+  }
 
-        bytesRead.addAndGet(innerBytesRead.get());
+  /**
+   * Reads a tree of DER encoded fulfillments, starting from the outermost one. Nested fulfillments are read using an
+   * explicit stack of {@link FulfillmentFrame}s rather than recursion, so a fulfillment of any depth is read in
+   * constant stack space.
+   *
+   * @param in      The {@link DerBufferReader} positioned just after the part of the outermost fulfillment that was
+   *                read by {@code root}.
+   * @param root    The {@link FulfillmentFrame} of the outermost fulfillment.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return The fulfillment read from the buffer.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static Fulfillment readFulfillmentTree(DerBufferReader in, FulfillmentFrame root, LimitTracker tracker)
+      throws DerEncodingException {
 
-        return PreimageSha256Fulfillment.from(preimage);
+    final Deque<FulfillmentFrame> stack = new ArrayDeque<>();
+    FulfillmentFrame frame = root;
+    while (true) {
+      if (frame.fulfillment == null && hasNextSubfulfillment(frame, in, tracker)) {
+        stack.push(frame);
+        frame = beginFulfillment(in, frame.subfulfillmentsEnd, tracker);
+        continue;
+      }
 
-      case PREFIX_SHA256:
+      in.setPosition(frame.end);
+      tracker.exitFulfillment();
+      if (stack.isEmpty()) {
+        return frame.fulfillment;
+      }
+      final Fulfillment subfulfillment = frame.fulfillment;
+      frame = stack.pop();
+      if (frame.subfulfillments != null) {
+        frame.subfulfillments.add(subfulfillment);
+      } else {
+        frame.subfulfillment = subfulfillment;
+      }
+    }
+  }
+
+  /**
+   * Begins reading a DER encoded fulfillment, including its tag and length.
+   *
+   * @param in      The {@link DerBufferReader} positioned at the start of the fulfillment.
+   * @param end     The position that the fulfillment must end at or before.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return A {@link FulfillmentFrame} for the fulfillment.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static FulfillmentFrame beginFulfillment(DerBufferReader in, int end, LimitTracker tracker)
+      throws DerEncodingException {
+    final int start = in.getPosition();
+    final int tag = in.readTag(end, DerTag.CONSTRUCTED, DerTag.TAGGED);
+    final CryptoConditionType type = CryptoConditionType.valueOf(tag);
+    final int length = in.readLength(end);
+
+    if (length == 0) {
+      throw new DerEncodingException("Encountered an empty fulfillment.");
+    }
+    if (tracker.isAtTopLevel()) {
+      tracker.checkEncodedSize(in.getPosition() - start + (long) length);
+    }
 
-        final byte[] prefix =
-            in.readTaggedObject(0, length - innerBytesRead.get(), innerBytesRead).getValue();
-        final long maxMessageLength = new BigInteger(
-            in.readTaggedObject(1, length - innerBytesRead.get(), innerBytesRead).getValue())
-            .longValue();
+    return beginFulfillmentContents(type, in, in.getPosition() + length, tracker);
+  }
 
-        in.readTag(2, innerBytesRead, DerTag.CONSTRUCTED, DerTag.TAGGED);
-        in.readLength(innerBytesRead);
+  /**
+   * Begins reading the contents of a DER encoded fulfillment whose tag and length have already been read. A
+   * fulfillment without subfulfillments is read completely; otherwise, everything that precedes its subfulfillments
+   * is read, and the rest is read by {@link #hasNextSubfulfillment(FulfillmentFrame, DerBufferReader, LimitTracker)}.
+   *
+   * @param type    The type of the fulfillment, taken from its tag.
+   * @param in      The {@link DerBufferReader} positioned at the start of the fulfillment's contents.
+   * @param end     The position at which the fulfillment's contents end.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return A {@link FulfillmentFrame} for the fulfillment.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static FulfillmentFrame beginFulfillmentContents(
+      CryptoConditionType type, DerBufferReader in, int end, LimitTracker tracker
+  ) throws DerEncodingException {
 
-        Fulfillment subfulfillment = readFulfillment(in, innerBytesRead);
+    tracker.enterFulfillment();
+    final FulfillmentFrame frame = new FulfillmentFrame(type, end);
+    switch (type) {
+      case PREIMAGE_SHA256:
 
-        bytesRead.addAndGet(innerBytesRead.get());
+        final byte[] preimage = in.readTaggedValue(0, end);
+        tracker.addCost(preimage.length);
 
-        return PrefixSha256Fulfillment.from(prefix, maxMessageLength, subfulfillment);
+        frame.fulfillment = PreimageSha256Fulfillment.from(preimage);
+        break;
 
-      case THRESHOLD_SHA256:
+      case PREFIX_SHA256:
+
+        frame.prefix = in.readTaggedValue(0, end);
+        frame.maxMessageLength = in.readTaggedLong(1, end);
+        tracker.addCost(frame.prefix.length + STRUCTURAL_COST);
+        tracker.addCost(frame.maxMessageLength);
 
-        List<Fulfillment> subfulfillments = new ArrayList<>();
+        in.readTag(2, end, DerTag.CONSTRUCTED, DerTag.TAGGED);
+        frame.subfulfillmentsEnd = in.readLength(end) + in.getPosition();
+        break;
 
-        tag = in.readTag(innerBytesRead, DerTag.CONSTRUCTED, DerTag.TAGGED);
-        length = in.readLength(innerBytesRead);
+      case THRESHOLD_SHA256:
+
+        int tag = in.readTag(end, DerTag.CONSTRUCTED, DerTag.TAGGED);
+        int setEnd = in.readLength(end) + in.getPosition();
 
         // It is legal (per the encoding rules) for a THRESHOLD fulfillment to have only
         // sub-conditions even though it will never verify so we need to check if we've
         // skipped tag number 0
+        frame.subfulfillments = new ArrayList<>();
         if (tag == 0) {
+          frame.subfulfillmentsEnd = setEnd;
+        } else if (tag == 1) {
+          frame.fulfillment = ThresholdSha256Fulfillment.from(
+              readSubconditions(in, setEnd, tracker), frame.subfulfillments
+          );
+        } else {
+          throw new DerEncodingException("Expected tag: 1, got: " + tag);
+        }
+        break;
 
-          AtomicInteger subfulfillmentsBytesRead = new AtomicInteger();
-          while (subfulfillmentsBytesRead.get() < length) {
-            subfulfillments.add(readFulfillment(in, subfulfillmentsBytesRead));
-          }
-          innerBytesRead.addAndGet(subfulfillmentsBytesRead.get());
+      case RSA_SHA256:
 
-          in.readTag(1, innerBytesRead, DerTag.CONSTRUCTED, DerTag.TAGGED);
-          length = in.readLength(innerBytesRead);
+        final byte[] modulus = in.readTaggedValue(0, end);
+        final byte[] rsaSignature = in.readTaggedValue(1, end);
+        tracker.addCost((long) modulus.length * modulus.length);
 
-        } else if (tag != 1) {
-          throw new DerEncodingException("Expected tag: 1, got: " + tag);
-        }
+        frame.fulfillment = RsaSha256Fulfillment.from(PublicKeyCache.rsaPublicKey(modulus), rsaSignature);
+        break;
 
-        List<Condition> subconditions = new ArrayList<>();
+      case ED25519_SHA256:
+        final byte[] ed25519key = in.readTaggedValue(0, end);
+        final byte[] ed25519Signature = in.readTaggedValue(1, end);
+        tracker.addCost(Ed25519Sha256Condition.AbstractEd25519Sha256Condition.COST);
 
-        AtomicInteger subconditionsBytesRead = new AtomicInteger();
-        while (subconditionsBytesRead.get() < length) {
-          subconditions.add(readCondition(in, subconditionsBytesRead));
-        }
-        innerBytesRead.addAndGet(subconditionsBytesRead.get());
+        frame.fulfillment = Ed25519Sha256Fulfillment.from(
+            PublicKeyCache.ed25519PublicKey(ed25519key), ed25519Signature
+        );
+        break;
+
+      default:
+        throw new DerEncodingException("Unrecogized condition type: " + type);
+    }
+    return frame;
+  }
 
-        bytesRead.addAndGet(innerBytesRead.get());
+  /**
+   * Determines whether a PREFIX-SHA-256 or THRESHOLD-SHA-256 fulfillment has another subfulfillment to be read, which
+   * starts at the reader's position and must end at or before {@link FulfillmentFrame#subfulfillmentsEnd}. If it does
+   * not, the rest of the fulfillment is read, and the fulfillment is constructed.
+   *
+   * @param frame   The {@link FulfillmentFrame} of the fulfillment.
+   * @param in      The {@link DerBufferReader} positioned just after the fulfillment's last subfulfillment, if any.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return {@code true} if another subfulfillment should be read; {@code false} if the fulfillment is complete.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static boolean hasNextSubfulfillment(FulfillmentFrame frame, DerBufferReader in, LimitTracker tracker)
+      throws DerEncodingException {
 
-        return ThresholdSha256Fulfillment.from(subconditions, subfulfillments);
+    if (frame.type == CryptoConditionType.PREFIX_SHA256) {
+      if (frame.subfulfillment == null) {
+        return true;
+      }
+      frame.fulfillment = PrefixSha256Fulfillment.from(frame.prefix, frame.maxMessageLength, frame.subfulfillment);
+      return false;
+    }
 
-      case RSA_SHA256:
+    if (in.getPosition() < frame.subfulfillmentsEnd) {
+      tracker.checkSubfulfillmentCount(frame.subfulfillments.size() + 1);
+      tracker.addCost(STRUCTURAL_COST);
+      return true;
+    }
 
-        final BigInteger modulus = UnsignedBigInteger.fromUnsignedByteArray(
-            in.readTaggedObject(0, length - innerBytesRead.get(), innerBytesRead).getValue()
-        );
+    in.readTag(1, frame.end, DerTag.CONSTRUCTED, DerTag.TAGGED);
+    final int setEnd = in.readLength(frame.end) + in.getPosition();
+    frame.fulfillment = ThresholdSha256Fulfillment.from(readSubconditions(in, setEnd, tracker), frame.subfulfillments);
+    return false;
+  }
+
+  /**
+   * Reads the subconditions of a THRESHOLD-SHA-256 fulfillment.
+   *
+   * @param in      The {@link DerBufferReader} positioned at the first subcondition.
+   * @param setEnd  The position at which the set of subconditions ends.
+   * @param tracker The {@link LimitTracker} for the encoding being read.
+   *
+   * @return A {@link List} of the subconditions.
+   *
+   * @throws DerEncodingException when DER encoding fails for any reason.
+   */
+  private static List<Condition> readSubconditions(DerBufferReader in, int setEnd, LimitTracker tracker)
+      throws DerEncodingException {
+    final List<Condition> subconditions = new ArrayList<>();
+    while (in.getPosition() < setEnd) {
+      subconditions.add(readCondition(in, setEnd, tracker));
+    }
+    return subconditions;
+  }
 
-        final byte[] rsaSignature = in.readTaggedObject(
-            1, length - innerBytesRead.get(), innerBytesRead
-        ).getValue();
+  /**
+   * A fulfillment that is being read, together with everything read so far that is needed to construct it.
+   */
+  private static final class FulfillmentFrame {
+
+    private final CryptoConditionType type;
+    private final int end;
+    private List<Fulfillment> subfulfillments;
+    private Fulfillment subfulfillment;
+    private int subfulfillmentsEnd;
+    private byte[] prefix;
+    private long maxMessageLength;
+    private Fulfillment fulfillment;
+
+    FulfillmentFrame(final CryptoConditionType type, final int end) {
+      this.type = type;
+      this.end = end;
+    }
+  }
 
-        bytesRead.addAndGet(innerBytesRead.get());
+  /**
+   * Tracks the resources spent reading a single encoding, checking them against its {@link ReaderLimits}.
+   */
+  private static final class LimitTracker {
 
-        final RSAPublicKeySpec rsaSpec = new RSAPublicKeySpec(
-            modulus, RsaSha256Fulfillment.PUBLIC_EXPONENT
-        );
+    private final ReaderLimits limits;
+    private int depth;
+    private int nodes;
+    private long cost;
 
-        try {
-          final KeyFactory rsaKeyFactory = KeyFactory.getInstance("RSA");
-          final PublicKey publicKey = rsaKeyFactory.generatePublic(rsaSpec);
+    LimitTracker(final ReaderLimits limits) {
+      this.limits = Objects.requireNonNull(limits, "ReaderLimits must not be null!");
+    }
 
-          return RsaSha256Fulfillment.from((RSAPublicKey) publicKey, rsaSignature);
+    /**
+     * Whether nothing enclosing the object being read has been read, i.e. whether that object is the outermost one.
+     */
+    boolean isAtTopLevel() {
+      return depth == 0;
+    }
 
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
-          throw new RuntimeException("Error creating RSA key.", e);
-        }
+    void checkEncodedSize(final long encodedSize) throws ReaderLimitsExceededException {
+      if (encodedSize > limits.getMaxEncodedSize()) {
+        throw new ReaderLimitsExceededException(
+            "Encoded size of " + encodedSize + " bytes exceeds the limit of " + limits.getMaxEncodedSize() + "."
+        );
+      }
+    }
 
-      case ED25519_SHA256:
-        byte[] ed25519key =
-            in.readTaggedObject(0, length - innerBytesRead.get(), innerBytesRead).getValue();
-        byte[] ed25519Signature =
-            in.readTaggedObject(1, length - innerBytesRead.get(), innerBytesRead).getValue();
+    void countNode() throws ReaderLimitsExceededException {
+      if (++nodes > limits.getMaxNodes()) {
+        throw new ReaderLimitsExceededException("Number of nodes exceeds the limit of " + limits.getMaxNodes() + ".");
+      }
+    }
 
-        bytesRead.addAndGet(innerBytesRead.get());
+    void enterFulfillment() throws ReaderLimitsExceededException {
+      if (++depth > limits.getMaxDepth()) {
+        throw new ReaderLimitsExceededException("Fulfillment depth exceeds the limit of " + limits.getMaxDepth() + ".");
+      }
+      countNode();
+    }
 
-        EdDSAPublicKeySpec ed25519spec = new EdDSAPublicKeySpec(ed25519key,
-            EdDSANamedCurveTable.getByName(ED_25519));
-        EdDSAPublicKey ed25519PublicKey = new EdDSAPublicKey(ed25519spec);
+    void exitFulfillment() {
+      depth--;
+    }
 
-        return Ed25519Sha256Fulfillment.from(ed25519PublicKey, ed25519Signature);
+    void checkSubfulfillmentCount(final int subfulfillmentCount) throws ReaderLimitsExceededException {
+      if (subfulfillmentCount > limits.getMaxSubfulfillments()) {
+        throw new ReaderLimitsExceededException(
+            "Number of subfulfillments exceeds the limit of " + limits.getMaxSubfulfillments() + "."
+        );
+      }
+    }
 
-      default:
-        throw new DerEncodingException("Unrecogized condition type: " + type);
+    /**
+     * Adds {@code additionalCost} to the aggregate cost. The running total never exceeds the limit, so this check
+     * cannot overflow.
+     */
+    void addCost(final long additionalCost) throws ReaderLimitsExceededException {
+      if (additionalCost > limits.getMaxCost() - cost) {
+        throw new ReaderLimitsExceededException("Aggregate cost exceeds the limit of " + limits.getMaxCost() + ".");
+      }
+      cost += Math.max(0, additionalCost);
     }
   }
 }
@@ -136,13 +136,14 @@ public class CryptoConditionUri {
    * @return A {@link URI} representing the ni-schemed version of the supplied {@code condition}.
    */
   public static URI toUri(final Condition condition) {
-    if (condition instanceof SimpleCondition) {
-      return writeSingleCondition((SimpleCondition) condition);
-    } else if (condition instanceof CompoundCondition) {
-      return writeCompoundCondition((CompoundCondition) condition);
+    final Condition decoded = ConditionBase.decodedOf(condition);
+    if (decoded instanceof SimpleCondition) {
+      return writeSingleCondition((SimpleCondition) decoded);
+    } else if (decoded instanceof CompoundCondition) {
+      return writeCompoundCondition((CompoundCondition) decoded);
     } else {
       throw new IllegalArgumentException(
-          String.format("Unhandled Condition type: %s", condition.getClass().getName())
+          String.format("Unhandled Condition type: %s", decoded.getClass().getName())
       );
     }
   }
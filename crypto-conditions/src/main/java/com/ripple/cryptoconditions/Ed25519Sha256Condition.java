@@ -20,15 +20,13 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
-import com.ripple.cryptoconditions.der.DerOutputStream;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
 import com.ripple.cryptoconditions.der.DerTag;
+import com.ripple.cryptoconditions.der.DerWriter;
 import com.ripple.cryptoconditions.utils.HashUtils;
 import net.i2p.crypto.eddsa.EdDSAPublicKey;
 import org.immutables.value.Value;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.util.Base64;
 import java.util.Objects;
 
@@ -48,9 +46,7 @@ public interface Ed25519Sha256Condition extends Sha256Condition {
 
     Objects.requireNonNull(edDsaPublicKey);
 
-    final byte[] fingerprint = HashUtils.hashFingerprintContents(
-        AbstractEd25519Sha256Condition.constructFingerprintContents(edDsaPublicKey)
-    );
+    final byte[] fingerprint = AbstractEd25519Sha256Condition.constructFingerprint(edDsaPublicKey);
 
     return ImmutableEd25519Sha256Condition.builder()
         .type(CryptoConditionType.ED25519_SHA256)
@@ -101,32 +97,43 @@ public interface Ed25519Sha256Condition extends Sha256Condition {
     static final long COST = 131072L;
 
     /**
-     * Constructs the fingerprint for this condition.
+     * Constructs the unhashed fingerprint contents for this condition.
      * <p/>
      * Note: This method is package-private as (opposed to private) for testing purposes.
      */
     static final byte[] constructFingerprintContents(final EdDSAPublicKey publicKey) {
       Objects.requireNonNull(publicKey);
 
-      try {
-        // Write public publicKey
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        DerOutputStream out = new DerOutputStream(baos);
-        out.writeTaggedObject(0, publicKey.getA().toByteArray());
-        out.close();
-        byte[] buffer = baos.toByteArray();
-
-        // Wrap SEQUENCE
-        baos = new ByteArrayOutputStream();
-        out = new DerOutputStream(baos);
-        out.writeEncoded(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag(), buffer);
-        out.close();
-
-        return baos.toByteArray();
-
-      } catch (IOException ioe) {
-        throw new UncheckedIOException("DER Encoding Error", ioe);
-      }
+      final byte[] publicKeyBytes = publicKey.getA().toByteArray();
+      final DerArrayWriter out = new DerArrayWriter(
+          DerArrayWriter.encodedLength(fingerprintContentLength(publicKeyBytes))
+      );
+      writeFingerprintContents(publicKeyBytes, out);
+      return out.toByteArray();
+    }
+
+    /**
+     * Constructs the fingerprint for this condition, by hashing the contents that
+     * {@link #constructFingerprintContents(EdDSAPublicKey)} would construct as they are written.
+     */
+    static final byte[] constructFingerprint(final EdDSAPublicKey publicKey) {
+      Objects.requireNonNull(publicKey);
+
+      final byte[] publicKeyBytes = publicKey.getA().toByteArray();
+      return HashUtils.hashFingerprintContents(out -> writeFingerprintContents(publicKeyBytes, out));
+    }
+
+    /**
+     * Writes the fingerprint contents for this condition, as a SEQUENCE of the public key.
+     */
+    private static void writeFingerprintContents(final byte[] publicKeyBytes, final DerWriter out) {
+      out.writeTag(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag());
+      out.writeLength(fingerprintContentLength(publicKeyBytes));
+      out.writeTaggedObject(0, publicKeyBytes);
+    }
+
+    private static int fingerprintContentLength(final byte[] publicKeyBytes) {
+      return DerArrayWriter.encodedLength(publicKeyBytes.length);
     }
 
     /**
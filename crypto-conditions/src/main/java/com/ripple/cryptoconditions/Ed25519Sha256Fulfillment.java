@@ -20,15 +20,9 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
-import net.i2p.crypto.eddsa.EdDSAEngine;
 import net.i2p.crypto.eddsa.EdDSAPublicKey;
 import org.immutables.value.Value;
 
-import java.security.InvalidKeyException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.security.Signature;
-import java.security.SignatureException;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Objects;
@@ -62,14 +56,12 @@ public interface Ed25519Sha256Fulfillment extends Fulfillment<Ed25519Sha256Condi
 
     final byte[] immutableSignature = Arrays.copyOf(signature, signature.length);
     final String signatureBase64Url = Base64.getUrlEncoder().encodeToString(signature);
-    final Ed25519Sha256Condition condition = Ed25519Sha256Condition.from(publicKey);
 
     return ImmutableEd25519Sha256Fulfillment.builder()
         .type(CryptoConditionType.ED25519_SHA256)
         .publicKey(publicKey)
         .signature(immutableSignature)
         .signatureBase64Url(signatureBase64Url)
-        .derivedCondition(condition)
         .build();
   }
 
@@ -108,26 +100,48 @@ public interface Ed25519Sha256Fulfillment extends Fulfillment<Ed25519Sha256Condi
   @Value.Immutable
   abstract class AbstractEd25519Sha256Fulfillment implements Ed25519Sha256Fulfillment {
 
+    /**
+     * The signature bytes, decoded once from {@link #getSignatureBase64Url()} on first verification.
+     */
+    private volatile byte[] signatureBytes;
+
+    /**
+     * Derives the condition for this fulfillment from its public key. This happens on first access, and the result is
+     * memoized by the generated immutable implementation.
+     *
+     * @return The {@link Ed25519Sha256Condition} that corresponds to this fulfillment.
+     */
+    @Override
+    @Value.Lazy
+    public Ed25519Sha256Condition getDerivedCondition() {
+      return Ed25519Sha256Condition.from(getPublicKey());
+    }
+
     @Override
     public boolean verify(final Condition condition, final byte[] message) {
       Objects.requireNonNull(condition, "Can't verify a Ed25519Sha256Fulfillment against an null condition.");
       Objects.requireNonNull(message, "Message must not be null!");
 
-      if (!getDerivedCondition().equals(condition)) {
+      if (!getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
         return false;
       }
 
-      try {
-        final byte[] signatureBytes = Base64.getUrlDecoder().decode(getSignatureBase64Url());
-        // MessageDigest isn't particularly expensive to construct (see MessageDigest source).
-        final MessageDigest messageDigest = MessageDigest.getInstance("SHA-512");
-        final Signature edDsaSigner = new EdDSAEngine(messageDigest);
-        edDsaSigner.initVerify(getPublicKey());
-        edDsaSigner.update(message);
-        return edDsaSigner.verify(signatureBytes);
-      } catch (InvalidKeyException | NoSuchAlgorithmException | SignatureException e) {
-        throw new RuntimeException(e);
+      return Ed25519Verifier.verify(getPublicKey(), message, getSignatureBytes());
+    }
+
+    /**
+     * Accessor for the signature bytes, without copying or decoding them on every call. The returned array must not be
+     * modified.
+     *
+     * @return A byte array containing the signature for this fulfillment.
+     */
+    private byte[] getSignatureBytes() {
+      byte[] bytes = signatureBytes;
+      if (bytes == null) {
+        bytes = Base64.getUrlDecoder().decode(getSignatureBase64Url());
+        signatureBytes = bytes;
       }
+      return bytes;
     }
 
     /**
@@ -0,0 +1,79 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import net.i2p.crypto.eddsa.EdDSAEngine;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SignatureException;
+import java.util.Objects;
+
+/**
+ * Verifies ED25519 signatures for {@link Ed25519Sha256Fulfillment}, reusing as much state as possible between calls.
+ *
+ * <p>Each thread keeps its own {@link EdDSAEngine} and SHA-512 digest, so a verification needs neither a provider
+ * lookup nor any new engine. In addition, an {@link EdDSAPublicKey} lazily computes and holds the expensive,
+ * per-key state used for verification (the negated, precomputed curve point). Verifying with the canonical instance
+ * of each key held by {@link PublicKeyCache} means that this work is done once per key while it remains cached,
+ * instead of once per decoded fulfillment.</p>
+ */
+final class Ed25519Verifier {
+
+  private static final ThreadLocal<EdDSAEngine> ENGINES = ThreadLocal.withInitial(Ed25519Verifier::newEngine);
+
+  private Ed25519Verifier() {
+  }
+
+  /**
+   * Verifies an ED25519 signature of {@code message}.
+   *
+   * @param publicKey The {@link EdDSAPublicKey} to verify the signature with.
+   * @param message   The signed message.
+   * @param signature The 64-byte signature.
+   *
+   * @return {@code true} if {@code signature} is a valid signature of {@code message} by {@code publicKey}.
+   */
+  static boolean verify(final EdDSAPublicKey publicKey, final byte[] message, final byte[] signature) {
+    Objects.requireNonNull(publicKey);
+    Objects.requireNonNull(message);
+    Objects.requireNonNull(signature);
+
+    final EdDSAEngine engine = ENGINES.get();
+    try {
+      engine.initVerify(PublicKeyCache.canonicalEd25519Key(publicKey));
+      return engine.verifyOneShot(message, signature);
+    } catch (InvalidKeyException | SignatureException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static EdDSAEngine newEngine() {
+    try {
+      return new EdDSAEngine(MessageDigest.getInstance("SHA-512"));
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -0,0 +1,68 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+/**
+ * <p>A {@link Condition} that is held in its DER encoding, and stands in for the condition that it encodes, for example
+ * because it is only decoded on demand.</p>
+ *
+ * <p>This library orders and encodes such a condition using {@link #getEncoded()}, without decoding it, so it sorts and
+ * compares as equal to the condition that it encodes, and it may be used as a subcondition of a threshold. Wherever
+ * this library needs the concrete condition, such as to verify a fulfillment against it, it uses
+ * {@link #getCondition()}.</p>
+ *
+ * <p>The conditions of this library do not recognize an {@link EncodedCondition} as equal to themselves, so, to keep
+ * {@link Object#equals(Object)} symmetric, implementations must not consider themselves equal to any condition that is
+ * not an {@link EncodedCondition}. As with {@link java.math.BigDecimal}, the natural ordering of an
+ * {@link EncodedCondition} is therefore inconsistent with equals.</p>
+ */
+public interface EncodedCondition extends Condition {
+
+  /**
+   * Accessor for the DER encoding of this condition. Implementations should return the encoding they hold, rather
+   * than a copy, since this library reads it every time the condition is compared or encoded.
+   *
+   * @return The ASN.1 DER encoding of the condition that this condition stands in for, which callers must not
+   *     modify.
+   */
+  byte[] getEncoded();
+
+  /**
+   * Accessor for the condition that this condition stands in for.
+   *
+   * @return The decoded {@link Condition}, which is not an {@link EncodedCondition}.
+   */
+  Condition getCondition();
+
+  /**
+   * Compares this condition to {@code that} by their encodings, in the same order as the conditions of this library,
+   * without decoding this condition.
+   *
+   * @param that A {@link Condition} to compare against this condition.
+   *
+   * @return a negative integer, zero, or a positive integer as this condition is less than, equal to, or greater than
+   *     {@code that}.
+   */
+  @Override
+  default int compareTo(final Condition that) {
+    return ConditionBase.compareEncodings(getEncoded(), ConditionBase.encodingOf(that));
+  }
+}
@@ -0,0 +1,49 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+/**
+ * <p>A {@link Fulfillment} that is held in its DER encoding, and stands in for the fulfillment that it encodes, for
+ * example because it is only decoded on demand.</p>
+ *
+ * <p>Wherever this library only needs the encoding of a fulfillment, such as to key a
+ * {@link CachingFulfillmentVerifier}, it uses {@link #getEncoded()} rather than encoding the fulfillment again.</p>
+ *
+ * @param <C> The type of {@link Condition} that this fulfillment derives.
+ */
+public interface EncodedFulfillment<C extends Condition> extends Fulfillment<C> {
+
+  /**
+   * Accessor for the DER encoding of this fulfillment. Implementations should return the encoding they hold, rather
+   * than a copy.
+   *
+   * @return The ASN.1 DER encoding of the fulfillment that this fulfillment stands in for, which callers must not
+   *     modify.
+   */
+  byte[] getEncoded();
+
+  /**
+   * Accessor for the fulfillment that this fulfillment stands in for.
+   *
+   * @return The decoded {@link Fulfillment}.
+   */
+  Fulfillment<?> getFulfillment();
+}
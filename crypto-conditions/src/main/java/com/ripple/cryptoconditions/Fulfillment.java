@@ -20,6 +20,8 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
+import java.util.Objects;
+
 /**
  * An implementation of a crypto-conditions Fulfillment.
  *
@@ -88,4 +90,29 @@ public interface Fulfillment<C extends Condition> {
   default boolean verify(Condition condition) {
     return verify(condition, "".getBytes());
   }
+
+  /**
+   * <p>Validation of a fulfillment (F) against a condition (C) and a message (M), as per
+   * {@link #verify(Condition, byte[])}, bounded by a maximum cost.</p>
+   *
+   * <p>If the cost of C exceeds {@code maxCost}, this method returns {@code false} without examining F. Otherwise, the
+   * work of verifying every fulfillment in F is metered using the cost rules of the crypto-conditions specification,
+   * and if that exceeds {@code maxCost}, this method returns {@code false} without verifying any signature. This
+   * places a hard bound on the work of verifying an untrusted fulfillment.</p>
+   *
+   * @param condition A {@link Condition} that this fulfillment should verify.
+   * @param message   An optionally-empty byte array that, if present, is part of validating the supplied condition.
+   * @param maxCost   The maximum cost that verification may incur.
+   *
+   * @return {@code true} if this fulfillment validates the supplied condition and message within {@code maxCost};
+   *     {@code false} otherwise.
+   *
+   * @see "https://tools.ietf.org/html/draft-thomas-crypto-conditions-04"
+   */
+  default boolean verify(Condition condition, byte[] message, long maxCost) {
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    Objects.requireNonNull(message, "Message must not be null!");
+
+    return VerificationBudget.isAffordable(this, condition, maxCost) && verify(condition, message);
+  }
 }
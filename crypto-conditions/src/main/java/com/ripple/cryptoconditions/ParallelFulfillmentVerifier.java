@@ -0,0 +1,201 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Ed25519Sha256Condition.AbstractEd25519Sha256Condition;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment.AbstractPrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.ThresholdSha256Fulfillment.AbstractThresholdSha256Fulfillment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>Verifies fulfillments by fanning out the verification of independent subfulfillments across a
+ * {@link ForkJoinPool}.</p>
+ *
+ * <p>A fulfillment is only valid if every subfulfillment in its tree is valid, so as soon as any subfulfillment fails
+ * to verify, subfulfillments that have not yet started are skipped and verification returns {@code false}. THRESHOLD
+ * and PREFIX fulfillments are descended into at any depth. Fulfillments whose cost is below a configurable threshold
+ * are verified sequentially on the current thread, because splitting them would cost more than it saves.</p>
+ *
+ * <p>This class returns the same result as {@link Fulfillment#verify(Condition, byte[])}, except that if verifying one
+ * subfulfillment would throw an exception while another returns {@code false}, which of the two is observed depends
+ * on scheduling. Instances are thread-safe.</p>
+ */
+public class ParallelFulfillmentVerifier {
+
+  /**
+   * The default cost below which a fulfillment is verified sequentially, which is the cost of two ED25519
+   * signatures.
+   */
+  public static final long DEFAULT_SEQUENTIAL_COST_THRESHOLD = 2 * AbstractEd25519Sha256Condition.COST;
+
+  private final ForkJoinPool pool;
+  private final long sequentialCostThreshold;
+
+  /**
+   * No-args Constructor. Verifies using the common {@link ForkJoinPool}, and the default sequential cost threshold.
+   */
+  public ParallelFulfillmentVerifier() {
+    this(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_COST_THRESHOLD);
+  }
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param pool                    The {@link ForkJoinPool} that subfulfillments are verified on.
+   * @param sequentialCostThreshold The cost below which a fulfillment is verified sequentially.
+   */
+  public ParallelFulfillmentVerifier(final ForkJoinPool pool, final long sequentialCostThreshold) {
+    this.pool = Objects.requireNonNull(pool);
+    if (sequentialCostThreshold < 0) {
+      throw new IllegalArgumentException("Sequential cost threshold must not be negative.");
+    }
+    this.sequentialCostThreshold = sequentialCostThreshold;
+  }
+
+  /**
+   * Verifies {@code fulfillment} against {@code condition} and {@code message}, as per
+   * {@link Fulfillment#verify(Condition, byte[])}.
+   *
+   * @param fulfillment The {@link Fulfillment} to verify.
+   * @param condition   A {@link Condition} that {@code fulfillment} should verify.
+   * @param message     An optionally-empty byte array that is part of validating the supplied condition.
+   *
+   * @return {@code true} if {@code fulfillment} validates the supplied condition and message; {@code false}
+   *     otherwise.
+   */
+  public boolean verify(final Fulfillment<?> fulfillment, final Condition condition, final byte[] message) {
+    Objects.requireNonNull(fulfillment, "Fulfillment must not be null!");
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    Objects.requireNonNull(message, "Message must not be null!");
+
+    if (!isSplittable(fulfillment)) {
+      return fulfillment.verify(condition, message);
+    }
+    return pool.invoke(new VerifyTask(fulfillment, condition, message, new AtomicBoolean()));
+  }
+
+  /**
+   * Determines whether {@code fulfillment} is worth verifying by splitting it into subtasks.
+   *
+   * @param fulfillment A {@link Fulfillment}.
+   *
+   * @return {@code true} if {@code fulfillment} is a PREFIX or THRESHOLD fulfillment whose cost is at least the
+   *     sequential cost threshold.
+   */
+  private boolean isSplittable(final Fulfillment<?> fulfillment) {
+    return (fulfillment instanceof AbstractThresholdSha256Fulfillment
+        || fulfillment instanceof AbstractPrefixSha256Fulfillment)
+        && fulfillment.getDerivedCondition().getCost() >= sequentialCostThreshold;
+  }
+
+  /**
+   * Verifies one fulfillment in the tree. Every task of a single verification shares a flag that is set once any
+   * of them fails, so that tasks which have not yet started can be skipped.
+   */
+  private class VerifyTask extends RecursiveTask<Boolean> {
+
+    private final Fulfillment<?> fulfillment;
+    private final Condition condition;
+    private final byte[] message;
+    private final AtomicBoolean failed;
+
+    VerifyTask(
+        final Fulfillment<?> fulfillment, final Condition condition, final byte[] message, final AtomicBoolean failed
+    ) {
+      this.fulfillment = fulfillment;
+      this.condition = condition;
+      this.message = message;
+      this.failed = failed;
+    }
+
+    @Override
+    protected Boolean compute() {
+      if (failed.get()) {
+        return false;
+      }
+      final boolean verified = verifyFulfillment();
+      if (!verified) {
+        failed.set(true);
+      }
+      return verified;
+    }
+
+    private boolean verifyFulfillment() {
+      if (!isSplittable(fulfillment)) {
+        return fulfillment.verify(condition, message);
+      }
+
+      if (fulfillment instanceof AbstractPrefixSha256Fulfillment) {
+        // Mirrors AbstractPrefixSha256Fulfillment#verify, descending into the subfulfillment on this thread.
+        final AbstractPrefixSha256Fulfillment prefixFulfillment = (AbstractPrefixSha256Fulfillment) fulfillment;
+        final byte[] prefixedMessage = prefixFulfillment.constructPrefixedMessage(message);
+        if (!prefixFulfillment.getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
+          return false;
+        }
+        final Fulfillment<?> subfulfillment = prefixFulfillment.getSubfulfillment();
+        return new VerifyTask(subfulfillment, subfulfillment.getDerivedCondition(), prefixedMessage, failed)
+            .compute();
+      }
+
+      // Mirrors AbstractThresholdSha256Fulfillment#verify, verifying every subfulfillment in parallel.
+      final ThresholdSha256Fulfillment thresholdFulfillment = (ThresholdSha256Fulfillment) fulfillment;
+      if (!thresholdFulfillment.getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
+        return false;
+      }
+      final List<Fulfillment> subfulfillments = thresholdFulfillment.getSubfulfillments();
+      if (subfulfillments.isEmpty()) {
+        return true;
+      }
+
+      // Fork all but the first subfulfillment, which is verified on this thread.
+      final List<VerifyTask> forkedTasks = new ArrayList<>(subfulfillments.size() - 1);
+      for (int i = 1; i < subfulfillments.size(); i++) {
+        final Fulfillment<?> subfulfillment = subfulfillments.get(i);
+        if (subfulfillment == subfulfillments.get(i - 1)) {
+          // A weighted subfulfillment is repeated, and verifying it again would give the same result.
+          continue;
+        }
+        final VerifyTask task = new VerifyTask(subfulfillment, subfulfillment.getDerivedCondition(), message, failed);
+        task.fork();
+        forkedTasks.add(task);
+      }
+
+      final Fulfillment<?> firstSubfulfillment = subfulfillments.get(0);
+      boolean verified = new VerifyTask(firstSubfulfillment, firstSubfulfillment.getDerivedCondition(), message, failed)
+          .compute();
+      for (final VerifyTask task : forkedTasks) {
+        if (verified && !failed.get()) {
+          verified = task.join();
+        } else {
+          // Only cancels tasks that have not started; any that have will see the flag and return early.
+          task.cancel(false);
+        }
+      }
+      return verified && !failed.get();
+    }
+  }
+}
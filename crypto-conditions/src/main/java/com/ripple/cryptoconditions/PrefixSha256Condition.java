@@ -20,16 +20,12 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
-import com.ripple.cryptoconditions.der.DerEncodingException;
-import com.ripple.cryptoconditions.der.DerOutputStream;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
 import com.ripple.cryptoconditions.der.DerTag;
+import com.ripple.cryptoconditions.der.DerWriter;
 import com.ripple.cryptoconditions.utils.HashUtils;
 import org.immutables.value.Value;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.math.BigInteger;
 import java.util.Base64;
 import java.util.EnumSet;
 import java.util.Objects;
@@ -54,10 +50,8 @@ public interface PrefixSha256Condition extends CompoundSha256Condition {
   ) {
     final long cost = AbstractPrefixSha256Condition
         .calculateCost(prefix, maxMessageLength, subcondition.getCost());
-    final byte[] fingerprint = HashUtils.hashFingerprintContents(
-        AbstractPrefixSha256Condition
-            .constructFingerprintContents(prefix, maxMessageLength, subcondition)
-    );
+    final byte[] fingerprint = AbstractPrefixSha256Condition
+        .constructFingerprint(prefix, maxMessageLength, subcondition);
     final EnumSet<CryptoConditionType> subtypes = AbstractPrefixSha256Condition
         .calculateSubtypes(subcondition);
 
@@ -109,7 +103,7 @@ public interface PrefixSha256Condition extends CompoundSha256Condition {
       ConditionBase<PrefixSha256Condition> implements PrefixSha256Condition {
 
     /**
-     * <p>Constructs the fingerprint for this condition.</p>
+     * <p>Constructs the unhashed fingerprint contents for this condition.</p>
      */
     static final byte[] constructFingerprintContents(
         final byte[] prefix, final long maxMessageLength, final Condition subcondition
@@ -117,28 +111,51 @@ public interface PrefixSha256Condition extends CompoundSha256Condition {
       Objects.requireNonNull(prefix);
       Objects.requireNonNull(subcondition);
 
-      try {
-        // Build prefix and subcondition
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        DerOutputStream out = new DerOutputStream(baos);
-        out.writeTaggedObject(0, prefix);
-        out.writeTaggedObject(1, BigInteger.valueOf(maxMessageLength).toByteArray());
-        out.writeTaggedConstructedObject(2, CryptoConditionWriter.writeCondition(subcondition));
-        out.close();
-        byte[] buffer = baos.toByteArray();
-
-        // Wrap SEQUENCE
-        baos = new ByteArrayOutputStream();
-        out = new DerOutputStream(baos);
-        out.writeEncoded(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag(), buffer);
-        out.close();
-        return baos.toByteArray();
-
-      } catch (IOException e) {
-        throw new UncheckedIOException("DER Encoding Error", e);
-      } catch (DerEncodingException e) {
-        throw new RuntimeException(e);
-      }
+      final byte[] subconditionEncoding = ConditionBase.encodingOf(subcondition);
+      final DerArrayWriter out = new DerArrayWriter(
+          DerArrayWriter.encodedLength(fingerprintContentLength(prefix, maxMessageLength, subconditionEncoding))
+      );
+      writeFingerprintContents(prefix, maxMessageLength, subconditionEncoding, out);
+      return out.toByteArray();
+    }
+
+    /**
+     * <p>Constructs the fingerprint for this condition, by hashing the contents that
+     * {@link #constructFingerprintContents(byte[], long, Condition)} would construct as they are written.</p>
+     */
+    static final byte[] constructFingerprint(
+        final byte[] prefix, final long maxMessageLength, final Condition subcondition
+    ) {
+      Objects.requireNonNull(prefix);
+      Objects.requireNonNull(subcondition);
+
+      final byte[] subconditionEncoding = ConditionBase.encodingOf(subcondition);
+      return HashUtils.hashFingerprintContents(
+          out -> writeFingerprintContents(prefix, maxMessageLength, subconditionEncoding, out)
+      );
+    }
+
+    /**
+     * Writes the fingerprint contents for this condition, as a SEQUENCE of the prefix, the maximum message length and
+     * the subcondition.
+     */
+    private static void writeFingerprintContents(
+        final byte[] prefix, final long maxMessageLength, final byte[] subconditionEncoding, final DerWriter out
+    ) {
+      out.writeTag(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag());
+      out.writeLength(fingerprintContentLength(prefix, maxMessageLength, subconditionEncoding));
+      out.writeTaggedObject(0, prefix);
+      out.writeTaggedInteger(1, maxMessageLength);
+      out.writeTaggedConstructedHeader(2, subconditionEncoding.length);
+      out.writeBytes(subconditionEncoding);
+    }
+
+    private static int fingerprintContentLength(
+        final byte[] prefix, final long maxMessageLength, final byte[] subconditionEncoding
+    ) {
+      return DerArrayWriter.encodedLength(prefix.length)
+          + DerArrayWriter.encodedLength(DerArrayWriter.integerLength(maxMessageLength))
+          + DerArrayWriter.encodedLength(subconditionEncoding.length);
     }
 
     /**
@@ -166,9 +183,10 @@ public interface PrefixSha256Condition extends CompoundSha256Condition {
      */
     static EnumSet<CryptoConditionType> calculateSubtypes(final Condition subcondition) {
       Objects.requireNonNull(subcondition);
-      final EnumSet<CryptoConditionType> subtypes = EnumSet.of(subcondition.getType());
-      if (subcondition instanceof CompoundCondition) {
-        subtypes.addAll(((CompoundCondition) subcondition).getSubtypes());
+      final Condition decoded = ConditionBase.decodedOf(subcondition);
+      final EnumSet<CryptoConditionType> subtypes = EnumSet.of(decoded.getType());
+      if (decoded instanceof CompoundCondition) {
+        subtypes.addAll(((CompoundCondition) decoded).getSubtypes());
       }
 
       // Remove our own type
@@ -21,6 +21,7 @@ package com.ripple.cryptoconditions;
  */
 
 import org.immutables.value.Value.Immutable;
+import org.immutables.value.Value.Lazy;
 
 import java.util.Arrays;
 import java.util.Base64;
@@ -48,9 +49,6 @@ public interface PrefixSha256Fulfillment extends Fulfillment<PrefixSha256Conditi
     }
     final byte[] prefixInternal = Arrays.copyOf(prefix, prefix.length);
     final String prefixBase64Url = Base64.getUrlEncoder().encodeToString(prefix);
-    final PrefixSha256Condition condition = PrefixSha256Condition.from(
-        prefix, maxMessageLength, subfulfillment.getDerivedCondition()
-    );
 
     return ImmutablePrefixSha256Fulfillment.builder()
         .type(CryptoConditionType.PREFIX_SHA256)
@@ -58,7 +56,6 @@ public interface PrefixSha256Fulfillment extends Fulfillment<PrefixSha256Conditi
         .prefixBase64Url(prefixBase64Url)
         .maxMessageLength(maxMessageLength)
         .subfulfillment(subfulfillment)
-        .derivedCondition(condition)
         .build();
   }
 
@@ -103,11 +100,47 @@ public interface PrefixSha256Fulfillment extends Fulfillment<PrefixSha256Conditi
   @Immutable
   abstract class AbstractPrefixSha256Fulfillment implements PrefixSha256Fulfillment {
 
+    /**
+     * Derives the condition for this fulfillment from its prefix, maximum message length and the derived condition of
+     * its subfulfillment. This happens on first access, and the result is memoized by the generated immutable
+     * implementation, so a tree of fulfillments is hashed bottom-up, once, and only if its condition is needed.
+     *
+     * @return The {@link PrefixSha256Condition} that corresponds to this fulfillment.
+     */
+    @Override
+    @Lazy
+    public PrefixSha256Condition getDerivedCondition() {
+      return PrefixSha256Condition.from(
+          getPrefix(), getMaxMessageLength(), getSubfulfillment().getDerivedCondition()
+      );
+    }
+
     @Override
     public boolean verify(final Condition condition, final byte[] message) {
       Objects.requireNonNull(condition, "Can't verify a PrefixSha256Fulfillment against a null condition!");
       Objects.requireNonNull(message, "Message must not be null!");
 
+      final byte[] prefixedMessage = constructPrefixedMessage(message);
+
+      if (!getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
+        return false;
+      }
+
+      final Condition subcondition = getSubfulfillment().getDerivedCondition();
+      return getSubfulfillment().verify(subcondition, prefixedMessage);
+    }
+
+    /**
+     * Constructs the message that the subfulfillment of this fulfillment must verify, by prepending this fulfillment's
+     * prefix to {@code message}.
+     *
+     * @param message The message that this fulfillment is being verified with.
+     *
+     * @return A newly allocated byte array containing the prefix followed by {@code message}.
+     *
+     * @throws IllegalArgumentException if {@code message} is longer than {@link #getMaxMessageLength()}.
+     */
+    final byte[] constructPrefixedMessage(final byte[] message) {
       if (message.length > getMaxMessageLength()) {
         throw new IllegalArgumentException(
             String
@@ -116,18 +149,12 @@ public interface PrefixSha256Fulfillment extends Fulfillment<PrefixSha256Conditi
                     getMaxMessageLength()));
       }
 
-      if (!getDerivedCondition().equals(condition)) {
-        return false;
-      }
-
       final byte[] decodedPrefix = Base64.getUrlDecoder().decode(getPrefixBase64Url());
       final byte[] prefixedMessage = Arrays.copyOf(
           decodedPrefix, decodedPrefix.length + message.length
       );
       System.arraycopy(message, 0, prefixedMessage, decodedPrefix.length, message.length);
-
-      final Condition subcondition = getSubfulfillment().getDerivedCondition();
-      return getSubfulfillment().verify(subcondition, prefixedMessage);
+      return prefixedMessage;
     }
 
     /**
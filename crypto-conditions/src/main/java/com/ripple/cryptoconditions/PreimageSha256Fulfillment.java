@@ -45,18 +45,9 @@ public interface PreimageSha256Fulfillment extends Fulfillment<PreimageSha256Con
     Objects.requireNonNull(preimage);
     final String encodedPreimage = Base64.getUrlEncoder().encodeToString(preimage);
 
-    final long cost = AbstractPreimageSha256Fulfillment.calculateCost(preimage);
-    final byte[] fingerprint = HashUtils.hashFingerprintContents(
-        AbstractPreimageSha256Fulfillment.constructFingerprint(preimage)
-    );
-    final PreimageSha256Condition condition = PreimageSha256Condition.fromCostAndFingerprint(
-        cost, fingerprint
-    );
-
     return ImmutablePreimageSha256Fulfillment.builder()
         .type(CryptoConditionType.PREIMAGE_SHA256)
         .encodedPreimage(encodedPreimage)
-        .derivedCondition(condition)
         .build();
   }
 
@@ -98,13 +89,42 @@ public interface PreimageSha256Fulfillment extends Fulfillment<PreimageSha256Con
       return preimage.length;
     }
 
+    /**
+     * Derives the condition for this fulfillment by hashing its preimage. This happens on first access, and the result
+     * is memoized by the generated immutable implementation.
+     *
+     * @return The {@link PreimageSha256Condition} that corresponds to this fulfillment.
+     */
+    @Override
+    @Value.Lazy
+    public PreimageSha256Condition getDerivedCondition() {
+      final byte[] preimage = Base64.getUrlDecoder().decode(getEncodedPreimage());
+      return PreimageSha256Condition.fromCostAndFingerprint(
+          calculateCost(preimage), HashUtils.hashFingerprintContents(constructFingerprint(preimage))
+      );
+    }
+
     @Override
     public final boolean verify(final Condition condition, final byte[] message) {
       Objects.requireNonNull(condition,
           "Can't verify a PreimageSha256Fulfillment against an null condition.");
       Objects.requireNonNull(message, "Message must not be null!");
 
-      return getDerivedCondition().equals(condition);
+      return getDerivedCondition().equals(ConditionBase.decodedOf(condition));
+    }
+
+    /**
+     * Prints the immutable value {@code PreimageSha256Fulfillment} with attribute values.
+     *
+     * @return A string representation of the value
+     */
+    @Override
+    public String toString() {
+      return "PreimageSha256Fulfillment{"
+          + "encodedPreimage=" + getEncodedPreimage()
+          + ", type=" + getType()
+          + ", derivedCondition=" + getDerivedCondition()
+          + "}";
     }
   }
 }
@@ -0,0 +1,235 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.utils.UnsignedBigInteger;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSANamedCurveTable;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Decodes the public keys held by RSA-SHA-256 and ED25519-SHA-256 fulfillments for {@link CryptoConditionReader},
+ * remembering recently decoded keys by their encoded bytes.
+ *
+ * <p>Decoding an RSA key requires a JCA {@link KeyFactory}, and decoding an ED25519 key requires decompressing a
+ * curve point. Since the same keys tend to be read over and over, each cache hit skips that work entirely. Keys are
+ * immutable, so a cached instance may be shared by any number of fulfillments.</p>
+ *
+ * <p>The cached ED25519 keys are also the canonical instances that {@link Ed25519Verifier} verifies with, so that the
+ * verification state an {@link EdDSAPublicKey} computes on first use is kept for every key in this cache, whether the
+ * key was read or supplied by a caller.</p>
+ */
+final class PublicKeyCache {
+
+  /**
+   * The maximum number of keys of each type that are cached.
+   */
+  static final int MAX_CACHED_KEYS = 1024;
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private static final KeyCache<RSAPublicKey> RSA_KEYS = new KeyCache<>();
+
+  private static final KeyCache<EdDSAPublicKey> ED25519_KEYS = new KeyCache<>();
+
+  private PublicKeyCache() {
+  }
+
+  /**
+   * Returns the RSA public key with the given modulus and {@link RsaSha256Fulfillment#PUBLIC_EXPONENT}.
+   *
+   * @param modulus The unsigned, big-endian modulus, as encoded in an RSA-SHA-256 fulfillment. Must not be modified
+   *                once passed to this method.
+   *
+   * @return An {@link RSAPublicKey}.
+   */
+  static RSAPublicKey rsaPublicKey(final byte[] modulus) {
+    return RSA_KEYS.lookupOrDecode(modulus, PublicKeyCache::decodeRsaPublicKey);
+  }
+
+  /**
+   * Returns the ED25519 public key with the given encoding.
+   *
+   * @param publicKey The 32-byte encoded public key, as encoded in an ED25519-SHA-256 fulfillment. Must not be
+   *                  modified once passed to this method.
+   *
+   * @return An {@link EdDSAPublicKey}.
+   */
+  static EdDSAPublicKey ed25519PublicKey(final byte[] publicKey) {
+    return ED25519_KEYS.lookupOrDecode(publicKey, PublicKeyCache::decodeEd25519PublicKey);
+  }
+
+  /**
+   * Returns the cached ED25519 public key that is equal to {@code publicKey}, caching {@code publicKey} itself if there
+   * is none.
+   *
+   * @param publicKey An {@link EdDSAPublicKey}.
+   *
+   * @return An {@link EdDSAPublicKey} equal to {@code publicKey}.
+   */
+  static EdDSAPublicKey canonicalEd25519Key(final EdDSAPublicKey publicKey) {
+    return ED25519_KEYS.lookupOrDecode(publicKey.getAbyte(), encoded -> publicKey);
+  }
+
+  /**
+   * Accessor for the number of ED25519 keys currently cached.
+   *
+   * @return The number of cached {@link EdDSAPublicKey} instances.
+   */
+  static int ed25519KeyCount() {
+    return ED25519_KEYS.size();
+  }
+
+  private static RSAPublicKey decodeRsaPublicKey(final byte[] modulus) {
+    final RSAPublicKeySpec rsaSpec = new RSAPublicKeySpec(
+        UnsignedBigInteger.fromUnsignedByteArray(modulus), RsaSha256Fulfillment.PUBLIC_EXPONENT
+    );
+    try {
+      return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(rsaSpec);
+    } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+      throw new RuntimeException("Error creating RSA key.", e);
+    }
+  }
+
+  private static EdDSAPublicKey decodeEd25519PublicKey(final byte[] publicKey) {
+    return new EdDSAPublicKey(
+        new EdDSAPublicKeySpec(publicKey, EdDSANamedCurveTable.getByName(CryptoConditionReader.ED_25519))
+    );
+  }
+
+  /**
+   * A bounded cache of the values decoded from encoded keys. Once it holds {@link #MAX_CACHED_KEYS} values, the
+   * least-recently-used value is evicted. The cache is split into independently locked segments, each evicting on its
+   * own, so that many threads can read it concurrently; as a consequence, eviction is only approximately
+   * least-recently-used across the whole cache.
+   */
+  private static final class KeyCache<K> {
+
+    private final Segment<K>[] segments;
+
+    @SuppressWarnings("unchecked")
+    KeyCache() {
+      this.segments = new Segment[MAX_SEGMENTS];
+      for (int i = 0; i < MAX_SEGMENTS; i++) {
+        // Spread the maximum size across the segments, so that the segments hold exactly that many keys in total.
+        segments[i] = new Segment<>(MAX_CACHED_KEYS / MAX_SEGMENTS + (i < MAX_CACHED_KEYS % MAX_SEGMENTS ? 1 : 0));
+      }
+    }
+
+    /**
+     * Returns the cached value for {@code encoded}, decoding and caching it if there is none. Values that fail to
+     * decode are never cached. Two threads that miss on the same key at the same time both decode it, but both return
+     * the value that was cached first.
+     */
+    K lookupOrDecode(final byte[] encoded, final Function<byte[], K> decoder) {
+      final KeyBytes keyBytes = new KeyBytes(encoded);
+      final Segment<K> segment = segmentFor(keyBytes);
+
+      final K cachedKey;
+      synchronized (segment) {
+        cachedKey = segment.get(keyBytes);
+      }
+      if (cachedKey != null) {
+        return cachedKey;
+      }
+
+      final K key = decoder.apply(encoded);
+      synchronized (segment) {
+        final K existingKey = segment.putIfAbsent(keyBytes, key);
+        return existingKey == null ? key : existingKey;
+      }
+    }
+
+    int size() {
+      int size = 0;
+      for (final Segment<K> segment : segments) {
+        synchronized (segment) {
+          size += segment.size();
+        }
+      }
+      return size;
+    }
+
+    private Segment<K> segmentFor(final KeyBytes keyBytes) {
+      final int hash = keyBytes.hashCode;
+      return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+  }
+
+  /**
+   * A bounded, access-ordered map that evicts its least-recently-used value. Must be accessed while holding its lock.
+   */
+  private static final class Segment<K> extends LinkedHashMap<KeyBytes, K> {
+
+    private final int maximumSize;
+
+    Segment(final int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<KeyBytes, K> eldest) {
+      return size() > maximumSize;
+    }
+  }
+
+  /**
+   * An encoded key, compared by content.
+   */
+  private static final class KeyBytes {
+
+    private final byte[] bytes;
+    private final int hashCode;
+
+    KeyBytes(final byte[] bytes) {
+      this.bytes = bytes;
+      this.hashCode = Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof KeyBytes)) {
+        return false;
+      }
+      final KeyBytes that = (KeyBytes) obj;
+      return hashCode == that.hashCode && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
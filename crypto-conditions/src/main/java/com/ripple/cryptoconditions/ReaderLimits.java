@@ -0,0 +1,192 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import org.immutables.value.Value;
+
+/**
+ * <p>Limits on the resources that {@link CryptoConditionReader} may spend decoding a single condition or fulfillment,
+ * so that a small, hostile encoding cannot force a reader to recurse deeply, allocate large amounts of memory or build
+ * a fulfillment that is expensive to verify.</p>
+ *
+ * <p>Each limit is checked as soon as the value it constrains has been read, and before any nested objects,
+ * public keys or fulfillments are constructed, so that a violating encoding is rejected with a
+ * {@link ReaderLimitsExceededException} having done as little work as possible.</p>
+ */
+public interface ReaderLimits {
+
+  /**
+   * The default maximum depth of nested fulfillments.
+   */
+  int DEFAULT_MAX_DEPTH = 128;
+
+  /**
+   * The default maximum number of subfulfillments in a single THRESHOLD-SHA-256 fulfillment.
+   */
+  int DEFAULT_MAX_SUBFULFILLMENTS = 4096;
+
+  /**
+   * The default maximum number of fulfillments and conditions in a single encoding.
+   */
+  int DEFAULT_MAX_NODES = 65536;
+
+  /**
+   * The default maximum size of a single encoding, in bytes.
+   */
+  int DEFAULT_MAX_ENCODED_SIZE = 4 * 1024 * 1024;
+
+  /**
+   * The default maximum aggregate cost of a single fulfillment, which is unbounded.
+   */
+  long DEFAULT_MAX_COST = Long.MAX_VALUE;
+
+  /**
+   * Accessor for the default limits, which are generous enough for any reasonable condition or fulfillment, and are
+   * recommended for reading untrusted encodings.
+   *
+   * @return The default {@link ReaderLimits}.
+   */
+  static ReaderLimits defaults() {
+    return ImmutableReaderLimits.builder().build();
+  }
+
+  /**
+   * Accessor for limits that no encoding can exceed, which are used by the variants of {@link CryptoConditionReader}
+   * that do not accept any limits, so that those variants read everything they have always read.
+   *
+   * @return A {@link ReaderLimits} with every limit set to its maximum value.
+   */
+  static ReaderLimits unlimited() {
+    return ImmutableReaderLimits.builder()
+        .maxDepth(Integer.MAX_VALUE)
+        .maxSubfulfillments(Integer.MAX_VALUE)
+        .maxNodes(Integer.MAX_VALUE)
+        .maxEncodedSize(Integer.MAX_VALUE)
+        .maxCost(Long.MAX_VALUE)
+        .build();
+  }
+
+  /**
+   * Constructs a builder for {@link ReaderLimits}, with every limit initialized to its default.
+   *
+   * @return An {@link ImmutableReaderLimits.Builder}.
+   */
+  static ImmutableReaderLimits.Builder builder() {
+    return ImmutableReaderLimits.builder();
+  }
+
+  /**
+   * Accessor for the maximum depth of nested fulfillments, counting the outermost fulfillment as depth one.
+   *
+   * @return The maximum depth.
+   */
+  int getMaxDepth();
+
+  /**
+   * Accessor for the maximum number of subfulfillments in any single THRESHOLD-SHA-256 fulfillment.
+   *
+   * @return The maximum number of subfulfillments.
+   */
+  int getMaxSubfulfillments();
+
+  /**
+   * Accessor for the maximum total number of fulfillments and conditions, at any depth, in a single encoding.
+   *
+   * @return The maximum number of nodes.
+   */
+  int getMaxNodes();
+
+  /**
+   * Accessor for the maximum size of a single encoding, including its outermost tag and length, in bytes.
+   *
+   * @return The maximum encoded size.
+   */
+  int getMaxEncodedSize();
+
+  /**
+   * <p>Accessor for the maximum aggregate cost of a fulfillment, as per the cost rules of the crypto-conditions
+   * specification. Since subconditions are never verified, this sums the cost that each fulfillment in the tree adds
+   * to its parent, so it bounds the work of verifying every fulfillment that was read.</p>
+   *
+   * <p>When a standalone condition is read, this limit is applied to the cost that the condition claims.</p>
+   *
+   * @return The maximum cost.
+   */
+  long getMaxCost();
+
+  /**
+   * An abstract implementation of {@link ReaderLimits} for use by the <tt>immutables</tt> library.
+   *
+   * @see "https://immutables.github.org"
+   */
+  @Value.Immutable
+  abstract class AbstractReaderLimits implements ReaderLimits {
+
+    @Override
+    @Value.Default
+    public int getMaxDepth() {
+      return DEFAULT_MAX_DEPTH;
+    }
+
+    @Override
+    @Value.Default
+    public int getMaxSubfulfillments() {
+      return DEFAULT_MAX_SUBFULFILLMENTS;
+    }
+
+    @Override
+    @Value.Default
+    public int getMaxNodes() {
+      return DEFAULT_MAX_NODES;
+    }
+
+    @Override
+    @Value.Default
+    public int getMaxEncodedSize() {
+      return DEFAULT_MAX_ENCODED_SIZE;
+    }
+
+    @Override
+    @Value.Default
+    public long getMaxCost() {
+      return DEFAULT_MAX_COST;
+    }
+
+    @Value.Check
+    protected void check() {
+      if (getMaxDepth() <= 0) {
+        throw new IllegalArgumentException("Max depth must be positive.");
+      }
+      if (getMaxSubfulfillments() < 0) {
+        throw new IllegalArgumentException("Max subfulfillments must not be negative.");
+      }
+      if (getMaxNodes() <= 0) {
+        throw new IllegalArgumentException("Max nodes must be positive.");
+      }
+      if (getMaxEncodedSize() <= 0) {
+        throw new IllegalArgumentException("Max encoded size must be positive.");
+      }
+      if (getMaxCost() < 0) {
+        throw new IllegalArgumentException("Max cost must not be negative.");
+      }
+    }
+  }
+}
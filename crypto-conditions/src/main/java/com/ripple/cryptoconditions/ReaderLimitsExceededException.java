@@ -0,0 +1,36 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.der.DerEncodingException;
+
+/**
+ * Thrown by {@link CryptoConditionReader} when an encoding exceeds one of its {@link ReaderLimits}.
+ */
+public class ReaderLimitsExceededException extends DerEncodingException {
+
+  public ReaderLimitsExceededException(String message) {
+    super(message);
+  }
+
+  private static final long serialVersionUID = 3196416390751217409L;
+
+}
@@ -20,15 +20,13 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
-import com.ripple.cryptoconditions.der.DerOutputStream;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
 import com.ripple.cryptoconditions.der.DerTag;
+import com.ripple.cryptoconditions.der.DerWriter;
 import com.ripple.cryptoconditions.utils.HashUtils;
 import com.ripple.cryptoconditions.utils.UnsignedBigInteger;
 import org.immutables.value.Value;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Base64;
 import java.util.Objects;
@@ -54,9 +52,7 @@ public interface RsaSha256Condition extends Sha256Condition {
     Objects.requireNonNull(rsaPublicKey);
 
     final long cost = AbstractRsaSha256Condition.calculateCost(rsaPublicKey);
-    final byte[] fingerprint = HashUtils.hashFingerprintContents(
-        AbstractRsaSha256Condition.constructFingerprintContents(rsaPublicKey)
-    );
+    final byte[] fingerprint = AbstractRsaSha256Condition.constructFingerprint(rsaPublicKey);
 
     return ImmutableRsaSha256Condition.builder()
         .type(CryptoConditionType.RSA_SHA256)
@@ -100,7 +96,7 @@ public interface RsaSha256Condition extends Sha256Condition {
       RsaSha256Condition {
 
     /**
-     * Constructs the fingerprint for this condition.
+     * Constructs the unhashed fingerprint contents for this condition.
      * <p/>
      * Note: This method is package-private as (opposed to private) for testing purposes.
      */
@@ -108,24 +104,35 @@ public interface RsaSha256Condition extends Sha256Condition {
       Objects.requireNonNull(publicKey);
       validatePublicKey(publicKey);
 
-      try {
-        // Build modulus
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        DerOutputStream out = new DerOutputStream(baos);
-        out.writeTaggedObject(0, UnsignedBigInteger.toUnsignedByteArray(publicKey.getModulus()));
-        out.close();
-        byte[] buffer = baos.toByteArray();
-
-        // Wrap SEQUENCE
-        baos = new ByteArrayOutputStream();
-        out = new DerOutputStream(baos);
-        out.writeEncoded(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag(), buffer);
-        out.close();
-        return baos.toByteArray();
-
-      } catch (IOException e) {
-        throw new UncheckedIOException("DER Encoding Error", e);
-      }
+      final byte[] modulus = UnsignedBigInteger.toUnsignedByteArray(publicKey.getModulus());
+      final DerArrayWriter out = new DerArrayWriter(DerArrayWriter.encodedLength(fingerprintContentLength(modulus)));
+      writeFingerprintContents(modulus, out);
+      return out.toByteArray();
+    }
+
+    /**
+     * Constructs the fingerprint for this condition, by hashing the contents that
+     * {@link #constructFingerprintContents(RSAPublicKey)} would construct as they are written.
+     */
+    static final byte[] constructFingerprint(final RSAPublicKey publicKey) {
+      Objects.requireNonNull(publicKey);
+      validatePublicKey(publicKey);
+
+      final byte[] modulus = UnsignedBigInteger.toUnsignedByteArray(publicKey.getModulus());
+      return HashUtils.hashFingerprintContents(out -> writeFingerprintContents(modulus, out));
+    }
+
+    /**
+     * Writes the fingerprint contents for this condition, as a SEQUENCE of the modulus.
+     */
+    private static void writeFingerprintContents(final byte[] modulus, final DerWriter out) {
+      out.writeTag(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag());
+      out.writeLength(fingerprintContentLength(modulus));
+      out.writeTaggedObject(0, modulus);
+    }
+
+    private static int fingerprintContentLength(final byte[] modulus) {
+      return DerArrayWriter.encodedLength(modulus.length);
     }
 
     /**
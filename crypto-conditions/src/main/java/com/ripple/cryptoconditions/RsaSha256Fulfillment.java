@@ -23,10 +23,6 @@ package com.ripple.cryptoconditions;
 import org.immutables.value.Value;
 
 import java.math.BigInteger;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
-import java.security.Signature;
-import java.security.SignatureException;
 import java.security.interfaces.RSAPublicKey;
 import java.util.Arrays;
 import java.util.Base64;
@@ -57,14 +53,12 @@ public interface RsaSha256Fulfillment extends Fulfillment<RsaSha256Condition> {
 
     final byte[] immutableSignature = Arrays.copyOf(signature, signature.length);
     final String signatureBase64Url = Base64.getUrlEncoder().encodeToString(signature);
-    final RsaSha256Condition condition = RsaSha256Condition.from(publicKey);
 
     return ImmutableRsaSha256Fulfillment.builder()
         .type(CryptoConditionType.RSA_SHA256)
         .publicKey(publicKey)
         .signature(immutableSignature)
         .signatureBase64Url(signatureBase64Url)
-        .derivedCondition(condition)
         .build();
   }
 
@@ -104,7 +98,22 @@ public interface RsaSha256Fulfillment extends Fulfillment<RsaSha256Condition> {
   @Value.Immutable
   abstract class AbstractRsaSha256Fulfillment implements RsaSha256Fulfillment {
 
-    private static final String SHA_256_WITH_RSA_PSS = "SHA256withRSA/PSS";
+    /**
+     * The signature bytes, decoded once from {@link #getSignatureBase64Url()} on first verification.
+     */
+    private volatile byte[] signatureBytes;
+
+    /**
+     * Derives the condition for this fulfillment from its public key. This happens on first access, and the result is
+     * memoized by the generated immutable implementation.
+     *
+     * @return The {@link RsaSha256Condition} that corresponds to this fulfillment.
+     */
+    @Override
+    @Value.Lazy
+    public RsaSha256Condition getDerivedCondition() {
+      return RsaSha256Condition.from(getPublicKey());
+    }
 
     @Override
     public boolean verify(final Condition condition, final byte[] message) {
@@ -112,19 +121,26 @@ public interface RsaSha256Fulfillment extends Fulfillment<RsaSha256Condition> {
           "Can't verify a RsaSha256Fulfillment against an null condition.");
       Objects.requireNonNull(message, "Message must not be null!");
 
-      if (!getDerivedCondition().equals(condition)) {
+      if (!getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
         return false;
       }
 
-      try {
-        final byte[] signatureBytes = Base64.getUrlDecoder().decode(getSignatureBase64Url());
-        final Signature rsaSigner = Signature.getInstance(SHA_256_WITH_RSA_PSS);
-        rsaSigner.initVerify(getPublicKey());
-        rsaSigner.update(message);
-        return rsaSigner.verify(signatureBytes);
-      } catch (InvalidKeyException | NoSuchAlgorithmException | SignatureException e) {
-        throw new RuntimeException(e);
+      return RsaVerifier.verify(getPublicKey(), message, getSignatureBytes());
+    }
+
+    /**
+     * Accessor for the signature bytes, without copying or decoding them on every call. The returned array must not be
+     * modified.
+     *
+     * @return A byte array containing the signature for this fulfillment.
+     */
+    private byte[] getSignatureBytes() {
+      byte[] bytes = signatureBytes;
+      if (bytes == null) {
+        bytes = Base64.getUrlDecoder().decode(getSignatureBase64Url());
+        signatureBytes = bytes;
       }
+      return bytes;
     }
 
     /**
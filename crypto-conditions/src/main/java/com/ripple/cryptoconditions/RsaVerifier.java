@@ -0,0 +1,90 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.Provider;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Objects;
+
+/**
+ * Verifies RSA-PSS signatures for {@link RsaSha256Fulfillment}, reusing as much state as possible between calls.
+ *
+ * <p>{@link Signature#getInstance(String)} searches every installed provider, and synchronizes while doing so, which
+ * limits throughput when many threads verify at once. This class resolves the provider of {@code SHA256withRSA/PSS}
+ * once, and then keeps one {@link Signature} from that provider per thread.</p>
+ */
+final class RsaVerifier {
+
+  static final String SHA_256_WITH_RSA_PSS = "SHA256withRSA/PSS";
+
+  private static final ThreadLocal<Signature> SIGNATURES = ThreadLocal.withInitial(RsaVerifier::newSignature);
+
+  /**
+   * The provider of {@link #SHA_256_WITH_RSA_PSS}, resolved on first use. A provider is only pinned once one that
+   * supports the algorithm has been installed.
+   */
+  private static volatile Provider provider;
+
+  private RsaVerifier() {
+  }
+
+  /**
+   * Verifies an RSA-PSS signature of {@code message}.
+   *
+   * @param publicKey The {@link RSAPublicKey} to verify the signature with.
+   * @param message   The signed message.
+   * @param signature The signature.
+   *
+   * @return {@code true} if {@code signature} is a valid signature of {@code message} by {@code publicKey}.
+   */
+  static boolean verify(final RSAPublicKey publicKey, final byte[] message, final byte[] signature) {
+    Objects.requireNonNull(publicKey);
+    Objects.requireNonNull(message);
+    Objects.requireNonNull(signature);
+
+    final Signature rsaSigner = SIGNATURES.get();
+    try {
+      rsaSigner.initVerify(publicKey);
+      rsaSigner.update(message);
+      return rsaSigner.verify(signature);
+    } catch (InvalidKeyException | SignatureException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Signature newSignature() {
+    try {
+      Provider resolvedProvider = provider;
+      if (resolvedProvider == null) {
+        resolvedProvider = Signature.getInstance(SHA_256_WITH_RSA_PSS).getProvider();
+        provider = resolvedProvider;
+      }
+      return Signature.getInstance(SHA_256_WITH_RSA_PSS, resolvedProvider);
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
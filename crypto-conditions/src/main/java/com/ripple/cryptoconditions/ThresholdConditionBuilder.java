@@ -0,0 +1,342 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static com.ripple.cryptoconditions.CryptoConditionType.THRESHOLD_SHA256;
+
+import com.ripple.cryptoconditions.ThresholdSha256Condition.AbstractThresholdSha256Condition;
+import com.ripple.cryptoconditions.utils.HashUtils;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * <p>A mutable builder of {@link ThresholdSha256Condition}s whose subconditions and threshold change a little at a
+ * time, such as a multi-signature group whose membership changes one signer at a time.</p>
+ *
+ * <p>Unlike {@link ThresholdSha256Condition#from(int, java.util.List)}, which sorts, encodes and costs every
+ * subcondition each time it is called, this builder keeps its subconditions' encodings in sorted order, together with
+ * the running sum of the largest {@code threshold} costs, as subconditions are added and removed. Each of
+ * {@link #add(Condition)}, {@link #remove(Condition)} and a unit change to the threshold takes O(log n) time, plus the
+ * time to encode an added subcondition, and {@link #build()} only has to hash the sorted encodings.</p>
+ *
+ * <p>As with {@link ThresholdSha256Condition#from(int, java.util.List)}, duplicate subconditions are allowed, and each
+ * duplicate counts as a separate subcondition. This is how a weighted threshold is expressed, so a subcondition can be
+ * added with a weight using {@link #add(Condition, int)}, which records the subcondition once together with its weight
+ * rather than holding a copy for each unit of weight.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class ThresholdConditionBuilder {
+
+  /**
+   * The fixed cost that the crypto-conditions specification adds for each subcondition of a THRESHOLD-SHA-256
+   * condition.
+   */
+  private static final long SUBCONDITION_COST = 1024L;
+
+  // The subconditions, keyed and sorted by their encodings, each with the number of times it has been added.
+  private final TreeMap<byte[], Subcondition> subconditions = new TreeMap<>(ConditionBase::compareEncodings);
+  private int size;
+  private int subconditionsLength;
+
+  // The costs of every subcondition, split so that largestCosts holds the largest threshold of them.
+  private final CostMultiset largestCosts = new CostMultiset();
+  private final CostMultiset otherCosts = new CostMultiset();
+  private int threshold;
+
+  // The number of subconditions of each type, and of compound subconditions with each subtype, by ordinal.
+  private final int[] subtypeCounts = new int[CryptoConditionType.values().length];
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param threshold The initial threshold, which must not be negative.
+   */
+  public ThresholdConditionBuilder(final int threshold) {
+    setThreshold(threshold);
+  }
+
+  /**
+   * Accessor for the threshold of the conditions that this builder builds.
+   *
+   * @return The threshold.
+   */
+  public int getThreshold() {
+    return threshold;
+  }
+
+  /**
+   * Sets the threshold of the conditions that this builder builds. This takes O(k log n) time, where k is the
+   * difference between the old and new thresholds.
+   *
+   * @param threshold The new threshold, which must not be negative. It may exceed the number of subconditions until
+   *                  {@link #build()} is called.
+   *
+   * @return This builder.
+   */
+  public ThresholdConditionBuilder setThreshold(final int threshold) {
+    if (threshold < 0) {
+      throw new IllegalArgumentException("Threshold must not be negative!");
+    }
+    this.threshold = threshold;
+    rebalanceCosts();
+    return this;
+  }
+
+  /**
+   * Accessor for the number of subconditions, counting each duplicate separately.
+   *
+   * @return The number of subconditions.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Adds a subcondition.
+   *
+   * @param subcondition The {@link Condition} to add.
+   *
+   * @return This builder.
+   */
+  public ThresholdConditionBuilder add(final Condition subcondition) {
+    return add(subcondition, 1);
+  }
+
+  /**
+   * Adds a subcondition with a weight, which is equivalent to adding it {@code weight} times but takes O(log n) time
+   * whatever the weight.
+   *
+   * @param subcondition The {@link Condition} to add.
+   * @param weight       The number of times that {@code subcondition} counts towards the threshold, which must not be
+   *                     negative.
+   *
+   * @return This builder.
+   */
+  public ThresholdConditionBuilder add(final Condition subcondition, final int weight) {
+    Objects.requireNonNull(subcondition);
+    if (weight < 0) {
+      throw new IllegalArgumentException("Weight must not be negative!");
+    }
+    if (weight == 0) {
+      return this;
+    }
+
+    final byte[] encoding = ConditionBase.encodingOf(subcondition);
+    final int encodingsLength = Math.addExact(subconditionsLength, Math.multiplyExact(encoding.length, weight));
+    final int newSize = Math.addExact(size, weight);
+    subconditions.computeIfAbsent(encoding, key -> new Subcondition(subcondition)).count += weight;
+    size = newSize;
+    subconditionsLength = encodingsLength;
+
+    otherCosts.add(subcondition.getCost(), weight);
+    rebalanceCosts();
+
+    countSubtypes(subcondition, weight);
+    return this;
+  }
+
+  /**
+   * Removes one occurrence of a subcondition, if present.
+   *
+   * @param subcondition The {@link Condition} to remove.
+   *
+   * @return {@code true} if {@code subcondition} was removed; {@code false} if it had not been added.
+   */
+  public boolean remove(final Condition subcondition) {
+    return remove(subcondition, 1) == 1;
+  }
+
+  /**
+   * Removes up to {@code weight} occurrences of a subcondition, in O(log n) time whatever the weight.
+   *
+   * @param subcondition The {@link Condition} to remove.
+   * @param weight       The maximum number of occurrences to remove, which must not be negative.
+   *
+   * @return The number of occurrences removed, which is less than {@code weight} if fewer had been added.
+   */
+  public int remove(final Condition subcondition, final int weight) {
+    Objects.requireNonNull(subcondition);
+    if (weight < 0) {
+      throw new IllegalArgumentException("Weight must not be negative!");
+    }
+
+    final byte[] encoding = ConditionBase.encodingOf(subcondition);
+    final Subcondition entry = subconditions.get(encoding);
+    if (entry == null || weight == 0) {
+      return 0;
+    }
+    final int removed = Math.min(weight, entry.count);
+    entry.count -= removed;
+    if (entry.count == 0) {
+      subconditions.remove(encoding);
+    }
+    size -= removed;
+    subconditionsLength -= encoding.length * removed;
+
+    // Equal costs are interchangeable, so remove the costs from whichever half holds them, and then refill the largest.
+    final long cost = subcondition.getCost();
+    largestCosts.remove(cost, removed - otherCosts.remove(cost, removed));
+    rebalanceCosts();
+
+    countSubtypes(entry.condition, -removed);
+    return removed;
+  }
+
+  /**
+   * Builds a {@link ThresholdSha256Condition} from the current threshold and subconditions. Only the fingerprint is
+   * computed, by hashing the already-sorted encodings of the subconditions.
+   *
+   * @return A newly created, immutable instance of {@link ThresholdSha256Condition}.
+   *
+   * @throws IllegalArgumentException If the threshold exceeds the number of subconditions.
+   */
+  public ThresholdSha256Condition build() {
+    if (threshold > size) {
+      throw new IllegalArgumentException("Threshold must be less than or equal to the number of subconditions!");
+    }
+
+    final byte[] fingerprint = HashUtils.hashFingerprintContents(out -> {
+      AbstractThresholdSha256Condition.writeFingerprintContentsHeader(threshold, subconditionsLength, out);
+      for (final Map.Entry<byte[], Subcondition> entry : subconditions.entrySet()) {
+        for (int i = 0; i < entry.getValue().count; i++) {
+          out.writeBytes(entry.getKey());
+        }
+      }
+    });
+
+    final EnumSet<CryptoConditionType> subtypes = EnumSet.noneOf(CryptoConditionType.class);
+    for (final CryptoConditionType type : CryptoConditionType.values()) {
+      if (subtypeCounts[type.ordinal()] > 0 && type != THRESHOLD_SHA256) {
+        subtypes.add(type);
+      }
+    }
+
+    return ThresholdSha256Condition.fromCostAndFingerprint(
+        largestCosts.sum + size * SUBCONDITION_COST, fingerprint, subtypes
+    );
+  }
+
+  /**
+   * Moves costs between {@link #largestCosts} and {@link #otherCosts} until the former holds the largest
+   * {@link #threshold} costs, or every cost if there are fewer. Equal costs are moved together, so this takes
+   * O(log n) time for each distinct cost that is moved.
+   */
+  private void rebalanceCosts() {
+    while (largestCosts.size > threshold) {
+      final long cost = largestCosts.first();
+      final int moved = Math.min(largestCosts.size - threshold, largestCosts.countOf(cost));
+      largestCosts.remove(cost, moved);
+      otherCosts.add(cost, moved);
+    }
+    while (otherCosts.size > 0) {
+      final long cost = otherCosts.last();
+      int moved = Math.min(threshold - largestCosts.size, otherCosts.countOf(cost));
+      if (moved <= 0) {
+        // The largest costs are full, so swap in the largest other cost if it exceeds the smallest of them.
+        if (largestCosts.size == 0 || cost <= largestCosts.first()) {
+          break;
+        }
+        final long smallestCost = largestCosts.first();
+        moved = Math.min(otherCosts.countOf(cost), largestCosts.countOf(smallestCost));
+        largestCosts.remove(smallestCost, moved);
+        otherCosts.add(smallestCost, moved);
+      }
+      otherCosts.remove(cost, moved);
+      largestCosts.add(cost, moved);
+    }
+  }
+
+  private void countSubtypes(final Condition subcondition, final int delta) {
+    final Condition decoded = ConditionBase.decodedOf(subcondition);
+    subtypeCounts[decoded.getType().ordinal()] += delta;
+    if (decoded instanceof CompoundCondition) {
+      for (final CryptoConditionType subtype : ((CompoundCondition) decoded).getSubtypes()) {
+        subtypeCounts[subtype.ordinal()] += delta;
+      }
+    }
+  }
+
+  /**
+   * A distinct subcondition, and the number of times it has been added.
+   */
+  private static final class Subcondition {
+
+    private final Condition condition;
+    private int count;
+
+    private Subcondition(final Condition condition) {
+      this.condition = condition;
+    }
+  }
+
+  /**
+   * A sorted multiset of costs, which tracks its size and the sum of its costs.
+   */
+  private static final class CostMultiset {
+
+    private final TreeMap<Long, Integer> counts = new TreeMap<>();
+    private int size;
+    private long sum;
+
+    void add(final long cost, final int count) {
+      if (count > 0) {
+        counts.merge(cost, count, Integer::sum);
+        size += count;
+        sum += cost * count;
+      }
+    }
+
+    /**
+     * Removes up to {@code count} occurrences of {@code cost}, and returns the number removed.
+     */
+    int remove(final long cost, final int count) {
+      final int present = countOf(cost);
+      final int removed = Math.min(present, count);
+      if (removed <= 0) {
+        return 0;
+      }
+      if (removed == present) {
+        counts.remove(cost);
+      } else {
+        counts.put(cost, present - removed);
+      }
+      size -= removed;
+      sum -= cost * removed;
+      return removed;
+    }
+
+    int countOf(final long cost) {
+      return counts.getOrDefault(cost, 0);
+    }
+
+    long first() {
+      return counts.firstKey();
+    }
+
+    long last() {
+      return counts.lastKey();
+    }
+  }
+}
@@ -20,8 +20,10 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -88,7 +90,8 @@ public class ThresholdFactory {
    *
    * <p>Note that this method accepts a {@link List} of sub-conditions because it is permissible to
    * supply the same sub-condition more than once, for example for weighted threshold operations where one particular
-   * sub-condition should be given more weight than another sub-condition.</p>
+   * sub-condition should be given more weight than another sub-condition. For large weights, prefer
+   * {@link #constructWeightedCondition(int, Map)}, which does not need the duplicates.</p>
    *
    * <p>Concurrency Note: This method will create a shallow-copy of both {@code subconditions} and
    * {@code subfulfillments} before performing any operations, in order to guard against external list mutations. During
@@ -125,6 +128,32 @@ public class ThresholdFactory {
     return ThresholdSha256Condition.from(thresholdM, subconditions);
   }
 
+  /**
+   * <p>Constructs a weighted M-of-N {@link ThresholdSha256Condition}, where each sub-condition counts towards the
+   * threshold as many times as its weight, and N is the total weight of all sub-conditions.</p>
+   *
+   * <p>The constructed condition is identical to one constructed by {@link #constructMOfNCondition(int, int, List)}
+   * with each sub-condition repeated as many times as its weight, but no repeated sub-conditions are created: each
+   * sub-condition is encoded and sorted once, using a {@link ThresholdConditionBuilder}, so only hashing the
+   * fingerprint takes time proportional to the total weight.</p>
+   *
+   * @param thresholdM            The minimum total weight of sub-fulfillments required to fulfill the threshold
+   *                              fulfillment associated with the threshold condition generated by this method.
+   * @param weightedSubconditions A {@link Map} of each distinct sub-condition to its weight, which must not be
+   *                              negative.
+   *
+   * @return A newly constructed, weighted M-of-N Condition.
+   */
+  public static ThresholdSha256Condition constructWeightedCondition(
+      final int thresholdM, final Map<? extends Condition, Integer> weightedSubconditions
+  ) {
+    Objects.requireNonNull(weightedSubconditions, "weightedSubconditions must not be null!");
+
+    final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(thresholdM);
+    weightedSubconditions.forEach(builder::add);
+    return builder.build();
+  }
+
   ////////////////////////
   // Fulfillment Functions
   ////////////////////////
@@ -244,4 +273,56 @@ public class ThresholdFactory {
     return ThresholdSha256Fulfillment.from(immutableSubconditions, immutableSubFulfillments);
   }
 
+  /**
+   * <p>Constructs a weighted {@link ThresholdSha256Fulfillment}, where each sub-condition and sub-fulfillment counts as
+   * many times as its weight.</p>
+   *
+   * <p>Per the crypto-conditions specification, the threshold of the fulfillment is the total weight of
+   * {@code weightedSubfulfillments}, and the fulfillment must list each sub-condition and sub-fulfillment as many times
+   * as its weight. The fulfillment therefore holds a reference to each sub-condition and sub-fulfillment for every unit
+   * of its weight, but no copies are made of the sub-conditions and sub-fulfillments themselves. Each one is only
+   * verified once, and its condition is only encoded and sorted once when the fulfillment's condition is derived, as
+   * by {@link #constructWeightedCondition(int, Map)}.</p>
+   *
+   * @param weightedSubconditions   A {@link Map} of each distinct unfulfilled sub-condition to its weight, which must
+   *                                not be negative.
+   * @param weightedSubfulfillments A {@link Map} of each distinct sub-fulfillment to its weight, which must not be
+   *                                negative.
+   *
+   * @return A newly created, immutable instance of {@link ThresholdSha256Fulfillment}.
+   */
+  public static ThresholdSha256Fulfillment constructWeightedFulfillment(
+      final Map<? extends Condition, Integer> weightedSubconditions,
+      final Map<? extends Fulfillment, Integer> weightedSubfulfillments
+  ) {
+    Objects.requireNonNull(weightedSubconditions, "weightedSubconditions must not be null!");
+    Objects.requireNonNull(weightedSubfulfillments, "weightedSubfulfillments must not be null!");
+
+    return ImmutableThresholdSha256Fulfillment.builder()
+        .type(CryptoConditionType.THRESHOLD_SHA256)
+        .subconditions(repeatByWeight(weightedSubconditions))
+        .subfulfillments(repeatByWeight(weightedSubfulfillments))
+        .build();
+  }
+
+  /**
+   * Lists each key of {@code weights} as many times as its weight, keeping equal keys together, without copying it.
+   */
+  private static <T> List<T> repeatByWeight(final Map<? extends T, Integer> weights) {
+    long totalWeight = 0;
+    for (final Integer weight : weights.values()) {
+      if (Objects.requireNonNull(weight, "weight must not be null!") < 0) {
+        throw new IllegalArgumentException("Weight must not be negative!");
+      }
+      totalWeight += weight;
+    }
+    if (totalWeight > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Total weight must not exceed " + Integer.MAX_VALUE + "!");
+    }
+
+    final List<T> repeated = new ArrayList<>((int) totalWeight);
+    weights.forEach((key, weight) -> repeated.addAll(Collections.nCopies(weight, key)));
+    return repeated;
+  }
+
 }
@@ -22,22 +22,19 @@ package com.ripple.cryptoconditions;
 
 import static com.ripple.cryptoconditions.CryptoConditionType.THRESHOLD_SHA256;
 
-import com.ripple.cryptoconditions.der.DerEncodingException;
-import com.ripple.cryptoconditions.der.DerOutputStream;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
 import com.ripple.cryptoconditions.der.DerTag;
+import com.ripple.cryptoconditions.der.DerWriter;
 import com.ripple.cryptoconditions.utils.HashUtils;
 import org.immutables.value.Value;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.UncheckedIOException;
-import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * <p>Implements a condition based on a number of subconditions and the SHA-256 function.</p>
@@ -81,10 +78,11 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
   static ThresholdSha256Condition from(final int threshold, final List<Condition> subconditions) {
     Objects.requireNonNull(subconditions);
 
-    // Shallow-copy ths list to narrow the timeframe that some outside thread might mutate the
+    // Shallow-copy ths list, once, to narrow the timeframe that some outside thread might mutate the
     // subconditions list. See Javadoc for suggestions related to thread-safety and this method.
-    final List<Condition> immutableSubconditions = subconditions.stream()
-        .collect(Collectors.toList());
+    final List<Condition> immutableSubconditions = Collections.unmodifiableList(
+        Arrays.asList(subconditions.toArray(new Condition[0]))
+    );
     if (threshold > immutableSubconditions.size()) {
       throw new IllegalArgumentException(
           "Threshold must be less than or equal to the number of subconditions!");
@@ -93,10 +91,8 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
     final long cost = AbstractThresholdSha256Condition.calculateCost(
         threshold, immutableSubconditions
     );
-    final byte[] fingerprint = HashUtils.hashFingerprintContents(
-        AbstractThresholdSha256Condition
-            .constructFingerprintContents(threshold, immutableSubconditions)
-    );
+    final byte[] fingerprint = AbstractThresholdSha256Condition
+        .constructFingerprint(threshold, immutableSubconditions);
 
     return ImmutableThresholdSha256Condition.builder()
         .type(THRESHOLD_SHA256)
@@ -144,7 +140,7 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
       ConditionBase<ThresholdSha256Condition> implements ThresholdSha256Condition {
 
     /**
-     * <p>Constructs the fingerprint for this condition.</p>
+     * <p>Constructs the unhashed fingerprint contents for this condition.</p>
      *
      * <p>Note: This method is package-private as (opposed to private) for testing purposes.</p>
      *
@@ -158,74 +154,94 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
     static final byte[] constructFingerprintContents(
         final int threshold, final List<Condition> subconditions
     ) {
-      try {
+      final byte[][] encodings = sortedEncodings(subconditions);
+      final int subconditionsLength = subconditionsLength(encodings);
+      final DerArrayWriter out = new DerArrayWriter(
+          DerArrayWriter.encodedLength(fingerprintContentLength(threshold, subconditionsLength))
+      );
+      writeFingerprintContents(threshold, encodings, subconditionsLength, out);
+      return out.toByteArray();
+    }
 
-        // Sort
-        sortConditions(subconditions);
+    /**
+     * <p>Constructs the fingerprint for this condition, by hashing the contents that
+     * {@link #constructFingerprintContents(int, List)} would construct as they are written, so that no buffer
+     * proportional to the number of subconditions is allocated.</p>
+     *
+     * @param threshold     A threshold to use for this fingerprint.
+     * @param subconditions A list of subconditions. This method assumes these conditions have been deduplicated.
+     */
+    static final byte[] constructFingerprint(final int threshold, final List<Condition> subconditions) {
+      final byte[][] encodings = sortedEncodings(subconditions);
+      final int subconditionsLength = subconditionsLength(encodings);
+      return HashUtils.hashFingerprintContents(
+          out -> writeFingerprintContents(threshold, encodings, subconditionsLength, out)
+      );
+    }
 
-        // Build subcondition sequence
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        DerOutputStream out = new DerOutputStream(baos);
-        for (int i = 0; i < subconditions.size(); i++) {
-          out.write(CryptoConditionWriter.writeCondition(subconditions.get(i)));
-        }
-        out.close();
-
-        final byte[] subconditionBuffer = baos.toByteArray();
-
-        // Build threshold and subconditions sequence
-        baos = new ByteArrayOutputStream();
-        out = new DerOutputStream(baos);
-        out.writeTaggedObject(0, BigInteger.valueOf(threshold).toByteArray());
-        out.writeTaggedConstructedObject(1, subconditionBuffer);
-        out.close();
-
-        final byte[] thresholdBuffer = baos.toByteArray();
-
-        // Wrap SEQUENCE
-        baos = new ByteArrayOutputStream();
-        out = new DerOutputStream(baos);
-        out.writeEncoded(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag(), thresholdBuffer);
-        out.close();
-        return baos.toByteArray();
-
-      } catch (IOException e) {
-        throw new UncheckedIOException("DER Encoding Error", e);
-      } catch (DerEncodingException e) {
-        throw new RuntimeException(e);
+    /**
+     * Writes the fingerprint contents for this condition, as a SEQUENCE of the threshold and the sorted subconditions.
+     */
+    private static void writeFingerprintContents(
+        final int threshold, final byte[][] encodings, final int subconditionsLength, final DerWriter out
+    ) {
+      writeFingerprintContentsHeader(threshold, subconditionsLength, out);
+      for (final byte[] encoding : encodings) {
+        out.writeBytes(encoding);
       }
     }
 
     /**
-     * Sorts the given array from conditions into ascending lexicographic order.
+     * Writes everything in the fingerprint contents for this condition that precedes the sorted subconditions, which
+     * the caller must then write, in order.
      *
-     * <p>Note that this method does not create a copy (shallow or deep) of {@code subconditions}
-     * because it assumes that the {@link List} passed-in has already been shallow-copied and wrapped in an immutable
-     * facade, such as via {@link Collections#unmodifiableList(List)}.</p>
+     * @param threshold           A threshold to use for this fingerprint.
+     * @param subconditionsLength The total length of the encodings of every subcondition.
+     * @param out                 The {@link DerWriter} to write to.
+     */
+    static void writeFingerprintContentsHeader(
+        final int threshold, final int subconditionsLength, final DerWriter out
+    ) {
+      out.writeTag(DerTag.CONSTRUCTED.getTag() + DerTag.SEQUENCE.getTag());
+      out.writeLength(fingerprintContentLength(threshold, subconditionsLength));
+      out.writeTaggedInteger(0, threshold);
+      out.writeTaggedConstructedHeader(1, subconditionsLength);
+    }
+
+    private static int fingerprintContentLength(final int threshold, final int subconditionsLength) {
+      return DerArrayWriter.encodedLength(DerArrayWriter.integerLength(threshold))
+          + DerArrayWriter.encodedLength(subconditionsLength);
+    }
+
+    private static int subconditionsLength(final byte[][] encodings) {
+      int subconditionsLength = 0;
+      for (final byte[] encoding : encodings) {
+        subconditionsLength += encoding.length;
+      }
+      return subconditionsLength;
+    }
+
+    /**
+     * <p>Encodes each of the given conditions exactly once, and sorts the encodings into ascending lexicographic
+     * order.</p>
      *
-     * @param conditions The array from conditions to sort.
+     * <p>The encodings are compared directly as unsigned bytes, rather than by re-deriving them from each condition
+     * for every comparison. The encodings are sorted using {@link Arrays#parallelSort(Object[], Comparator)}, so large
+     * thresholds are sorted in parallel while small ones are sorted sequentially.</p>
+     *
+     * @param conditions The list from conditions to encode. The list itself is not modified.
+     *
+     * @return An array holding the encoding of each condition, sorted.
      */
-    private static final void sortConditions(final List<Condition> conditions) {
+    private static byte[][] sortedEncodings(final List<Condition> conditions) {
       Objects.requireNonNull(conditions);
 
-      conditions.sort((Condition c1, Condition c2) -> {
-        try {
-          byte[] c1encoded = CryptoConditionWriter.writeCondition(c1);
-          byte[] c2encoded = CryptoConditionWriter.writeCondition(c2);
-
-          int minLength = Math.min(c1encoded.length, c2encoded.length);
-          for (int i = 0; i < minLength; i++) {
-            int result = Integer.compareUnsigned(c1encoded[i], c2encoded[i]);
-            if (result != 0) {
-              return result;
-            }
-          }
-          return c1encoded.length - c2encoded.length;
-        } catch (DerEncodingException e) {
-          throw new RuntimeException(e);
-        }
-      });
-
+      final byte[][] encodings = new byte[conditions.size()][];
+      for (int i = 0; i < encodings.length; i++) {
+        encodings[i] = ConditionBase.encodingOf(conditions.get(i));
+      }
+      Arrays.parallelSort(encodings, ConditionBase::compareEncodings);
+      return encodings;
     }
 
     /**
@@ -235,6 +251,8 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
      * sum(biggest(t, subcondition_costs)) + 1024 * n
      * </pre>
      *
+     * <p>Only the largest {@code threshold} costs are selected, rather than sorting every cost.</p>
+     *
      * <p>Note that this method does not create a copy (shallow or deep) of {@code subconditions}
      * because it assumes that the {@link List} passed-in has already been shallow-copied.</p>
      *
@@ -248,18 +266,67 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
     ) {
       Objects.requireNonNull(subconditions);
 
-      // Sort by cost
-      List<Condition> sortedSubconditions = subconditions.stream()
-          .sorted((Condition c1, Condition c2) -> (int) (c2.getCost() - c1.getCost()))
-          .collect(Collectors.toList());
+      final long[] costs = new long[subconditions.size()];
+      for (int i = 0; i < costs.length; i++) {
+        costs[i] = subconditions.get(i).getCost();
+      }
 
       // Count only up to the threshold...
+      return sumOfLargest(costs, threshold) + costs.length * 1024L;
+    }
+
+    /**
+     * Sums the {@code count} largest of {@code costs}, without sorting all of them, by keeping the largest costs seen
+     * so far in a min-heap of {@code count} costs. This takes O(n log count) time, where n is the number of costs.
+     *
+     * @param costs An array of costs, which is reordered by this method.
+     * @param count The number of costs to sum.
+     *
+     * @return The sum of the {@code count} largest costs, or of every cost if there are fewer than {@code count}.
+     */
+    private static long sumOfLargest(final long[] costs, final int count) {
+      final int heapSize = Math.min(count, costs.length);
+      if (heapSize <= 0) {
+        return 0;
+      }
+
+      // The first heapSize costs form the heap, and the smallest of them is at its root.
+      for (int parent = heapSize / 2 - 1; parent >= 0; parent--) {
+        siftDown(costs, parent, heapSize);
+      }
+      for (int i = heapSize; i < costs.length; i++) {
+        if (costs[i] > costs[0]) {
+          costs[0] = costs[i];
+          siftDown(costs, 0, heapSize);
+        }
+      }
+
       long largestCosts = 0;
-      for (int i = 0; i < threshold; i++) {
-        largestCosts += sortedSubconditions.get(i).getCost();
+      for (int i = 0; i < heapSize; i++) {
+        largestCosts += costs[i];
       }
+      return largestCosts;
+    }
 
-      return largestCosts + (sortedSubconditions.size() * 1024);
+    /**
+     * Restores the min-heap property of {@code heap} below {@code index}.
+     */
+    private static void siftDown(final long[] heap, final int index, final int heapSize) {
+      final long cost = heap[index];
+      int parent = index;
+      int child = 2 * parent + 1;
+      while (child < heapSize) {
+        if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+          child++;
+        }
+        if (heap[child] >= cost) {
+          break;
+        }
+        heap[parent] = heap[child];
+        parent = child;
+        child = 2 * parent + 1;
+      }
+      heap[parent] = cost;
     }
 
     /**
@@ -280,9 +347,10 @@ public interface ThresholdSha256Condition extends CompoundSha256Condition {
 
       final EnumSet<CryptoConditionType> subtypes = EnumSet.noneOf(CryptoConditionType.class);
       for (int i = 0; i < subconditions.size(); i++) {
-        subtypes.add(subconditions.get(i).getType());
-        if (subconditions.get(i) instanceof CompoundCondition) {
-          subtypes.addAll(((CompoundCondition) subconditions.get(i)).getSubtypes());
+        final Condition decoded = ConditionBase.decodedOf(subconditions.get(i));
+        subtypes.add(decoded.getType());
+        if (decoded instanceof CompoundCondition) {
+          subtypes.addAll(((CompoundCondition) decoded).getSubtypes());
         }
       }
 
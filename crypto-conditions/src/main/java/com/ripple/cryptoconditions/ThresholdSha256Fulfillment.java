@@ -93,15 +93,10 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
         subfulfillments.stream().collect(Collectors.toList())
     );
 
-    // Preemptively derive the condition from this fulfillment for immutability.
-    final ThresholdSha256Condition condition = AbstractThresholdSha256Fulfillment
-        .constructCondition(immutableSubconditions, immutableFulfillments);
-
     return ImmutableThresholdSha256Fulfillment.builder()
         .type(CryptoConditionType.THRESHOLD_SHA256)
         .subconditions(immutableSubconditions)
         .subfulfillments(immutableFulfillments)
-        .derivedCondition(condition)
         .build();
   }
 
@@ -127,7 +122,20 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
   abstract class AbstractThresholdSha256Fulfillment implements ThresholdSha256Fulfillment {
 
     /**
-     * Preemptively construct the derived condition for this Threshold fulfillment.
+     * Derives the condition for this fulfillment from its subconditions and the derived conditions of its
+     * subfulfillments. This happens on first access, and the result is memoized by the generated immutable
+     * implementation, so each subfulfillment's condition is derived once, bottom-up, and only if it is needed.
+     *
+     * @return The {@link ThresholdSha256Condition} that corresponds to this fulfillment.
+     */
+    @Override
+    @Value.Lazy
+    public ThresholdSha256Condition getDerivedCondition() {
+      return constructCondition(getSubconditions(), getSubfulfillments());
+    }
+
+    /**
+     * Construct the derived condition for this Threshold fulfillment.
      *
      * @param subconditions   An ordered {@link List} of unfulfilled sub-conditions as supplied by {@link
      *                        ThresholdSha256Fulfillment#from(List, List)}.
@@ -142,25 +150,56 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
       Objects.requireNonNull(subconditions);
       Objects.requireNonNull(subfulfillments);
 
-      final List<Condition> allConditions = new ArrayList<>();
+      if (hasRepeatedInstances(subconditions) || hasRepeatedInstances(subfulfillments)) {
+        // A weighted threshold lists each sub-condition and sub-fulfillment once for each unit of its weight, so add
+        // each run of the same instance once, with its length as its weight, rather than encoding and sorting every
+        // repetition.
+        final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(subfulfillments.size());
+        for (int start = 0, end; start < subconditions.size(); start = end) {
+          end = endOfRun(subconditions, start);
+          builder.add(subconditions.get(start), end - start);
+        }
+        for (int start = 0, end; start < subfulfillments.size(); start = end) {
+          end = endOfRun(subfulfillments, start);
+          builder.add(subfulfillments.get(start).getDerivedCondition(), end - start);
+        }
+        return builder.build();
+      }
+
+      final List<Condition> allConditions = new ArrayList<>(subconditions.size() + subfulfillments.size());
 
       // Add all subconditions...
       allConditions.addAll(subconditions);
 
       // Add all derived subconditions...
-      allConditions.addAll(
-          subfulfillments.stream()
-              .map(fulfillment -> fulfillment.getDerivedCondition())
-              .collect(Collectors.toList())
-      );
+      for (final Fulfillment fulfillment : subfulfillments) {
+        allConditions.add(fulfillment.getDerivedCondition());
+      }
 
       // Per the crypto-condtions specification, implementations must use the length of the
       // fulfillments list as the threshold value when deriving the fingerprint of this
       // crypto-condition.
-      return ThresholdSha256Condition.from(
-          subfulfillments.size(),
-          allConditions.stream().collect(Collectors.toList())
-      );
+      return ThresholdSha256Condition.from(subfulfillments.size(), allConditions);
+    }
+
+    private static boolean hasRepeatedInstances(final List<?> list) {
+      for (int i = 1; i < list.size(); i++) {
+        if (list.get(i) == list.get(i - 1)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns the index just past the run of elements starting at {@code start} that are the same instance.
+     */
+    private static int endOfRun(final List<?> list, final int start) {
+      int end = start + 1;
+      while (end < list.size() && list.get(end) == list.get(start)) {
+        end++;
+      }
+      return end;
     }
 
     /**
@@ -185,7 +224,7 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
           "Can't verify a ThresholdSha256Fulfillment against an null condition.");
       Objects.requireNonNull(message, "Message must not be null!");
 
-      if (!getDerivedCondition().equals(condition)) {
+      if (!getDerivedCondition().equals(ConditionBase.decodedOf(condition))) {
         return false;
       }
 
@@ -193,6 +232,10 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
       for (int i = 0; i < subfulfillments.size(); i++) {
 
         final Fulfillment subfulfillment = subfulfillments.get(i);
+        if (i > 0 && subfulfillment == subfulfillments.get(i - 1)) {
+          // A weighted subfulfillment is repeated, and verifying it again would give the same result.
+          continue;
+        }
         final Condition subcondition = subfulfillment.getDerivedCondition();
         if (!subfulfillment.verify(subcondition, message)) {
           return false;
@@ -201,5 +244,20 @@ public interface ThresholdSha256Fulfillment extends Fulfillment<ThresholdSha256C
 
       return true;
     }
+
+    /**
+     * Prints the immutable value {@code ThresholdSha256Fulfillment} with attribute values.
+     *
+     * @return A string representation of the value
+     */
+    @Override
+    public String toString() {
+      return "ThresholdSha256Fulfillment{"
+          + "subconditions=" + getSubconditions()
+          + ", subfulfillments=" + getSubfulfillments()
+          + ", type=" + getType()
+          + ", derivedCondition=" + getDerivedCondition()
+          + "}";
+    }
   }
 }
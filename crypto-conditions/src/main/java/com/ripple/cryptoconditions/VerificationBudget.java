@@ -0,0 +1,115 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment.AbstractPrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.ThresholdSha256Fulfillment.AbstractThresholdSha256Fulfillment;
+
+import java.util.List;
+
+/**
+ * <p>Meters the work of verifying a fulfillment against a maximum cost, for
+ * {@link Fulfillment#verify(Condition, byte[], long)}.</p>
+ *
+ * <p>Each fulfillment in the tree is charged using the cost rules of the crypto-conditions specification. Unlike the
+ * cost of a THRESHOLD-SHA-256 condition, which only counts the most expensive subconditions needed to reach the
+ * threshold, every subfulfillment is charged, because every subfulfillment is verified. Metering walks the tree
+ * without verifying anything and stops as soon as the budget is exhausted, so a fulfillment that exceeds its budget is
+ * rejected before any signature is checked.</p>
+ */
+final class VerificationBudget {
+
+  /**
+   * The fixed cost that the crypto-conditions specification adds for each subcondition of a THRESHOLD-SHA-256
+   * condition.
+   */
+  private static final long THRESHOLD_SUBCONDITION_COST = 1024L;
+
+  private long remainingCost;
+
+  private VerificationBudget(final long maxCost) {
+    this.remainingCost = maxCost;
+  }
+
+  /**
+   * Determines whether verifying {@code fulfillment} against {@code condition} fits within {@code maxCost}.
+   *
+   * @param fulfillment The {@link Fulfillment} to be verified.
+   * @param condition   The {@link Condition} that {@code fulfillment} is to be verified against.
+   * @param maxCost     The maximum cost that verification may incur.
+   *
+   * @return {@code true} if neither the cost of {@code condition} nor the metered work of {@code fulfillment} exceeds
+   *     {@code maxCost}; {@code false} otherwise.
+   */
+  static boolean isAffordable(final Fulfillment<?> fulfillment, final Condition condition, final long maxCost) {
+    if (maxCost < 0) {
+      throw new IllegalArgumentException("Max cost must not be negative.");
+    }
+
+    // The condition's cost is known without deriving anything from the fulfillment, so check it first.
+    if (condition.getCost() > maxCost) {
+      return false;
+    }
+    return new VerificationBudget(maxCost).charge(fulfillment);
+  }
+
+  /**
+   * Charges the work of verifying {@code fulfillment}, and of every fulfillment beneath it, to this budget.
+   *
+   * @return {@code true} if the work fits within the remaining budget; {@code false} as soon as it does not.
+   */
+  private boolean charge(final Fulfillment<?> fulfillment) {
+    if (fulfillment instanceof AbstractPrefixSha256Fulfillment) {
+      final AbstractPrefixSha256Fulfillment prefixFulfillment = (AbstractPrefixSha256Fulfillment) fulfillment;
+      final Fulfillment<?> subfulfillment = prefixFulfillment.getSubfulfillment();
+      // The prefix's own cost, i.e. the length of its prefix, its maximum message length and a fixed overhead.
+      return chargeCost(
+          prefixFulfillment.getDerivedCondition().getCost() - subfulfillment.getDerivedCondition().getCost()
+      ) && charge(subfulfillment);
+    }
+
+    if (fulfillment instanceof AbstractThresholdSha256Fulfillment) {
+      final AbstractThresholdSha256Fulfillment thresholdFulfillment = (AbstractThresholdSha256Fulfillment) fulfillment;
+      final List<Fulfillment> subfulfillments = thresholdFulfillment.getSubfulfillments();
+      final long subconditionCount = thresholdFulfillment.getSubconditions().size() + subfulfillments.size();
+      if (!chargeCost(THRESHOLD_SUBCONDITION_COST * subconditionCount)) {
+        return false;
+      }
+      for (final Fulfillment<?> subfulfillment : subfulfillments) {
+        if (!charge(subfulfillment)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    // The cost of a PREIMAGE-SHA-256, RSA-SHA-256 or ED25519-SHA-256 condition is exactly the work of verifying it.
+    return chargeCost(fulfillment.getDerivedCondition().getCost());
+  }
+
+  private boolean chargeCost(final long cost) {
+    if (cost > remainingCost) {
+      return false;
+    }
+    remainingCost -= cost;
+    return true;
+  }
+}
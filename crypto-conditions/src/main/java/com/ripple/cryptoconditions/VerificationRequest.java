@@ -0,0 +1,80 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import org.immutables.value.Value;
+
+/**
+ * A fulfillment to verify against a condition and a message, as a single unit of work for batch verification.
+ *
+ * @see AsyncFulfillmentVerifier#verifyAll(java.util.List)
+ */
+public interface VerificationRequest {
+
+  /**
+   * Constructs an instance of {@link VerificationRequest}.
+   *
+   * @param fulfillment The {@link Fulfillment} to verify.
+   * @param condition   A {@link Condition} that {@code fulfillment} should verify.
+   * @param message     An optionally-empty byte array that is part of validating the supplied condition. The array is
+   *                    copied, so it may be reused once this method returns.
+   *
+   * @return A newly created, immutable instance of {@link VerificationRequest}.
+   */
+  static VerificationRequest of(final Fulfillment<?> fulfillment, final Condition condition, final byte[] message) {
+    return ImmutableVerificationRequest.builder()
+        .fulfillment(fulfillment)
+        .condition(condition)
+        .message(message)
+        .build();
+  }
+
+  /**
+   * Accessor for the fulfillment to verify.
+   *
+   * @return A {@link Fulfillment}.
+   */
+  Fulfillment<?> getFulfillment();
+
+  /**
+   * Accessor for the condition that the fulfillment should verify.
+   *
+   * @return A {@link Condition}.
+   */
+  Condition getCondition();
+
+  /**
+   * Accessor for a copy of the message that is part of validating the condition.
+   *
+   * @return A byte array containing the message.
+   */
+  byte[] getMessage();
+
+  /**
+   * An abstract implementation of {@link VerificationRequest} for use by the <tt>immutables</tt> library.
+   *
+   * @see "https://immutables.github.org"
+   */
+  @Value.Immutable
+  abstract class AbstractVerificationRequest implements VerificationRequest {
+
+  }
+}
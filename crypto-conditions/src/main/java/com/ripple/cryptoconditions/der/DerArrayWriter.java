@@ -0,0 +1,194 @@
+package com.ripple.cryptoconditions.der;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.util.Objects;
+
+/**
+ * Writes DER encoded data into a single, exactly-sized byte array.
+ *
+ * <p>Unlike {@link DerOutputStream}, this writer never grows or copies its buffer. Callers are expected to compute
+ * the size of every TLV up-front (see {@link #encodedLength(int)} and {@link #integerLength(long)}), allocate a
+ * writer of the total size, and then write headers and values in order. {@link DerDigestWriter} writes the same
+ * encoding into a digest instead.</p>
+ */
+public class DerArrayWriter implements DerWriter {
+
+  private final byte[] buffer;
+  private int position;
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param size The exact number of bytes that will be written.
+   */
+  public DerArrayWriter(final int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("Size must not be negative.");
+    }
+    this.buffer = new byte[size];
+  }
+
+  /**
+   * Computes the number of bytes needed to DER encode a length indicator.
+   *
+   * @param length The length value that will be encoded.
+   *
+   * @return The number of bytes {@link #writeLength(int)} will write for {@code length}.
+   */
+  public static int lengthOfLength(final int length) {
+    if (length <= 127) {
+      return 1;
+    }
+    return 1 + (Integer.SIZE - Integer.numberOfLeadingZeros(length) + 7) / 8;
+  }
+
+  /**
+   * Computes the total number of bytes of a TLV with a single-byte tag and the supplied content length.
+   *
+   * @param contentLength The length of the value.
+   *
+   * @return The length of the tag, length indicator and value combined.
+   */
+  public static int encodedLength(final int contentLength) {
+    return 1 + lengthOfLength(contentLength) + contentLength;
+  }
+
+  /**
+   * Computes the number of bytes in the minimal two's-complement encoding of {@code value}, matching the length of
+   * {@code BigInteger.valueOf(value).toByteArray()}.
+   *
+   * @param value The integer value that will be encoded.
+   *
+   * @return The number of bytes {@link #writeInteger(long)} will write for {@code value}.
+   */
+  public static int integerLength(final long value) {
+    final int bitLength = Long.SIZE - Long.numberOfLeadingZeros(value < 0 ? ~value : value);
+    return bitLength / 8 + 1;
+  }
+
+  /**
+   * Writes a single-byte DER tag.
+   *
+   * @param tag The tag to write.
+   */
+  @Override
+  public void writeTag(final int tag) {
+    buffer[position++] = (byte) tag;
+  }
+
+  /**
+   * Writes a DER encoded length indicator.
+   *
+   * @param length The length value to write.
+   */
+  @Override
+  public void writeLength(final int length) {
+    if (length > 127) {
+      final int size = lengthOfLength(length) - 1;
+      buffer[position++] = (byte) (size | 0x80);
+      for (int i = (size - 1) * 8; i >= 0; i -= 8) {
+        buffer[position++] = (byte) (length >> i);
+      }
+    } else {
+      buffer[position++] = (byte) length;
+    }
+  }
+
+  /**
+   * Writes raw bytes.
+   *
+   * @param bytes The bytes to write.
+   */
+  @Override
+  public void writeBytes(final byte[] bytes) {
+    Objects.requireNonNull(bytes);
+    System.arraycopy(bytes, 0, buffer, position, bytes.length);
+    position += bytes.length;
+  }
+
+  /**
+   * Writes the minimal two's-complement, big-endian encoding of {@code value}.
+   *
+   * @param value The integer value to write.
+   */
+  @Override
+  public void writeInteger(final long value) {
+    for (int i = (integerLength(value) - 1) * 8; i >= 0; i -= 8) {
+      buffer[position++] = (byte) (value >> i);
+    }
+  }
+
+  /**
+   * Writes the tag and length of a DER tagged, constructed object whose content will be written next.
+   *
+   * @param tagNumber     The tag number for the object.
+   * @param contentLength The length of the content that follows.
+   */
+  @Override
+  public void writeTaggedConstructedHeader(final int tagNumber, final int contentLength) {
+    writeTag(DerTag.TAGGED.getTag() + DerTag.CONSTRUCTED.getTag() + tagNumber);
+    writeLength(contentLength);
+  }
+
+  /**
+   * Writes the value as a DER tagged object.
+   *
+   * @param tagNumber The tag number for the object.
+   * @param object    The value to write.
+   */
+  @Override
+  public void writeTaggedObject(final int tagNumber, final byte[] object) {
+    writeTag(DerTag.TAGGED.getTag() + tagNumber);
+    writeLength(object.length);
+    writeBytes(object);
+  }
+
+  /**
+   * Writes an integer value as a DER tagged object.
+   *
+   * @param tagNumber The tag number for the object.
+   * @param value     The integer value to write.
+   */
+  @Override
+  public void writeTaggedInteger(final int tagNumber, final long value) {
+    writeTag(DerTag.TAGGED.getTag() + tagNumber);
+    writeLength(integerLength(value));
+    writeInteger(value);
+  }
+
+  /**
+   * Returns the encoded bytes. This method does not copy the buffer.
+   *
+   * @return The underlying byte array.
+   *
+   * @throws IllegalStateException if fewer bytes were written than the size this writer was created with.
+   */
+  public byte[] toByteArray() {
+    if (position != buffer.length) {
+      throw new IllegalStateException(
+          String.format("Expected %s encoded bytes but wrote %s.", buffer.length, position)
+      );
+    }
+    return buffer;
+  }
+
+}
@@ -0,0 +1,266 @@
+package com.ripple.cryptoconditions.der;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A cursor for reading DER encoded data from a {@link ByteBuffer}.
+ *
+ * <p>Unlike {@link DerInputStream}, this reader works directly on positions within the underlying buffer, which may
+ * be a heap or a direct buffer. Tags, lengths and integers are decoded in place, and values are only copied when a
+ * caller asks for them as a byte array (see {@link #readTaggedSlice(int, int)} for a copy-free alternative).</p>
+ *
+ * <p>Every read is bounded by an {@code end} position (exclusive), which is normally the end of the enclosing object.
+ * The supplied buffer's own position and limit are never modified. Instances are not thread-safe.</p>
+ */
+public class DerBufferReader {
+
+  private final ByteBuffer buffer;
+  private final int limit;
+  private int position;
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param buffer A {@link ByteBuffer} holding DER encoded data between its position and its limit.
+   */
+  public DerBufferReader(final ByteBuffer buffer) {
+    Objects.requireNonNull(buffer);
+    this.buffer = buffer.duplicate();
+    this.position = buffer.position();
+    this.limit = buffer.limit();
+  }
+
+  /**
+   * The absolute position, within the underlying buffer, of the next byte to be read.
+   *
+   * @return The current position.
+   */
+  public int getPosition() {
+    return position;
+  }
+
+  /**
+   * Moves the cursor to an absolute position within the underlying buffer, for example to skip the remainder of an
+   * object.
+   *
+   * @param position The new position.
+   */
+  public void setPosition(final int position) {
+    if (position < 0 || position > limit) {
+      throw new IllegalArgumentException("Position [" + position + "] is outside the buffer.");
+    }
+    this.position = position;
+  }
+
+  /**
+   * The absolute position, within the underlying buffer, after the last byte that may be read.
+   *
+   * @return The limit of this reader.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Reads a DER tag.
+   *
+   * @param expectedTag The expected tag.
+   * @param end         The position that the tag must be read before.
+   * @param flags       A set from expected DER tags.
+   *
+   * @return The tag read from the buffer.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public int readTag(final int expectedTag, final int end, final DerTag... flags) throws DerEncodingException {
+    final int tag = readTag(end, flags);
+
+    if (tag != expectedTag) {
+      throw new DerEncodingException("Expected tag: " + Integer.toHexString(expectedTag) + ", got: "
+          + Integer.toHexString(tag));
+    }
+    return tag;
+  }
+
+  /**
+   * Reads a DER tag.
+   *
+   * @param end           The position that the tag must be read before.
+   * @param expectedFlags A set from DER tags that are expected.
+   *
+   * @return A DER tag with {@code expectedFlags} removed.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public int readTag(final int end, final DerTag... expectedFlags) throws DerEncodingException {
+    if (position >= Math.min(end, limit)) {
+      throw new DerEncodingException("Expected tag, got end of stream.");
+    }
+
+    int tag = buffer.get(position++) & 0xFF;
+    for (DerTag expected : expectedFlags) {
+      tag -= expected.getTag();
+    }
+
+    if (tag < 0) {
+      throw new DerEncodingException("Some flags are missing resulting in a tag value of < 0.");
+    }
+
+    return tag;
+  }
+
+  /**
+   * Reads a length indicator, and ensures that a value of that length fits before {@code end}.
+   *
+   * @param end The position that the value following this length indicator must end at or before.
+   *
+   * @return The value from the length indicator.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public int readLength(final int end) throws DerEncodingException {
+    final int boundary = Math.min(end, limit);
+    if (position >= boundary) {
+      throw new DerEncodingException("End of stream found reading length.");
+    }
+
+    int length = buffer.get(position++) & 0xFF;
+    if (length > 127) {
+      final int lengthOfLength = length & 0x7f;
+      if (lengthOfLength > 4) {
+        throw new DerEncodingException("DER length more than 4 bytes: " + lengthOfLength);
+      }
+      length = 0;
+      for (int i = 0; i < lengthOfLength; i++) {
+        if (position >= boundary) {
+          throw new DerEncodingException("End of stream found reading length.");
+        }
+        length = (length << 8) + (buffer.get(position++) & 0xFF);
+      }
+      if (length < 0) {
+        throw new DerEncodingException("Negative length found: " + length);
+      }
+    }
+
+    if ((long) position + length > boundary) {
+      throw new DerEncodingException("Object length [" + length + "] is larger than allowed.");
+    }
+
+    return length;
+  }
+
+  /**
+   * Reads the tag and length of a DER tagged (primitive) object, leaving the cursor at the start of its value.
+   *
+   * @param expectedTagNumber The tag number expected to be read.
+   * @param end               The position that the object must end at or before.
+   *
+   * @return The length of the object's value.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public int readTaggedObjectLength(final int expectedTagNumber, final int end) throws DerEncodingException {
+    final int tag = readTag(end);
+    if (tag != (DerTag.TAGGED.getTag() + expectedTagNumber)) {
+      throw new DerEncodingException(
+          "Expected tag: " + Integer.toHexString(DerTag.TAGGED.getTag() + expectedTagNumber)
+              + " but got: " + Integer.toHexString(tag));
+    }
+    return readLength(end);
+  }
+
+  /**
+   * Reads a DER tagged object and returns a copy of its value.
+   *
+   * @param expectedTagNumber The tag number expected to be read.
+   * @param end               The position that the object must end at or before.
+   *
+   * @return A newly allocated byte array holding the value.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public byte[] readTaggedValue(final int expectedTagNumber, final int end) throws DerEncodingException {
+    final int length = readTaggedObjectLength(expectedTagNumber, end);
+    final byte[] value = new byte[length];
+    if (buffer.hasArray()) {
+      System.arraycopy(buffer.array(), buffer.arrayOffset() + position, value, 0, length);
+    } else {
+      // Cast to Buffer so that this compiles to the Java 8 method signature.
+      ((Buffer) buffer).position(position);
+      buffer.get(value);
+    }
+    position += length;
+    return value;
+  }
+
+  /**
+   * Reads a DER tagged object and returns a read-only view of its value, without copying it.
+   *
+   * @param expectedTagNumber The tag number expected to be read.
+   * @param end               The position that the object must end at or before.
+   *
+   * @return A read-only {@link ByteBuffer} sharing content with the underlying buffer.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded.
+   */
+  public ByteBuffer readTaggedSlice(final int expectedTagNumber, final int end) throws DerEncodingException {
+    final int length = readTaggedObjectLength(expectedTagNumber, end);
+    final ByteBuffer slice = buffer.asReadOnlyBuffer();
+    // Cast to Buffer so that this compiles to the Java 8 method signatures.
+    ((Buffer) slice).limit(position + length);
+    ((Buffer) slice).position(position);
+    position += length;
+    return slice.slice();
+  }
+
+  /**
+   * Reads a DER tagged object holding a two's-complement, big-endian integer.
+   *
+   * @param expectedTagNumber The tag number expected to be read.
+   * @param end               The position that the object must end at or before.
+   *
+   * @return The integer value.
+   *
+   * @throws DerEncodingException if any of the DER-encoded bytes are incorrectly encoded, or if the value does not fit
+   *                              in a {@code long}.
+   */
+  public long readTaggedLong(final int expectedTagNumber, final int end) throws DerEncodingException {
+    final int length = readTaggedObjectLength(expectedTagNumber, end);
+    if (length == 0) {
+      throw new DerEncodingException("Encountered an empty integer.");
+    }
+    if (length > Long.BYTES) {
+      throw new DerEncodingException("Integer of " + length + " bytes is too large.");
+    }
+
+    // Sign-extend the first byte, then shift in the remaining bytes.
+    long value = buffer.get(position++);
+    for (int i = 1; i < length; i++) {
+      value = (value << 8) | (buffer.get(position++) & 0xFF);
+    }
+    return value;
+  }
+
+}
@@ -0,0 +1,126 @@
+package com.ripple.cryptoconditions.der;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.security.MessageDigest;
+import java.util.Objects;
+
+/**
+ * Writes DER encoded data straight into a {@link MessageDigest}, so that the digest of an encoding can be computed
+ * without materializing the encoding itself.
+ *
+ * <p>As with {@link DerArrayWriter}, callers are expected to compute the size of every TLV up-front and then write
+ * headers and values in order. Tags, lengths and integers are gathered in a small scratch buffer so that the digest is
+ * not updated one byte at a time; values are passed to the digest directly. {@link #flush()} must be called once
+ * everything has been written, before the digest is completed.</p>
+ */
+public class DerDigestWriter implements DerWriter {
+
+  // Large enough for several headers, each of which is at most a tag, a length of up to five bytes and an integer of
+  // up to eight bytes.
+  private static final int SCRATCH_SIZE = 64;
+
+  private final MessageDigest messageDigest;
+  private final byte[] scratch = new byte[SCRATCH_SIZE];
+  private int scratchLength;
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param messageDigest The {@link MessageDigest} to update with everything that is written.
+   */
+  public DerDigestWriter(final MessageDigest messageDigest) {
+    this.messageDigest = Objects.requireNonNull(messageDigest);
+  }
+
+  @Override
+  public void writeTag(final int tag) {
+    reserveScratch(1);
+    scratch[scratchLength++] = (byte) tag;
+  }
+
+  @Override
+  public void writeLength(final int length) {
+    reserveScratch(DerArrayWriter.lengthOfLength(length));
+    if (length > 127) {
+      final int size = DerArrayWriter.lengthOfLength(length) - 1;
+      scratch[scratchLength++] = (byte) (size | 0x80);
+      for (int i = (size - 1) * 8; i >= 0; i -= 8) {
+        scratch[scratchLength++] = (byte) (length >> i);
+      }
+    } else {
+      scratch[scratchLength++] = (byte) length;
+    }
+  }
+
+  @Override
+  public void writeBytes(final byte[] bytes) {
+    Objects.requireNonNull(bytes);
+    flush();
+    messageDigest.update(bytes);
+  }
+
+  @Override
+  public void writeInteger(final long value) {
+    final int integerLength = DerArrayWriter.integerLength(value);
+    reserveScratch(integerLength);
+    for (int i = (integerLength - 1) * 8; i >= 0; i -= 8) {
+      scratch[scratchLength++] = (byte) (value >> i);
+    }
+  }
+
+  @Override
+  public void writeTaggedConstructedHeader(final int tagNumber, final int contentLength) {
+    writeTag(DerTag.TAGGED.getTag() + DerTag.CONSTRUCTED.getTag() + tagNumber);
+    writeLength(contentLength);
+  }
+
+  @Override
+  public void writeTaggedObject(final int tagNumber, final byte[] object) {
+    writeTag(DerTag.TAGGED.getTag() + tagNumber);
+    writeLength(object.length);
+    writeBytes(object);
+  }
+
+  @Override
+  public void writeTaggedInteger(final int tagNumber, final long value) {
+    writeTag(DerTag.TAGGED.getTag() + tagNumber);
+    writeLength(DerArrayWriter.integerLength(value));
+    writeInteger(value);
+  }
+
+  /**
+   * Updates the digest with any bytes that are still held in the scratch buffer.
+   */
+  public void flush() {
+    if (scratchLength > 0) {
+      messageDigest.update(scratch, 0, scratchLength);
+      scratchLength = 0;
+    }
+  }
+
+  private void reserveScratch(final int length) {
+    if (scratchLength + length > SCRATCH_SIZE) {
+      flush();
+    }
+  }
+
+}
@@ -23,6 +23,7 @@ package com.ripple.cryptoconditions.der;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -30,6 +31,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class DerInputStream extends FilterInputStream {
 
+  private static final int INITIAL_VALUE_BUFFER_SIZE = 8192;
+
   public DerInputStream(InputStream in) {
     super(in);
   }
@@ -226,9 +229,18 @@ public class DerInputStream extends FilterInputStream {
   public byte[] readValue(int length, AtomicInteger bytesRead)
       throws IOException, DerEncodingException {
 
-    byte[] buffer = new byte[length];
-    if (in.read(buffer, 0, length) < length) {
-      throw new DerEncodingException("End of stream found reading value.");
+    // Grow the buffer as bytes actually arrive, so that a corrupt length cannot force a huge up-front allocation.
+    byte[] buffer = new byte[Math.min(length, INITIAL_VALUE_BUFFER_SIZE)];
+    int offset = 0;
+    while (offset < length) {
+      if (offset == buffer.length) {
+        buffer = Arrays.copyOf(buffer, (int) Math.min(length, 2L * buffer.length));
+      }
+      final int read = in.read(buffer, offset, buffer.length - offset);
+      if (read < 0) {
+        throw new DerEncodingException("End of stream found reading value.");
+      }
+      offset += read;
     }
     bytesRead.addAndGet(length);
 
@@ -0,0 +1,84 @@
+package com.ripple.cryptoconditions.der;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+/**
+ * Writes DER encoded data whose lengths have been computed up-front, using {@link DerArrayWriter#encodedLength(int)}
+ * and {@link DerArrayWriter#integerLength(long)}, so that every header can be written before its content.
+ *
+ * @see DerArrayWriter
+ * @see DerDigestWriter
+ */
+public interface DerWriter {
+
+  /**
+   * Writes a single-byte DER tag.
+   *
+   * @param tag The tag to write.
+   */
+  void writeTag(int tag);
+
+  /**
+   * Writes a DER encoded length indicator.
+   *
+   * @param length The length value to write.
+   */
+  void writeLength(int length);
+
+  /**
+   * Writes raw bytes.
+   *
+   * @param bytes The bytes to write.
+   */
+  void writeBytes(byte[] bytes);
+
+  /**
+   * Writes the minimal two's-complement, big-endian encoding of {@code value}.
+   *
+   * @param value The integer value to write.
+   */
+  void writeInteger(long value);
+
+  /**
+   * Writes the tag and length of a DER tagged, constructed object whose content will be written next.
+   *
+   * @param tagNumber     The tag number for the object.
+   * @param contentLength The length of the content that follows.
+   */
+  void writeTaggedConstructedHeader(int tagNumber, int contentLength);
+
+  /**
+   * Writes the value as a DER tagged object.
+   *
+   * @param tagNumber The tag number for the object.
+   * @param object    The value to write.
+   */
+  void writeTaggedObject(int tagNumber, byte[] object);
+
+  /**
+   * Writes an integer value as a DER tagged object.
+   *
+   * @param tagNumber The tag number for the object.
+   * @param value     The integer value to write.
+   */
+  void writeTaggedInteger(int tagNumber, long value);
+
+}
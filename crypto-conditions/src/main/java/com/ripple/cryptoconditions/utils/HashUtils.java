@@ -20,15 +20,23 @@ package com.ripple.cryptoconditions.utils;
  * =========================LICENSE_END==================================
  */
 
+import com.ripple.cryptoconditions.der.DerDigestWriter;
+
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * Base interface for all *-SHA-256 conditions.
  */
 public interface HashUtils {
 
+  /**
+   * The length, in bytes, of a SHA-256 digest.
+   */
+  int SHA_256_LENGTH = 32;
+
   /**
    * Constructs the fingerprint from this condition by taking the SHA-256 digest from the contents
    * from this condition, per the crypto-conditions RFC.
@@ -40,11 +48,95 @@ public interface HashUtils {
    */
   static byte[] hashFingerprintContents(final byte[] fingerprintContents) {
     Objects.requireNonNull(fingerprintContents);
-    try {
-      final MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
-      return messageDigest.digest(fingerprintContents);
-    } catch (NoSuchAlgorithmException e) {
-      throw new RuntimeException(e);
+    final byte[] fingerprint = new byte[SHA_256_LENGTH];
+    hashFingerprintContents(fingerprintContents, 0, fingerprintContents.length, fingerprint);
+    return fingerprint;
+  }
+
+  /**
+   * Constructs a fingerprint by writing the unhashed contents of a condition straight into a SHA-256 digest, so that
+   * the contents are never held in memory.
+   *
+   * <p>{@code fingerprintContents} is given a {@link DerDigestWriter} and must write the complete DER encoding of the
+   * contents to it, with every length computed up-front. It must not compute any other fingerprint while doing so,
+   * since the digest is reused by the calling thread.</p>
+   *
+   * @param fingerprintContents A {@link Consumer} that writes the unhashed contents of a condition, as assembled per
+   *                            the rules from the RFC.
+   *
+   * @return A byte array containing the hashed fingerprint.
+   */
+  static byte[] hashFingerprintContents(final Consumer<DerDigestWriter> fingerprintContents) {
+    Objects.requireNonNull(fingerprintContents);
+
+    final MessageDigest messageDigest = Sha256Digests.get();
+    final DerDigestWriter out = new DerDigestWriter(messageDigest);
+    fingerprintContents.accept(out);
+    out.flush();
+
+    final byte[] fingerprint = new byte[SHA_256_LENGTH];
+    Sha256Digests.digestInto(messageDigest, fingerprint);
+    return fingerprint;
+  }
+
+  /**
+   * Computes the SHA-256 digest of a range of bytes, writing it into a caller-supplied array.
+   *
+   * <p>The digest is computed with a {@link MessageDigest} that is reused by the calling thread, so no provider lookup
+   * or allocation is needed.</p>
+   *
+   * @param fingerprintContents A byte array containing the unhashed contents from a condition.
+   * @param offset              The offset of the first byte to hash.
+   * @param length              The number of bytes to hash.
+   * @param fingerprint         A byte array of at least {@link #SHA_256_LENGTH} bytes, whose first
+   *                            {@link #SHA_256_LENGTH} bytes are overwritten with the digest.
+   */
+  static void hashFingerprintContents(
+      final byte[] fingerprintContents, final int offset, final int length, final byte[] fingerprint
+  ) {
+    Objects.requireNonNull(fingerprintContents);
+    if (offset < 0 || length < 0 || offset > fingerprintContents.length - length) {
+      throw new IndexOutOfBoundsException(
+          "Range [" + offset + ", " + length + "] is outside an array of length " + fingerprintContents.length);
     }
+    Sha256Digests.checkOutput(fingerprint);
+
+    final MessageDigest messageDigest = Sha256Digests.get();
+    messageDigest.update(fingerprintContents, offset, length);
+    Sha256Digests.digestInto(messageDigest, fingerprint);
+  }
+
+  /**
+   * Computes the SHA-256 digest of the remaining bytes of a buffer, writing it into a caller-supplied array. The
+   * buffer's position is advanced to its limit.
+   *
+   * @param fingerprintContents A {@link ByteBuffer} containing the unhashed contents from a condition.
+   * @param fingerprint         A byte array of at least {@link #SHA_256_LENGTH} bytes, whose first
+   *                            {@link #SHA_256_LENGTH} bytes are overwritten with the digest.
+   */
+  static void hashFingerprintContents(final ByteBuffer fingerprintContents, final byte[] fingerprint) {
+    Objects.requireNonNull(fingerprintContents);
+    Sha256Digests.checkOutput(fingerprint);
+
+    final MessageDigest messageDigest = Sha256Digests.get();
+    messageDigest.update(fingerprintContents);
+    Sha256Digests.digestInto(messageDigest, fingerprint);
+  }
+
+  /**
+   * Computes the SHA-256 digest of arbitrary bytes, using the {@link MessageDigest} that is reused by the calling
+   * thread.
+   *
+   * @param bytes The bytes to hash.
+   *
+   * @return A byte array containing the SHA-256 digest of {@code bytes}.
+   */
+  static byte[] sha256(final byte[] bytes) {
+    Objects.requireNonNull(bytes);
+    final MessageDigest messageDigest = Sha256Digests.get();
+    messageDigest.update(bytes);
+    final byte[] digest = new byte[SHA_256_LENGTH];
+    Sha256Digests.digestInto(messageDigest, digest);
+    return digest;
   }
 }
@@ -0,0 +1,87 @@
+package com.ripple.cryptoconditions.utils;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+
+/**
+ * Holds one SHA-256 {@link MessageDigest} per thread for {@link HashUtils}, so that hashing a fingerprint does not
+ * require a provider lookup and a new digest instance every time.
+ */
+final class Sha256Digests {
+
+  private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(Sha256Digests::newDigest);
+
+  private Sha256Digests() {
+  }
+
+  /**
+   * Accessor for the calling thread's digest. The returned digest is reset, and must be completed before this method
+   * is called again on the same thread.
+   *
+   * @return A SHA-256 {@link MessageDigest} that is ready to be updated.
+   */
+  static MessageDigest get() {
+    final MessageDigest messageDigest = DIGESTS.get();
+    messageDigest.reset();
+    return messageDigest;
+  }
+
+  /**
+   * Completes the hash computation of {@code messageDigest}, writing the digest to the start of {@code output}.
+   *
+   * @param messageDigest A {@link MessageDigest} returned by {@link #get()}.
+   * @param output        A byte array of at least {@link HashUtils#SHA_256_LENGTH} bytes.
+   */
+  static void digestInto(final MessageDigest messageDigest, final byte[] output) {
+    try {
+      messageDigest.digest(output, 0, HashUtils.SHA_256_LENGTH);
+    } catch (DigestException e) {
+      messageDigest.reset();
+      throw new IllegalArgumentException(e);
+    }
+  }
+
+  /**
+   * Ensures that {@code output} can hold a SHA-256 digest.
+   *
+   * @param output The byte array that a digest will be written to.
+   */
+  static void checkOutput(final byte[] output) {
+    Objects.requireNonNull(output);
+    if (output.length < HashUtils.SHA_256_LENGTH) {
+      throw new IllegalArgumentException(
+          "Output must be at least " + HashUtils.SHA_256_LENGTH + " bytes but was " + output.length + " bytes.");
+    }
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -0,0 +1,117 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE2;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREFIX1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructEd25519Sha256Fulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPreimageFulfillment;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+
+import com.google.common.collect.Lists;
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Unit tests for {@link AsyncFulfillmentVerifier}.
+ */
+public class AsyncFulfillmentVerifierTest {
+
+  private ExecutorService executor;
+  private AsyncFulfillmentVerifier verifier;
+
+  @Before
+  public void setup() {
+    executor = Executors.newFixedThreadPool(4);
+    verifier = new AsyncFulfillmentVerifier(executor);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testVerify() throws Exception {
+    final Ed25519Sha256Fulfillment fulfillment = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.generateRandomEd25519KeyPair()
+    );
+    final byte[] message = MESSAGE.getBytes();
+
+    final Boolean verified = verifier.verify(fulfillment, fulfillment.getDerivedCondition(), message).get();
+    assertThat(verified, is(true));
+  }
+
+  @Test
+  public void testVerifyAll() throws Exception {
+    final Ed25519Sha256Fulfillment ed25519Fulfillment = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.generateRandomEd25519KeyPair()
+    );
+    final PreimageSha256Fulfillment preimageFulfillment = constructPreimageFulfillment(PREIMAGE1);
+
+    final List<Boolean> verified = verifier.verifyAll(Lists.newArrayList(
+        VerificationRequest.of(ed25519Fulfillment, ed25519Fulfillment.getDerivedCondition(), MESSAGE.getBytes()),
+        VerificationRequest.of(ed25519Fulfillment, ed25519Fulfillment.getDerivedCondition(), MESSAGE2.getBytes()),
+        VerificationRequest.of(preimageFulfillment, preimageFulfillment.getDerivedCondition(), new byte[0]),
+        VerificationRequest.of(preimageFulfillment, ed25519Fulfillment.getDerivedCondition(), new byte[0])
+    )).get();
+
+    assertThat(verified, is(Lists.newArrayList(true, false, true, false)));
+  }
+
+  @Test
+  public void testVerifyAllEmpty() throws Exception {
+    assertThat(verifier.verifyAll(Lists.newArrayList()).get().isEmpty(), is(true));
+  }
+
+  @Test
+  public void testVerifyAllCompletesExceptionally() throws Exception {
+    final PrefixSha256Fulfillment prefixFulfillment = PrefixSha256Fulfillment
+        .from(PREFIX1.getBytes(), 1, constructPreimageFulfillment(PREIMAGE1));
+
+    try {
+      verifier.verifyAll(Lists.newArrayList(
+          VerificationRequest.of(prefixFulfillment, prefixFulfillment.getDerivedCondition(), new byte[0]),
+          VerificationRequest.of(prefixFulfillment, prefixFulfillment.getDerivedCondition(), MESSAGE.getBytes())
+      )).get();
+      fail("ExecutionException expected");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause(), instanceOf(IllegalArgumentException.class));
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testNullExecutor() {
+    new AsyncFulfillmentVerifier(null);
+  }
+}
@@ -0,0 +1,232 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE2;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREFIX1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE2;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructEd25519Sha256Fulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPreimageFulfillment;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.fail;
+
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for {@link CachingFulfillmentVerifier}.
+ */
+public class CachingFulfillmentVerifierTest {
+
+  @Test
+  public void testVerifyCachesResults() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final Ed25519Sha256Fulfillment fulfillment = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.generateRandomEd25519KeyPair()
+    );
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE2.getBytes()), is(false));
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE2.getBytes()), is(false));
+
+    assertThat(verifier.getHitCount(), is(2L));
+    assertThat(verifier.getMissCount(), is(2L));
+    assertThat(verifier.size(), is(2L));
+  }
+
+  @Test
+  public void testVerifyDistinguishesConditions() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    final PreimageSha256Fulfillment otherFulfillment = constructPreimageFulfillment(PREIMAGE2);
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]), is(true));
+    assertThat(verifier.verify(fulfillment, otherFulfillment.getDerivedCondition(), new byte[0]), is(false));
+    assertThat(verifier.verify(otherFulfillment, fulfillment.getDerivedCondition(), new byte[0]), is(false));
+
+    assertThat(verifier.getHitCount(), is(0L));
+    assertThat(verifier.getMissCount(), is(3L));
+  }
+
+  @Test
+  public void testVerifyEvictsLeastRecentlyUsedResults() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(1);
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    final PreimageSha256Fulfillment otherFulfillment = constructPreimageFulfillment(PREIMAGE2);
+
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+    verifier.verify(otherFulfillment, otherFulfillment.getDerivedCondition(), new byte[0]);
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+
+    assertThat(verifier.getHitCount(), is(0L));
+    assertThat(verifier.getMissCount(), is(3L));
+    assertThat(verifier.size(), is(1L));
+  }
+
+  @Test
+  public void testVerifyExpiresResults() {
+    final AtomicLong nanoTime = new AtomicLong();
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(
+        100, TimeUnit.SECONDS.toNanos(10), nanoTime::get
+    );
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(9));
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+    assertThat(verifier.getHitCount(), is(1L));
+
+    nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+    assertThat(verifier.getHitCount(), is(1L));
+    assertThat(verifier.getMissCount(), is(2L));
+  }
+
+  @Test
+  public void testVerifyDoesNotCacheExceptions() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100, Duration.ofMinutes(1));
+    final PrefixSha256Fulfillment fulfillment = PrefixSha256Fulfillment
+        .from(PREFIX1.getBytes(), 1, constructPreimageFulfillment(PREIMAGE1));
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes());
+        fail("IllegalArgumentException expected");
+      } catch (IllegalArgumentException e) {
+        // Expected.
+      }
+    }
+    assertThat(verifier.getMissCount(), is(2L));
+    assertThat(verifier.size(), is(0L));
+  }
+
+  @Test
+  public void testVerifyKeysEncodedFulfillmentsByTheirEncoding() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    final EncodedPreimageFulfillment encodedFulfillment = new EncodedPreimageFulfillment(fulfillment);
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]), is(true));
+    assertThat(verifier.verify(encodedFulfillment, fulfillment.getDerivedCondition(), new byte[0]), is(true));
+
+    assertThat(verifier.getHitCount(), is(1L));
+    assertThat(encodedFulfillment.verifyCount, is(0));
+  }
+
+  @Test
+  public void testVerifyUnknownFulfillmentTypesWithoutCaching() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    final Fulfillment<PreimageSha256Condition> unknownFulfillment = new Fulfillment<PreimageSha256Condition>() {
+      @Override
+      public CryptoConditionType getType() {
+        return fulfillment.getType();
+      }
+
+      @Override
+      public PreimageSha256Condition getDerivedCondition() {
+        return fulfillment.getDerivedCondition();
+      }
+
+      @Override
+      public boolean verify(final Condition condition, final byte[] message) {
+        return fulfillment.verify(condition, message);
+      }
+    };
+
+    for (int i = 0; i < 2; i++) {
+      assertThat(verifier.verify(unknownFulfillment, fulfillment.getDerivedCondition(), new byte[0]), is(true));
+    }
+    assertThat(verifier.getHitCount(), is(0L));
+    assertThat(verifier.getMissCount(), is(2L));
+    assertThat(verifier.size(), is(0L));
+  }
+
+  @Test
+  public void testInvalidateAll() {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+    verifier.invalidateAll();
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), new byte[0]);
+
+    assertThat(verifier.getHitCount(), is(0L));
+    assertThat(verifier.getMissCount(), is(2L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveMaximumSize() {
+    new CachingFulfillmentVerifier(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveTimeToLive() {
+    new CachingFulfillmentVerifier(100, Duration.ZERO);
+  }
+
+  /**
+   * An {@link EncodedFulfillment} that counts how often it is verified.
+   */
+  private static final class EncodedPreimageFulfillment implements EncodedFulfillment<PreimageSha256Condition> {
+
+    private final PreimageSha256Fulfillment fulfillment;
+    private int verifyCount;
+
+    EncodedPreimageFulfillment(final PreimageSha256Fulfillment fulfillment) {
+      this.fulfillment = fulfillment;
+    }
+
+    @Override
+    public byte[] getEncoded() {
+      return CryptoConditionEncoder.encodeFulfillment(fulfillment);
+    }
+
+    @Override
+    public Fulfillment<?> getFulfillment() {
+      return fulfillment;
+    }
+
+    @Override
+    public CryptoConditionType getType() {
+      return fulfillment.getType();
+    }
+
+    @Override
+    public PreimageSha256Condition getDerivedCondition() {
+      return fulfillment.getDerivedCondition();
+    }
+
+    @Override
+    public boolean verify(final Condition condition, final byte[] message) {
+      verifyCount++;
+      return fulfillment.verify(condition, message);
+    }
+  }
+}
@@ -20,9 +20,232 @@ package com.ripple.cryptoconditions;
  * =========================LICENSE_END==================================
  */
 
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREFIX1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPreimageFulfillment;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.fail;
+
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import com.ripple.cryptoconditions.der.DerInputStream;
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
- * Unit tests for {@link CryptoConditionReader}. Covered by {@link CryptoConditionReaderWriterTest}.
+ * Unit tests for {@link CryptoConditionReader}. Mostly covered by {@link CryptoConditionReaderWriterTest}.
  */
 public class CryptoConditionReaderTest {
 
+  @Test
+  public void testReadRsaFulfillmentReusesDecodedPublicKey() throws Exception {
+    final RSAPublicKey publicKey = (RSAPublicKey) TestKeyFactory.generateRandomRsaKeyPair().getPublic();
+    final byte[] encoded = CryptoConditionWriter.writeFulfillment(RsaSha256Fulfillment.from(publicKey, new byte[256]));
+
+    final RsaSha256Fulfillment fulfillment1 = (RsaSha256Fulfillment) CryptoConditionReader.readFulfillment(encoded);
+    final RsaSha256Fulfillment fulfillment2 = (RsaSha256Fulfillment) CryptoConditionReader.readFulfillment(encoded);
+
+    assertThat(fulfillment1.getPublicKey(), is(publicKey));
+    assertThat(fulfillment2.getPublicKey(), is(sameInstance(fulfillment1.getPublicKey())));
+  }
+
+  @Test
+  public void testReadEd25519FulfillmentReusesDecodedPublicKey() throws Exception {
+    final EdDSAPublicKey publicKey = (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic();
+    final EdDSAPublicKey otherPublicKey = (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic();
+    final byte[] encoded = CryptoConditionWriter
+        .writeFulfillment(Ed25519Sha256Fulfillment.from(publicKey, new byte[64]));
+    final byte[] otherEncoded = CryptoConditionWriter
+        .writeFulfillment(Ed25519Sha256Fulfillment.from(otherPublicKey, new byte[64]));
+
+    final Ed25519Sha256Fulfillment fulfillment1
+        = (Ed25519Sha256Fulfillment) CryptoConditionReader.readFulfillment(encoded);
+    final Ed25519Sha256Fulfillment fulfillment2
+        = (Ed25519Sha256Fulfillment) CryptoConditionReader.readFulfillment(encoded);
+    final Ed25519Sha256Fulfillment otherFulfillment
+        = (Ed25519Sha256Fulfillment) CryptoConditionReader.readFulfillment(otherEncoded);
+
+    assertThat(fulfillment1.getPublicKey(), is(publicKey));
+    assertThat(fulfillment2.getPublicKey(), is(sameInstance(fulfillment1.getPublicKey())));
+    assertThat(otherFulfillment.getPublicKey(), is(otherPublicKey));
+    assertThat(otherFulfillment.getPublicKey(), is(not(publicKey)));
+  }
+
+  @Test
+  public void testReadFulfillmentWithinLimits() throws Exception {
+    final Fulfillment fulfillment = nestPrefixes(constructPreimageFulfillment(PREIMAGE1), 3);
+    final ReaderLimits limits = ReaderLimits.builder()
+        .maxDepth(4)
+        .maxNodes(4)
+        .maxEncodedSize(CryptoConditionWriter.writeFulfillment(fulfillment).length)
+        .maxCost(fulfillment.getDerivedCondition().getCost())
+        .build();
+
+    assertThat(readFulfillment(fulfillment, limits), is(fulfillment));
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingMaxDepth() throws Exception {
+    final Fulfillment fulfillment = nestPrefixes(constructPreimageFulfillment(PREIMAGE1), 3);
+
+    assertLimitsExceeded(fulfillment, ReaderLimits.builder().maxDepth(3).build());
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingDefaultMaxDepth() throws Exception {
+    final Fulfillment fulfillment = nestPrefixes(
+        constructPreimageFulfillment(PREIMAGE1), ReaderLimits.DEFAULT_MAX_DEPTH
+    );
+
+    assertLimitsExceeded(fulfillment, ReaderLimits.defaults());
+  }
+
+  @Test
+  public void testReadFulfillmentWithoutLimits() throws Exception {
+    final Fulfillment fulfillment = nestPrefixes(
+        constructPreimageFulfillment(PREIMAGE1), ReaderLimits.DEFAULT_MAX_DEPTH
+    );
+    final byte[] encoded = CryptoConditionWriter.writeFulfillment(fulfillment);
+
+    // Variants that do not accept any limits read everything they read before limits were introduced.
+    assertThat(CryptoConditionReader.readFulfillment(encoded), is(fulfillment));
+    assertThat(CryptoConditionReader.readFulfillment(ByteBuffer.wrap(encoded)), is(fulfillment));
+    assertThat(CryptoConditionReader.readFulfillment(new DerInputStream(new ByteArrayInputStream(encoded))),
+        is(fulfillment));
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingMaxNodes() throws Exception {
+    final Fulfillment fulfillment = ThresholdSha256Fulfillment.from(
+        Collections.singletonList(constructPreimageFulfillment("Other").getDerivedCondition()),
+        Collections.singletonList(constructPreimageFulfillment(PREIMAGE1))
+    );
+
+    assertThat(readFulfillment(fulfillment, ReaderLimits.builder().maxNodes(3).build()), is(fulfillment));
+    assertLimitsExceeded(fulfillment, ReaderLimits.builder().maxNodes(2).build());
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingMaxSubfulfillments() throws Exception {
+    final List<Fulfillment> subfulfillments = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      subfulfillments.add(constructPreimageFulfillment(PREIMAGE1 + i));
+    }
+    final Fulfillment fulfillment = ThresholdSha256Fulfillment.from(Collections.emptyList(), subfulfillments);
+
+    assertThat(readFulfillment(fulfillment, ReaderLimits.builder().maxSubfulfillments(3).build()), is(fulfillment));
+    assertLimitsExceeded(fulfillment, ReaderLimits.builder().maxSubfulfillments(2).build());
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingMaxEncodedSize() throws Exception {
+    final Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    final int encodedSize = CryptoConditionWriter.writeFulfillment(fulfillment).length;
+
+    assertLimitsExceeded(fulfillment, ReaderLimits.builder().maxEncodedSize(encodedSize - 1).build());
+  }
+
+  @Test
+  public void testReadFulfillmentExceedingMaxCost() throws Exception {
+    final Fulfillment fulfillment = nestPrefixes(constructPreimageFulfillment(PREIMAGE1), 2);
+    final long cost = fulfillment.getDerivedCondition().getCost();
+
+    assertLimitsExceeded(fulfillment, ReaderLimits.builder().maxCost(cost - 1).build());
+  }
+
+  @Test
+  public void testReadRsaFulfillmentExceedingMaxCostIsRejectedBeforeDecodingKey() throws Exception {
+    // An RSA-SHA-256 fulfillment whose modulus is not a valid key.
+    final byte[] encoded = new byte[] {
+        (byte) 0xA3, 0x08, (byte) 0x80, 0x02, 0x00, 0x00, (byte) 0x81, 0x02, 0x00, 0x00
+    };
+
+    try {
+      CryptoConditionReader.readFulfillment(ByteBuffer.wrap(encoded), ReaderLimits.builder().maxCost(3).build());
+      fail("ReaderLimitsExceededException expected");
+    } catch (ReaderLimitsExceededException e) {
+      // Expected.
+    }
+  }
+
+  @Test
+  public void testReadConditionExceedingLimits() throws Exception {
+    final Condition condition = nestPrefixes(constructPreimageFulfillment(PREIMAGE1), 2).getDerivedCondition();
+    final byte[] encoded = CryptoConditionWriter.writeCondition(condition);
+
+    assertThat(CryptoConditionReader.readCondition(
+        ByteBuffer.wrap(encoded), ReaderLimits.builder().maxCost(condition.getCost()).build()
+    ), is(condition));
+    try {
+      CryptoConditionReader.readCondition(
+          ByteBuffer.wrap(encoded), ReaderLimits.builder().maxCost(condition.getCost() - 1).build()
+      );
+      fail("ReaderLimitsExceededException expected");
+    } catch (ReaderLimitsExceededException e) {
+      // Expected.
+    }
+    try {
+      CryptoConditionReader.readCondition(
+          new DerInputStream(new ByteArrayInputStream(encoded)), new AtomicInteger(),
+          ReaderLimits.builder().maxEncodedSize(encoded.length - 1).build()
+      );
+      fail("ReaderLimitsExceededException expected");
+    } catch (ReaderLimitsExceededException e) {
+      // Expected.
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveMaxDepth() {
+    ReaderLimits.builder().maxDepth(0).build();
+  }
+
+  /**
+   * Wraps {@code fulfillment} in {@code count} PREFIX-SHA-256 fulfillments.
+   */
+  private static Fulfillment nestPrefixes(final Fulfillment fulfillment, final int count) {
+    Fulfillment nested = fulfillment;
+    for (int i = 0; i < count; i++) {
+      nested = PrefixSha256Fulfillment.from(PREFIX1.getBytes(), 0, nested);
+    }
+    return nested;
+  }
+
+  private static Fulfillment readFulfillment(final Fulfillment fulfillment, final ReaderLimits limits)
+      throws DerEncodingException {
+    final byte[] encoded = CryptoConditionWriter.writeFulfillment(fulfillment);
+    return CryptoConditionReader.readFulfillment(ByteBuffer.wrap(encoded), limits);
+  }
+
+  /**
+   * Asserts that reading {@code fulfillment} from both a buffer and a stream exceeds {@code limits}.
+   */
+  private static void assertLimitsExceeded(final Fulfillment fulfillment, final ReaderLimits limits) throws Exception {
+    final byte[] encoded = CryptoConditionWriter.writeFulfillment(fulfillment);
+    try {
+      CryptoConditionReader.readFulfillment(ByteBuffer.wrap(encoded), limits);
+      fail("ReaderLimitsExceededException expected");
+    } catch (ReaderLimitsExceededException e) {
+      // Expected.
+    }
+    try {
+      CryptoConditionReader.readFulfillment(
+          new DerInputStream(new ByteArrayInputStream(encoded)), new AtomicInteger(), limits
+      );
+      fail("ReaderLimitsExceededException expected");
+    } catch (ReaderLimitsExceededException e) {
+      // Expected.
+    }
+  }
 }
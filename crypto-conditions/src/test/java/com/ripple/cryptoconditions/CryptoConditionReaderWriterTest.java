@@ -36,6 +36,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
@@ -211,4 +212,66 @@ public class CryptoConditionReaderWriterTest {
     assertThat(readAndWrittenFulfillment, is(thresholdFulfillment));
   }
 
+  @Test
+  public void readFulfillmentAndConditionFromDirectByteBuffer() throws Exception {
+    final byte[] encodedFulfillment = CryptoConditionWriter.writeFulfillment(thresholdFulfillment);
+    final byte[] encodedCondition = CryptoConditionWriter.writeCondition(thresholdCondition);
+
+    // Surround the encodings with unrelated bytes to ensure only the buffer's remaining bytes are read.
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(encodedFulfillment.length + encodedCondition.length + 2);
+    buffer.put((byte) 0xFF).put(encodedFulfillment).put(encodedCondition).put((byte) 0xFF);
+    buffer.position(1);
+
+    assertThat(CryptoConditionReader.readFulfillment(buffer), is(thresholdFulfillment));
+    assertThat(buffer.position(), is(1 + encodedFulfillment.length));
+    assertThat(CryptoConditionReader.readCondition(buffer), is(thresholdCondition));
+    assertThat(buffer.position(), is(1 + encodedFulfillment.length + encodedCondition.length));
+  }
+
+  /**
+   * Nests thresholds and prefixes several levels deep, with values long enough to require multi-byte DER lengths, to
+   * ensure that lengths computed ahead of encoding match what is actually written.
+   */
+  @Test
+  public void readWriteNestedFulfillment() throws Exception {
+    final byte[] longPrefix = new byte[300];
+    Fulfillment nestedFulfillment = thresholdFulfillment;
+    for (int i = 0; i < 5; i++) {
+      final PrefixSha256Fulfillment prefixFulfillment = PrefixSha256Fulfillment
+          .from(longPrefix, 70000, nestedFulfillment);
+      nestedFulfillment = ThresholdSha256Fulfillment.from(
+          Lists.newArrayList(rsaCondition, thresholdCondition),
+          Lists.newArrayList(prefixFulfillment, preimageFulfillment)
+      );
+    }
+
+    final byte[] encodedFulfillment = CryptoConditionWriter.writeFulfillment(nestedFulfillment);
+    final Fulfillment readAndWrittenFulfillment = CryptoConditionReader.readFulfillment(encodedFulfillment);
+    assertThat(readAndWrittenFulfillment, is(nestedFulfillment));
+    assertThat(CryptoConditionWriter.writeFulfillment(readAndWrittenFulfillment), is(encodedFulfillment));
+  }
+
+  /**
+   * Nests prefixes far deeper than a recursive reader or writer could handle without overflowing the stack.
+   */
+  @Test
+  public void readWriteDeeplyNestedFulfillment() throws Exception {
+    final int depth = 100_000;
+    Fulfillment nestedFulfillment = preimageFulfillment;
+    for (int i = 0; i < depth; i++) {
+      nestedFulfillment = PrefixSha256Fulfillment.from(new byte[0], 0, nestedFulfillment);
+    }
+
+    final byte[] encodedFulfillment = CryptoConditionWriter.writeFulfillment(nestedFulfillment);
+    final Fulfillment readAndWrittenFulfillment = CryptoConditionReader
+        .readFulfillment(ByteBuffer.wrap(encodedFulfillment));
+    assertThat(CryptoConditionWriter.writeFulfillment(readAndWrittenFulfillment), is(encodedFulfillment));
+
+    Fulfillment innermostFulfillment = readAndWrittenFulfillment;
+    for (int i = 0; i < depth; i++) {
+      innermostFulfillment = ((PrefixSha256Fulfillment) innermostFulfillment).getSubfulfillment();
+    }
+    assertThat(innermostFulfillment, is(preimageFulfillment));
+  }
+
 }
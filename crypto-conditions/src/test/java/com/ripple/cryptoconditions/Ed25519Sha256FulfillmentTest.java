@@ -21,6 +21,7 @@ package com.ripple.cryptoconditions;
  */
 
 import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE2;
 import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructEd25519Sha256Fulfillment;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -148,6 +149,32 @@ public class Ed25519Sha256FulfillmentTest extends AbstractCryptoConditionTest {
         actual.verify(actual.getDerivedCondition(), MESSAGE.getBytes()));
   }
 
+  /**
+   * Verifies fulfillments holding distinct but equal public keys, repeatedly and from many threads, to ensure that
+   * engines and per-key state reused between verifications never leak results from one verification into another.
+   */
+  @Test
+  public void testValidateRepeatedlyUsingMultipleThreads() throws Exception {
+    final Ed25519Sha256Fulfillment fulfillment1 = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.constructEd25519KeyPair()
+    );
+    final Ed25519Sha256Fulfillment fulfillment2 = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.constructEd25519KeyPair()
+    );
+    assertThat(fulfillment1.getPublicKey() == fulfillment2.getPublicKey(), is(false));
+
+    final Runnable runnableTest = () -> {
+      for (int i = 0; i < 10; i++) {
+        assertThat(fulfillment1.verify(fulfillment1.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+        assertThat(fulfillment2.verify(fulfillment2.getDerivedCondition(), MESSAGE2.getBytes()), is(false));
+        assertThat(fulfillment2.verify(fulfillment2.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+      }
+    };
+
+    this.runConcurrent(1, runnableTest);
+    this.runConcurrent(runnableTest);
+  }
+
   /**
    * Test to validate https://github.com/ripple/crypto-conditions/issues/19
    */
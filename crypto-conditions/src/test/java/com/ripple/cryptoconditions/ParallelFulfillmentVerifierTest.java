@@ -0,0 +1,184 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE2;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREFIX1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE2;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructEd25519Sha256Fulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPreimageFulfillment;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.google.common.collect.Lists;
+import com.ripple.cryptoconditions.helpers.TestConditionFactory;
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link ParallelFulfillmentVerifier}.
+ */
+public class ParallelFulfillmentVerifierTest {
+
+  private ForkJoinPool pool;
+  private ParallelFulfillmentVerifier verifier;
+
+  /**
+   * Setup the test with a verifier that splits every compound fulfillment.
+   */
+  @Before
+  public void setup() {
+    pool = new ForkJoinPool(4);
+    verifier = new ParallelFulfillmentVerifier(pool, 0);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void testVerifyNestedFulfillment() {
+    final Fulfillment<?> fulfillment = constructNestedFulfillment(
+        constructEd25519Sha256Fulfillment(TestKeyFactory.generateRandomEd25519KeyPair())
+    );
+
+    assertThat(fulfillment.verify(fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+    assertThat(new ParallelFulfillmentVerifier()
+        .verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+  }
+
+  @Test
+  public void testVerifyNestedFulfillmentWithWrongMessage() {
+    final Fulfillment<?> fulfillment = constructNestedFulfillment(
+        constructEd25519Sha256Fulfillment(TestKeyFactory.generateRandomEd25519KeyPair())
+    );
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE2.getBytes()), is(false));
+  }
+
+  @Test
+  public void testVerifyNestedFulfillmentWithWrongCondition() {
+    final Fulfillment<?> fulfillment = constructNestedFulfillment(
+        constructEd25519Sha256Fulfillment(TestKeyFactory.generateRandomEd25519KeyPair())
+    );
+
+    assertThat(verifier.verify(
+        fulfillment, TestConditionFactory.constructPreimageCondition(PREIMAGE1), MESSAGE.getBytes()
+    ), is(false));
+  }
+
+  @Test
+  public void testVerifyNestedFulfillmentWithInvalidSubfulfillment() {
+    final Fulfillment<?> fulfillment = constructNestedFulfillment(Ed25519Sha256Fulfillment.from(
+        (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic(), new byte[64]
+    ));
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(false));
+  }
+
+  @Test
+  public void testVerifyWeightedFulfillmentVerifiesRepeatedSubfulfillmentOnce() {
+    final CountingFulfillment countingFulfillment = new CountingFulfillment(constructPreimageFulfillment(PREIMAGE1));
+    final Map<Fulfillment, Integer> weightedSubfulfillments = new LinkedHashMap<>();
+    weightedSubfulfillments.put(countingFulfillment, 1000);
+    weightedSubfulfillments.put(constructPreimageFulfillment(PREIMAGE2), 2);
+    final ThresholdSha256Fulfillment fulfillment = ThresholdFactory.constructWeightedFulfillment(
+        Collections.emptyMap(), weightedSubfulfillments
+    );
+
+    assertThat(verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+    assertThat(countingFulfillment.verifyCount.get(), is(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testVerifyWithMessageTooLongForPrefix() {
+    final PrefixSha256Fulfillment fulfillment = PrefixSha256Fulfillment
+        .from(PREFIX1.getBytes(), 1, constructPreimageFulfillment(PREIMAGE1));
+
+    verifier.verify(fulfillment, fulfillment.getDerivedCondition(), MESSAGE.getBytes());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeSequentialCostThreshold() {
+    new ParallelFulfillmentVerifier(pool, -1);
+  }
+
+  /**
+   * A PREIMAGE fulfillment that counts how many times it is verified.
+   */
+  private static class CountingFulfillment implements Fulfillment<PreimageSha256Condition> {
+
+    private final PreimageSha256Fulfillment fulfillment;
+    private final AtomicInteger verifyCount = new AtomicInteger();
+
+    CountingFulfillment(final PreimageSha256Fulfillment fulfillment) {
+      this.fulfillment = fulfillment;
+    }
+
+    @Override
+    public CryptoConditionType getType() {
+      return fulfillment.getType();
+    }
+
+    @Override
+    public PreimageSha256Condition getDerivedCondition() {
+      return fulfillment.getDerivedCondition();
+    }
+
+    @Override
+    public boolean verify(final Condition condition, final byte[] message) {
+      verifyCount.incrementAndGet();
+      return fulfillment.verify(condition, message);
+    }
+  }
+
+  /**
+   * Constructs a THRESHOLD fulfillment holding {@code ed25519Fulfillment}, a PREIMAGE fulfillment and a PREFIX
+   * fulfillment, which itself holds a THRESHOLD fulfillment.
+   */
+  private Fulfillment<?> constructNestedFulfillment(final Ed25519Sha256Fulfillment ed25519Fulfillment) {
+    final ThresholdSha256Fulfillment innerThreshold = ThresholdSha256Fulfillment.from(
+        Lists.newArrayList(),
+        Lists.newArrayList(constructPreimageFulfillment(PREIMAGE1), constructPreimageFulfillment(PREIMAGE2))
+    );
+    return ThresholdSha256Fulfillment.from(
+        Lists.newArrayList(TestConditionFactory.constructPreimageCondition(PREIMAGE2)),
+        Lists.newArrayList(
+            ed25519Fulfillment,
+            constructPreimageFulfillment(PREIMAGE1),
+            PrefixSha256Fulfillment.from(PREFIX1.getBytes(), 1000, innerThreshold)
+        )
+    );
+  }
+}
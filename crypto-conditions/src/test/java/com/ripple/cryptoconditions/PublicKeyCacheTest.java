@@ -0,0 +1,80 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import net.i2p.crypto.eddsa.EdDSAPublicKey;
+import net.i2p.crypto.eddsa.spec.EdDSAPublicKeySpec;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PublicKeyCache}.
+ */
+public class PublicKeyCacheTest {
+
+  @Test
+  public void testCanonicalEd25519KeyIsSharedWithDecodedKeys() {
+    final EdDSAPublicKey publicKey = (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic();
+
+    final EdDSAPublicKey canonicalKey = PublicKeyCache.canonicalEd25519Key(publicKey);
+
+    assertThat(canonicalKey, is(sameInstance(publicKey)));
+    assertThat(PublicKeyCache.canonicalEd25519Key(copyOf(publicKey)), is(sameInstance(canonicalKey)));
+    assertThat(PublicKeyCache.ed25519PublicKey(publicKey.getAbyte().clone()), is(sameInstance(canonicalKey)));
+  }
+
+  @Test
+  public void testCanonicalEd25519KeyAdmitsNewKeysOnceFull() {
+    for (int i = 0; i <= PublicKeyCache.MAX_CACHED_KEYS; i++) {
+      PublicKeyCache.canonicalEd25519Key(
+          (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic()
+      );
+    }
+    final EdDSAPublicKey publicKey = (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic();
+
+    // A key first seen once the cache is full still replaces an older key, rather than never being cached.
+    final EdDSAPublicKey canonicalKey = PublicKeyCache.canonicalEd25519Key(publicKey);
+    assertThat(PublicKeyCache.canonicalEd25519Key(copyOf(publicKey)), is(sameInstance(canonicalKey)));
+  }
+
+  @Test
+  public void testCanonicalEd25519KeyKeepsRecentlyUsedKeys() {
+    final EdDSAPublicKey publicKey = (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic();
+    final EdDSAPublicKey canonicalKey = PublicKeyCache.canonicalEd25519Key(publicKey);
+
+    for (int i = 0; i < 2 * PublicKeyCache.MAX_CACHED_KEYS; i++) {
+      PublicKeyCache.canonicalEd25519Key(
+          (EdDSAPublicKey) TestKeyFactory.generateRandomEd25519KeyPair().getPublic()
+      );
+      // A key that keeps being used is never the least-recently-used, so it is never evicted.
+      assertThat(PublicKeyCache.canonicalEd25519Key(copyOf(publicKey)), is(sameInstance(canonicalKey)));
+      assertThat(PublicKeyCache.ed25519KeyCount() <= PublicKeyCache.MAX_CACHED_KEYS, is(true));
+    }
+  }
+
+  private static EdDSAPublicKey copyOf(final EdDSAPublicKey publicKey) {
+    return new EdDSAPublicKey(new EdDSAPublicKeySpec(publicKey.getAbyte().clone(), publicKey.getParams()));
+  }
+}
@@ -21,6 +21,7 @@ package com.ripple.cryptoconditions;
  */
 
 import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE2;
 import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructRsaSha256Fulfillment;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -98,6 +99,25 @@ public class RsaSha256FulfillmentTest extends AbstractCryptoConditionTest {
     assertTrue("Invalid condition", actual.verify(actual.getDerivedCondition(), MESSAGE.getBytes()));
   }
 
+  /**
+   * Verifies the same fulfillment repeatedly and from many threads, alternating between valid and invalid messages, to
+   * ensure that signatures reused between verifications never leak results from one verification into another.
+   */
+  @Test
+  public void testValidateRepeatedlyUsingMultipleThreads() throws Exception {
+    final RsaSha256Fulfillment fulfillment = constructRsaSha256Fulfillment(TestKeyFactory.generateRandomRsaKeyPair());
+
+    final Runnable runnableTest = () -> {
+      for (int i = 0; i < 10; i++) {
+        assertThat(fulfillment.verify(fulfillment.getDerivedCondition(), MESSAGE.getBytes()), is(true));
+        assertThat(fulfillment.verify(fulfillment.getDerivedCondition(), MESSAGE2.getBytes()), is(false));
+      }
+    };
+
+    this.runConcurrent(1, runnableTest);
+    this.runConcurrent(runnableTest);
+  }
+
   /**
    * Test to validate https://github.com/ripple/crypto-conditions/issues/19
    */
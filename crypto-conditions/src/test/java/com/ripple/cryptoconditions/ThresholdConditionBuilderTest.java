@@ -0,0 +1,158 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.ripple.cryptoconditions.helpers.TestConditionFactory;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link ThresholdConditionBuilder}.
+ */
+public class ThresholdConditionBuilderTest {
+
+  @Test
+  public void testBuildMatchesFrom() {
+    final List<Condition> subconditions = new ArrayList<>();
+    subconditions.add(TestConditionFactory.constructPreimageCondition("Preimage 1"));
+    subconditions.add(TestConditionFactory.constructPrefixSha256Condition("Prefix"));
+    subconditions.add(TestConditionFactory.constructThresholdCondition("Threshold"));
+    subconditions.add(TestConditionFactory.constructPreimageCondition("Preimage 1"));
+
+    final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(2);
+    subconditions.forEach(builder::add);
+
+    assertThat(builder.size(), is(4));
+    assertThat(builder.build(), is(ThresholdSha256Condition.from(2, subconditions)));
+  }
+
+  /**
+   * Applies a long random sequence of additions, removals and threshold changes, and asserts that after each one the
+   * builder builds the same condition as {@link ThresholdSha256Condition#from(int, List)}.
+   */
+  @Test
+  public void testIncrementalChangesMatchFrom() {
+    final Random random = new Random(19);
+    final List<Condition> candidates = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      // Give the candidates a few distinct costs, with duplicates, so that ties are exercised.
+      final byte[] fingerprint = new byte[32];
+      random.nextBytes(fingerprint);
+      candidates.add(PreimageSha256Condition.fromCostAndFingerprint(random.nextInt(4) * (1L << 40), fingerprint));
+    }
+
+    final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(0);
+    final List<Condition> subconditions = new ArrayList<>();
+    for (int step = 0; step < 1000; step++) {
+      final Condition candidate = candidates.get(random.nextInt(candidates.size()));
+      switch (random.nextInt(3)) {
+        case 0:
+          builder.add(candidate);
+          subconditions.add(candidate);
+          break;
+        case 1:
+          assertThat(builder.remove(candidate), is(subconditions.remove(candidate)));
+          break;
+        default:
+          builder.setThreshold(random.nextInt(subconditions.size() + 1));
+          break;
+      }
+
+      if (builder.getThreshold() <= subconditions.size()) {
+        assertThat(builder.build(), is(ThresholdSha256Condition.from(builder.getThreshold(), subconditions)));
+      } else {
+        builder.setThreshold(subconditions.size());
+      }
+    }
+  }
+
+  /**
+   * Applies a random sequence of weighted additions, removals and threshold changes, and asserts that after each one
+   * the builder builds the same condition as {@link ThresholdSha256Condition#from(int, List)} given each subcondition
+   * repeated as many times as its weight.
+   */
+  @Test
+  public void testWeightedChangesMatchFrom() {
+    final Random random = new Random(20);
+    final List<Condition> candidates = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final byte[] fingerprint = new byte[32];
+      random.nextBytes(fingerprint);
+      candidates.add(PreimageSha256Condition.fromCostAndFingerprint(random.nextInt(3) * 1000L, fingerprint));
+    }
+
+    final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(0);
+    final List<Condition> subconditions = new ArrayList<>();
+    for (int step = 0; step < 300; step++) {
+      final Condition candidate = candidates.get(random.nextInt(candidates.size()));
+      final int weight = random.nextInt(20);
+      switch (random.nextInt(3)) {
+        case 0:
+          builder.add(candidate, weight);
+          subconditions.addAll(Collections.nCopies(weight, candidate));
+          break;
+        case 1:
+          int removed = 0;
+          while (removed < weight && subconditions.remove(candidate)) {
+            removed++;
+          }
+          assertThat(builder.remove(candidate, weight), is(removed));
+          break;
+        default:
+          builder.setThreshold(random.nextInt(subconditions.size() + 1));
+          break;
+      }
+
+      if (builder.getThreshold() > subconditions.size()) {
+        builder.setThreshold(subconditions.size());
+      }
+      assertThat(builder.build(), is(ThresholdSha256Condition.from(builder.getThreshold(), subconditions)));
+    }
+  }
+
+  @Test
+  public void testRemoveAbsentSubcondition() {
+    final ThresholdConditionBuilder builder = new ThresholdConditionBuilder(0)
+        .add(TestConditionFactory.constructPreimageCondition("Present"));
+
+    assertThat(builder.remove(TestConditionFactory.constructPreimageCondition("Absent")), is(false));
+    assertThat(builder.size(), is(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBuildWithThresholdExceedingSubconditions() {
+    new ThresholdConditionBuilder(2)
+        .add(TestConditionFactory.constructPreimageCondition("Only"))
+        .build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeThreshold() {
+    new ThresholdConditionBuilder(-1);
+  }
+}
@@ -27,7 +27,11 @@ import com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Unit tests for {@link ThresholdFactory}.
@@ -669,4 +673,51 @@ public class ThresholdFactoryTest extends AbstractFactoryTest {
 
   }
 
+  /**
+   * Asserts that weighted conditions and fulfillments are identical to those constructed by repeating each
+   * sub-condition and sub-fulfillment as many times as its weight.
+   */
+  @Test
+  public void testWeightedConditionsAndFulfillments() throws Exception {
+    final Map<Condition, Integer> weightedSubconditions = new LinkedHashMap<>();
+    weightedSubconditions.put(subcondition1, 50);
+    weightedSubconditions.put(subcondition2, 30);
+    weightedSubconditions.put(subcondition3, 20);
+
+    final List<Condition> repeatedSubconditions = new ArrayList<>();
+    repeatedSubconditions.addAll(Collections.nCopies(50, subcondition1));
+    repeatedSubconditions.addAll(Collections.nCopies(30, subcondition2));
+    repeatedSubconditions.addAll(Collections.nCopies(20, subcondition3));
+
+    final ThresholdSha256Condition condition = ThresholdFactory.constructWeightedCondition(51, weightedSubconditions);
+    assertThat(condition, is(ThresholdFactory.constructMOfNCondition(51, 100, repeatedSubconditions)));
+
+    // Party1 and Party2 together carry enough weight...
+    final Map<Condition, Integer> unfulfilledSubconditions = Collections.singletonMap(subcondition3, 20);
+    final Map<Fulfillment, Integer> weightedSubfulfillments = new LinkedHashMap<>();
+    weightedSubfulfillments.put(subfulfillment1, 50);
+    weightedSubfulfillments.put(subfulfillment2, 30);
+    ThresholdSha256Fulfillment fulfillment = ThresholdFactory
+        .constructWeightedFulfillment(unfulfilledSubconditions, weightedSubfulfillments);
+    assertThat(fulfillment.getSubfulfillments().size(), is(80));
+    assertThat(fulfillment.verify(
+        ThresholdFactory.constructWeightedCondition(80, weightedSubconditions), new byte[0]), is(true));
+    // A decoded fulfillment holds a separate instance for each repetition, so its condition is derived by sorting them.
+    final Fulfillment<?> decodedFulfillment = CryptoConditionReader
+        .readFulfillment(CryptoConditionWriter.writeFulfillment(fulfillment));
+    assertThat(decodedFulfillment, is(fulfillment));
+    assertThat(decodedFulfillment.getDerivedCondition(), is(fulfillment.getDerivedCondition()));
+
+    // ...but Party2 and Party3 do not.
+    fulfillment = ThresholdFactory.constructWeightedFulfillment(
+        Collections.singletonMap(subcondition1, 50), Collections.singletonMap(subfulfillment2, 30)
+    );
+    assertThat(fulfillment.verify(condition, new byte[0]), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWeightedConditionWithNegativeWeight() {
+    ThresholdFactory.constructWeightedCondition(0, Collections.singletonMap(subcondition1, -1));
+  }
+
 }
@@ -34,9 +34,15 @@ import com.google.common.io.BaseEncoding;
 import com.ripple.cryptoconditions.ThresholdSha256Condition.AbstractThresholdSha256Condition;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 import com.ripple.cryptoconditions.helpers.TestConditionFactory;
+import com.ripple.cryptoconditions.utils.HashUtils;
 import org.hamcrest.CoreMatchers;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * Unit tests for {@link ThresholdSha256Condition}.
  */
@@ -148,6 +154,48 @@ public class ThresholdSha256ConditionTest extends AbstractCryptoConditionTest {
     assertThat(condition.getType(), is(CryptoConditionType.THRESHOLD_SHA256));
   }
 
+  /**
+   * Constructs Threshold Conditions from the same subconditions in different orders, and asserts that subconditions are
+   * sorted into the same canonical order.
+   */
+  @Test
+  public void testSubconditionOrderDoesNotAffectFingerprint() {
+    final PreimageSha256Condition subcondition1 = TestConditionFactory
+        .constructPreimageCondition(PREIMAGE1);
+    final PreimageSha256Condition subcondition2 = TestConditionFactory
+        .constructPreimageCondition(PREIMAGE2);
+    final ThresholdSha256Condition subcondition3 = TestConditionFactory
+        .constructThresholdCondition(MESSAGE);
+
+    final ThresholdSha256Condition condition1 = ThresholdSha256Condition.from(
+        2, Lists.newArrayList(subcondition1, subcondition2, subcondition3)
+    );
+    final ThresholdSha256Condition condition2 = ThresholdSha256Condition.from(
+        2, Lists.newArrayList(subcondition3, subcondition2, subcondition1)
+    );
+
+    assertThat(condition1, is(condition2));
+    assertThat(condition1.compareTo(condition2), is(0));
+    assertThat(subcondition1.compareTo(subcondition2), is(-subcondition2.compareTo(subcondition1)));
+  }
+
+  /**
+   * Asserts that callers of {@link CryptoConditionWriter#writeCondition(Condition)} cannot modify the encoding that a
+   * condition caches for comparisons.
+   */
+  @Test
+  public void testWriteConditionReturnsCopyOfCachedEncoding() throws DerEncodingException {
+    final ThresholdSha256Condition condition = TestConditionFactory.constructThresholdCondition(MESSAGE);
+    final byte[] encoded = CryptoConditionWriter.writeCondition(condition);
+    final Condition readCondition = CryptoConditionReader.readCondition(encoded);
+
+    encoded[encoded.length - 1] = 0;
+
+    assertThat(BaseEncoding.base64().encode(CryptoConditionWriter.writeCondition(condition)),
+        is("oiqAIFvpBRUEXf3bc+tHStyatMK/gxA1hyxYfA9U0Bwk4u+SgQIECYICB4A="));
+    assertThat(condition.compareTo(readCondition), is(0));
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testIncorrectThreshold() {
     final PreimageSha256Condition subcondition = TestConditionFactory
@@ -162,6 +210,72 @@ public class ThresholdSha256ConditionTest extends AbstractCryptoConditionTest {
     }
   }
 
+  /**
+   * Asserts that hashing the fingerprint contents as they are written gives the same fingerprint as hashing the
+   * constructed contents, for enough subconditions that the contents need a multi-byte length.
+   */
+  @Test
+  public void testConstructFingerprintOfManySubconditions() {
+    final List<Condition> subconditions = IntStream.range(0, 1000)
+        .mapToObj(i -> TestConditionFactory.constructPreimageCondition("Preimage " + i))
+        .collect(Collectors.toList());
+
+    final byte[] fingerprint = AbstractThresholdSha256Condition.constructFingerprint(500, subconditions);
+
+    assertThat(fingerprint, is(HashUtils.hashFingerprintContents(
+        AbstractThresholdSha256Condition.constructFingerprintContents(500, subconditions)
+    )));
+    assertThat(ThresholdSha256Condition.from(500, subconditions).getFingerprint(), is(fingerprint));
+  }
+
+  /**
+   * Asserts that the cost of a threshold counts its most expensive subconditions, even when their costs differ by more
+   * than can be held in an int.
+   */
+  @Test
+  public void testCostOfSubconditionsWithWidelyDifferingCosts() {
+    final long expensiveCost = (1L << 32) + 1;
+    final List<Condition> subconditions = Lists.newArrayList(
+        PreimageSha256Condition.fromCostAndFingerprint(1, new byte[32]),
+        PreimageSha256Condition.fromCostAndFingerprint(expensiveCost, new byte[32]),
+        PreimageSha256Condition.fromCostAndFingerprint(2, new byte[32])
+    );
+
+    assertThat(ThresholdSha256Condition.from(1, subconditions).getCost(), is(expensiveCost + 3 * 1024));
+    assertThat(ThresholdSha256Condition.from(2, subconditions).getCost(), is(expensiveCost + 2 + 3 * 1024));
+    assertThat(ThresholdSha256Condition.from(3, subconditions).getCost(), is(expensiveCost + 3 + 3 * 1024));
+  }
+
+  /**
+   * Constructs a threshold with enough subconditions to be sorted in parallel, and asserts that neither its cost nor
+   * its fingerprint depend on the order of its subconditions.
+   */
+  @Test
+  public void testLargeThresholdCondition() {
+    final List<Condition> subconditions = IntStream.range(0, 20000)
+        .mapToObj(i -> i % 2 == 0
+            ? TestConditionFactory.constructPreimageCondition("Preimage " + i)
+            : PreimageSha256Condition.fromCostAndFingerprint(i, HashUtils.hashFingerprintContents(toBytes(i))))
+        .collect(Collectors.toList());
+    final List<Condition> sortedSubconditions = subconditions.stream().sorted().collect(Collectors.toList());
+    final long largestCosts = subconditions.stream()
+        .mapToLong(Condition::getCost)
+        .boxed()
+        .sorted(Collections.reverseOrder())
+        .limit(7000)
+        .mapToLong(Long::longValue)
+        .sum();
+
+    final ThresholdSha256Condition condition = ThresholdSha256Condition.from(7000, subconditions);
+
+    assertThat(condition.getCost(), is(largestCosts + 20000 * 1024L));
+    assertThat(condition, is(ThresholdSha256Condition.from(7000, sortedSubconditions)));
+  }
+
+  private static byte[] toBytes(final int value) {
+    return new byte[] {(byte) (value >> 24), (byte) (value >> 16), (byte) (value >> 8), (byte) value};
+  }
+
   @Test
   public void equalsHashcodeTest() {
     final ThresholdSha256Condition thresholdSha256Condition1 = TestConditionFactory
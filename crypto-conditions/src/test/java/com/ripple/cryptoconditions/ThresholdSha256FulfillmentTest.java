@@ -25,6 +25,7 @@ import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE
 import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static org.junit.Assert.assertFalse;
 
 import com.google.common.collect.Lists;
@@ -116,6 +117,20 @@ public class ThresholdSha256FulfillmentTest extends AbstractFactoryTest {
     assertThat(fulfillment1.hashCode() == fulfillment3.hashCode(), CoreMatchers.is(false));
   }
 
+  @Test
+  public void testDerivedConditionIsMemoized() throws Exception {
+    final ThresholdSha256Fulfillment fulfillment = (ThresholdSha256Fulfillment) CryptoConditionReader.readFulfillment(
+        CryptoConditionWriter.writeFulfillment(TestFulfillmentFactory.constructThresholdFulfillment())
+    );
+
+    final ThresholdSha256Condition condition = fulfillment.getDerivedCondition();
+    assertThat(condition, is(TestFulfillmentFactory.constructThresholdFulfillment().getDerivedCondition()));
+    assertThat(fulfillment.getDerivedCondition(), is(sameInstance(condition)));
+    for (final Fulfillment subfulfillment : fulfillment.getSubfulfillments()) {
+      assertThat(subfulfillment.getDerivedCondition(), is(sameInstance(subfulfillment.getDerivedCondition())));
+    }
+  }
+
   @Test
   public void toStringTest() {
     final ThresholdSha256Fulfillment thresholdSha256Fulfillment = TestFulfillmentFactory
@@ -0,0 +1,91 @@
+package com.ripple.cryptoconditions;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.MESSAGE;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREFIX1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.PREIMAGE1;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructEd25519Sha256Fulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPrefixSha256Fulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructPreimageFulfillment;
+import static com.ripple.cryptoconditions.helpers.TestFulfillmentFactory.constructThresholdFulfillment;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.ripple.cryptoconditions.Ed25519Sha256Condition.AbstractEd25519Sha256Condition;
+import com.ripple.cryptoconditions.helpers.TestKeyFactory;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link VerificationBudget} and {@link Fulfillment#verify(Condition, byte[], long)}.
+ */
+public class VerificationBudgetTest {
+
+  @Test
+  public void testVerifyWithinMaxCost() {
+    final Ed25519Sha256Fulfillment fulfillment = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.generateRandomEd25519KeyPair()
+    );
+    final Condition condition = fulfillment.getDerivedCondition();
+
+    assertThat(fulfillment.verify(condition, MESSAGE.getBytes(), AbstractEd25519Sha256Condition.COST), is(true));
+    assertThat(fulfillment.verify(condition, MESSAGE.getBytes(), Long.MAX_VALUE), is(true));
+  }
+
+  @Test
+  public void testVerifyExceedingMaxCost() {
+    final Ed25519Sha256Fulfillment fulfillment = constructEd25519Sha256Fulfillment(
+        TestKeyFactory.generateRandomEd25519KeyPair()
+    );
+    final Condition condition = fulfillment.getDerivedCondition();
+
+    assertThat(fulfillment.verify(condition, MESSAGE.getBytes(), AbstractEd25519Sha256Condition.COST - 1), is(false));
+    assertThat(fulfillment.verify(condition, MESSAGE.getBytes(), 0), is(false));
+  }
+
+  @Test
+  public void testVerifyThresholdWithinMaxCost() {
+    final ThresholdSha256Fulfillment fulfillment = constructThresholdFulfillment();
+    final Condition condition = fulfillment.getDerivedCondition();
+
+    assertThat(fulfillment.verify(condition, new byte[0], condition.getCost()), is(true));
+    assertThat(fulfillment.verify(condition, new byte[0], condition.getCost() - 1), is(false));
+  }
+
+  @Test
+  public void testIsAffordableMetersEverySubfulfillment() {
+    final ThresholdSha256Fulfillment fulfillment = constructThresholdFulfillment();
+    // The condition claims less than the fulfillment's work, so only metering can reject it.
+    final Condition cheapCondition = constructPreimageFulfillment("").getDerivedCondition();
+    final long meteredCost = constructPreimageFulfillment(PREIMAGE1).getDerivedCondition().getCost()
+        + constructPrefixSha256Fulfillment(PREFIX1).getDerivedCondition().getCost()
+        + 3 * 1024;
+
+    assertThat(VerificationBudget.isAffordable(fulfillment, cheapCondition, meteredCost), is(true));
+    assertThat(VerificationBudget.isAffordable(fulfillment, cheapCondition, meteredCost - 1), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNegativeMaxCost() {
+    final PreimageSha256Fulfillment fulfillment = constructPreimageFulfillment(PREIMAGE1);
+    fulfillment.verify(fulfillment.getDerivedCondition(), new byte[0], -1);
+  }
+}
@@ -0,0 +1,124 @@
+package com.ripple.cryptoconditions.utils;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto Conditions
+ * %%
+ * Copyright (C) 2016 - 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.google.common.io.BaseEncoding;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link HashUtils}.
+ */
+public class HashUtilsTest {
+
+  private static final byte[] CONTENTS = "when this baby hits 88 miles per hour".getBytes(StandardCharsets.UTF_8);
+  private static final String ENCODED_FINGERPRINT = "iL1xV1F0IvtokoaU1n2eVOvcwhy4me4vroUKg8vFnOE=";
+
+  @Test
+  public void testHashFingerprintContents() {
+    assertThat(BaseEncoding.base64().encode(HashUtils.hashFingerprintContents(CONTENTS)), is(ENCODED_FINGERPRINT));
+  }
+
+  @Test
+  public void testHashFingerprintContentsAsWritten() {
+    final byte[] fingerprint = HashUtils.hashFingerprintContents(out -> {
+      // Headers are buffered, so interleave them with values to ensure they are hashed in order.
+      out.writeTag(0x30);
+      out.writeLength(200);
+      out.writeBytes(Arrays.copyOf(CONTENTS, 10));
+      out.writeTaggedInteger(0, 300L);
+      out.writeBytes(Arrays.copyOfRange(CONTENTS, 10, CONTENTS.length));
+    });
+
+    final DerArrayWriter expected = new DerArrayWriter(3 + CONTENTS.length + 4);
+    expected.writeTag(0x30);
+    expected.writeLength(200);
+    expected.writeBytes(Arrays.copyOf(CONTENTS, 10));
+    expected.writeTaggedInteger(0, 300L);
+    expected.writeBytes(Arrays.copyOfRange(CONTENTS, 10, CONTENTS.length));
+    assertThat(fingerprint, is(HashUtils.hashFingerprintContents(expected.toByteArray())));
+  }
+
+  @Test
+  public void testHashFingerprintContentsRange() {
+    final byte[] padded = new byte[CONTENTS.length + 10];
+    System.arraycopy(CONTENTS, 0, padded, 5, CONTENTS.length);
+    final byte[] fingerprint = new byte[HashUtils.SHA_256_LENGTH];
+
+    HashUtils.hashFingerprintContents(padded, 5, CONTENTS.length, fingerprint);
+    assertThat(BaseEncoding.base64().encode(fingerprint), is(ENCODED_FINGERPRINT));
+  }
+
+  @Test
+  public void testHashFingerprintContentsDirectBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(CONTENTS.length);
+    buffer.put(CONTENTS).flip();
+    final byte[] fingerprint = new byte[HashUtils.SHA_256_LENGTH];
+
+    HashUtils.hashFingerprintContents(buffer, fingerprint);
+    assertThat(BaseEncoding.base64().encode(fingerprint), is(ENCODED_FINGERPRINT));
+    assertThat(buffer.hasRemaining(), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testHashFingerprintContentsIntoShortOutput() {
+    HashUtils.hashFingerprintContents(CONTENTS, 0, CONTENTS.length, new byte[HashUtils.SHA_256_LENGTH - 1]);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testHashFingerprintContentsOutOfRange() {
+    HashUtils.hashFingerprintContents(CONTENTS, 1, CONTENTS.length, new byte[HashUtils.SHA_256_LENGTH]);
+  }
+
+  /**
+   * Hashes from many threads at once to ensure that digests are not shared between threads.
+   */
+  @Test
+  public void testHashFingerprintContentsConcurrently() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      final List<Callable<String>> tasks = IntStream.range(0, 1000)
+          .mapToObj(i -> (Callable<String>) () -> BaseEncoding.base64()
+              .encode(HashUtils.hashFingerprintContents(CONTENTS)))
+          .collect(Collectors.toList());
+      for (Future<String> result : executor.invokeAll(tasks)) {
+        assertThat(result.get(), is(ENCODED_FINGERPRINT));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+}
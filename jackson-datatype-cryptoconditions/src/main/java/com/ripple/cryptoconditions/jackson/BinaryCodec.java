@@ -0,0 +1,181 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * <p>Writes and reads the DER encoding of a condition or fulfillment as a JSON string, in a given {@link Encoding},
+ * without materializing the encoded text as an intermediate {@link String}.</p>
+ *
+ * <p>The Base64 encodings are written with {@link JsonGenerator#writeBinary(Base64Variant, byte[], int, int)} and read
+ * with {@link JsonParser#getBinaryValue(Base64Variant)}, so Jackson encodes directly into its output buffer and decodes
+ * directly from its input buffer. Like {@link java.util.Base64.Decoder}, every Base64 variant accepts its input with or
+ * without padding. Hex is written from, and read into, a single buffer of the exact size required, and is read in
+ * either case.</p>
+ *
+ * <p>{@link Encoding#BINARY} hands the DER bytes to the backend as a native binary value, which binary formats such as
+ * CBOR or Smile store as-is. Textual formats, such as JSON, fall back to the {@link Base64Variant} configured on the
+ * mapper.</p>
+ */
+final class BinaryCodec {
+
+  private static final String BASE64_ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+
+  private static final String BASE64URL_ALPHABET =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+  private static final Base64Variant BASE64_VARIANT = new Base64Variant(
+      "CRYPTO-CONDITIONS-BASE64", BASE64_ALPHABET, true, '=', Integer.MAX_VALUE
+  ).withPaddingAllowed();
+
+  private static final Base64Variant BASE64_WITHOUT_PADDING_VARIANT = BASE64_VARIANT.withWritePadding(false);
+
+  private static final Base64Variant BASE64URL_VARIANT = new Base64Variant(
+      "CRYPTO-CONDITIONS-BASE64URL", BASE64URL_ALPHABET, true, '=', Integer.MAX_VALUE
+  ).withPaddingAllowed();
+
+  private static final Base64Variant BASE64URL_WITHOUT_PADDING_VARIANT = BASE64URL_VARIANT.withWritePadding(false);
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private BinaryCodec() {
+  }
+
+  /**
+   * Writes {@code bytes} to {@code gen} as a single value, using {@code encoding}.
+   *
+   * @param gen      The {@link JsonGenerator} to write to.
+   * @param provider The {@link SerializerProvider} whose {@link Base64Variant} is used by {@link Encoding#BINARY}.
+   * @param encoding The {@link Encoding} to write {@code bytes} in.
+   * @param bytes    The bytes to write.
+   *
+   * @throws IOException If {@code gen} cannot be written to.
+   */
+  static void write(
+      final JsonGenerator gen, final SerializerProvider provider, final Encoding encoding, final byte[] bytes
+  ) throws IOException {
+    Objects.requireNonNull(encoding);
+    if (encoding == Encoding.BINARY) {
+      gen.writeBinary(provider.getConfig().getBase64Variant(), bytes, 0, bytes.length);
+    } else if (encoding == Encoding.HEX) {
+      final char[] chars = new char[bytes.length * 2];
+      for (int i = 0; i < bytes.length; i++) {
+        chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0F];
+        chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0F];
+      }
+      gen.writeString(chars, 0, chars.length);
+    } else {
+      gen.writeBinary(base64Variant(encoding), bytes, 0, bytes.length);
+    }
+  }
+
+  /**
+   * Reads the current value of {@code parser} as bytes, using {@code encoding}.
+   *
+   * @param parser      The {@link JsonParser} to read from, positioned at the value to read.
+   * @param ctxt        The {@link DeserializationContext} used to report a malformed value, and whose
+   *                    {@link Base64Variant} is used by {@link Encoding#BINARY}.
+   * @param encoding    The {@link Encoding} that the value is in.
+   * @param targetClass The type being deserialized, for reporting a malformed value.
+   *
+   * @return The decoded bytes.
+   *
+   * @throws IOException If the value cannot be read, or is not validly encoded in {@code encoding}.
+   */
+  static byte[] read(
+      final JsonParser parser, final DeserializationContext ctxt, final Encoding encoding, final Class<?> targetClass
+  ) throws IOException {
+    Objects.requireNonNull(encoding);
+    if (encoding == Encoding.BINARY) {
+      return parser.getBinaryValue(ctxt.getBase64Variant());
+    }
+    if (encoding != Encoding.HEX) {
+      return parser.getBinaryValue(base64Variant(encoding));
+    }
+
+    final char[] chars = parser.getTextCharacters();
+    final int offset = parser.getTextOffset();
+    final int length = parser.getTextLength();
+    if (length % 2 != 0) {
+      throw ctxt.weirdStringException(parser.getText(), targetClass, "Hex value has an odd number of digits");
+    }
+
+    final byte[] bytes = new byte[length / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      final int high = hexValue(chars[offset + 2 * i]);
+      final int low = hexValue(chars[offset + 2 * i + 1]);
+      if (high < 0 || low < 0) {
+        throw ctxt.weirdStringException(parser.getText(), targetClass, "Hex value contains a non-hex digit");
+      }
+      bytes[i] = (byte) ((high << 4) | low);
+    }
+    return bytes;
+  }
+
+  private static int hexValue(final char digit) {
+    if (digit >= '0' && digit <= '9') {
+      return digit - '0';
+    }
+    if (digit >= 'A' && digit <= 'F') {
+      return digit - 'A' + 10;
+    }
+    if (digit >= 'a' && digit <= 'f') {
+      return digit - 'a' + 10;
+    }
+    return -1;
+  }
+
+  /**
+   * Accessor for the {@link Base64Variant} of a Base64 {@link Encoding}, which reads its input with or without padding.
+   *
+   * @param encoding One of the Base64 {@link Encoding}s.
+   *
+   * @return The {@link Base64Variant} for {@code encoding}.
+   */
+  static Base64Variant base64Variant(final Encoding encoding) {
+    switch (encoding) {
+      case BASE64: {
+        return BASE64_VARIANT;
+      }
+      case BASE64_WITHOUT_PADDING: {
+        return BASE64_WITHOUT_PADDING_VARIANT;
+      }
+      case BASE64URL: {
+        return BASE64URL_VARIANT;
+      }
+      case BASE64URL_WITHOUT_PADDING: {
+        return BASE64URL_WITHOUT_PADDING_VARIANT;
+      }
+      default: {
+        throw new RuntimeException("Unhandled Encoding!");
+      }
+    }
+  }
+}
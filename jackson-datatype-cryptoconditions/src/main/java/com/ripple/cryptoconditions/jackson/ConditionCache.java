@@ -0,0 +1,216 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A bounded cache of decoded conditions, keyed by their DER encoding, which {@link CryptoConditionsModule} can use
+ * so that a condition that appears again and again in the JSON it reads is only decoded once.</p>
+ *
+ * <p>Conditions are immutable, so a cached instance may be returned to any number of readers. Conditions are keyed by
+ * their encoding rather than by the text they were read from, so a cache works the same with every {@link Encoding},
+ * and a condition written with and without padding, or in upper and lower case hex, is only cached once. Encodings
+ * that fail to decode are never cached.</p>
+ *
+ * <p>Once the cache holds its maximum number of conditions, the least-recently-used condition is evicted. The cache is
+ * split into independently locked segments, each evicting on its own, so that many threads can read it concurrently;
+ * as a consequence, eviction is only approximately least-recently-used across the whole cache. Two threads that miss
+ * on the same encoding at the same time both decode it. Instances are thread-safe, and may be shared by several
+ * modules.</p>
+ */
+public class ConditionCache {
+
+  private static final int MAX_SEGMENTS = 16;
+
+  private final Segment[] segments;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param maximumSize The maximum number of conditions to cache.
+   */
+  public ConditionCache(final int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive.");
+    }
+
+    // A power of two, so that a segment can be selected by masking, and no more than the maximum size.
+    final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maximumSize));
+    this.segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      // Spread the maximum size across the segments, so that the segments hold exactly that many conditions in total.
+      segments[i] = new Segment(maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0));
+    }
+  }
+
+  /**
+   * Returns the condition with the given DER encoding, decoding and caching it if it is not already cached.
+   *
+   * @param encoded The DER encoding of a condition. Must not be modified once passed to this method.
+   *
+   * @return The {@link Condition} that {@code encoded} encodes.
+   *
+   * @throws DerEncodingException if {@code encoded} is not a valid condition.
+   */
+  public Condition readCondition(final byte[] encoded) throws DerEncodingException {
+    Objects.requireNonNull(encoded, "Encoded condition must not be null!");
+
+    final CacheKey key = new CacheKey(encoded);
+    final Segment segment = segmentFor(key);
+
+    final Condition cachedCondition;
+    synchronized (segment) {
+      cachedCondition = segment.get(key);
+    }
+    if (cachedCondition != null) {
+      hitCount.increment();
+      return cachedCondition;
+    }
+
+    missCount.increment();
+    final Condition condition = CryptoConditionReader.readCondition(encoded);
+    synchronized (segment) {
+      segment.put(key, condition);
+    }
+    return condition;
+  }
+
+  /**
+   * Accessor for the number of conditions that were returned from the cache.
+   *
+   * @return The number of cache hits.
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * Accessor for the number of conditions that had to be decoded, including any that failed to decode.
+   *
+   * @return The number of cache misses.
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  /**
+   * Accessor for the fraction of conditions that were returned from the cache.
+   *
+   * @return The number of cache hits divided by the number of conditions read, or {@code 1.0} if none have been read.
+   */
+  public double getHitRate() {
+    final long hits = hitCount.sum();
+    final long requests = hits + missCount.sum();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+  /**
+   * Accessor for the number of conditions currently cached.
+   *
+   * @return The number of cached conditions.
+   */
+  public long size() {
+    long size = 0;
+    for (final Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Removes every cached condition. The hit and miss counts are not reset.
+   */
+  public void invalidateAll() {
+    for (final Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  private Segment segmentFor(final CacheKey key) {
+    final int hash = key.hashCode;
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  /**
+   * An encoded condition, compared by content.
+   */
+  private static final class CacheKey {
+
+    private final byte[] encoded;
+    private final int hashCode;
+
+    CacheKey(final byte[] encoded) {
+      this.encoded = encoded;
+      this.hashCode = Arrays.hashCode(encoded);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof CacheKey)) {
+        return false;
+      }
+      final CacheKey that = (CacheKey) obj;
+      return hashCode == that.hashCode && Arrays.equals(encoded, that.encoded);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * A bounded, access-ordered map that evicts its least-recently-used condition. Must be accessed while holding its
+   * lock.
+   */
+  private static final class Segment extends LinkedHashMap<CacheKey, Condition> {
+
+    private final int maximumSize;
+
+    Segment(final int maximumSize) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<CacheKey, Condition> eldest) {
+      return size() > maximumSize;
+    }
+  }
+}
@@ -23,14 +23,11 @@ package com.ripple.cryptoconditions.jackson;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
-import com.google.common.io.BaseEncoding;
 import com.ripple.cryptoconditions.Condition;
 import com.ripple.cryptoconditions.CryptoConditionReader;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 
 import java.io.IOException;
-import java.util.Base64;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -40,6 +37,9 @@ public class ConditionDeserializer extends StdScalarDeserializer<Condition> {
 
   private final Encoding encoding;
 
+  // Null if conditions are decoded every time they are read.
+  private final ConditionCache conditionCache;
+
   /**
    * Required-args Constructor.
    *
@@ -48,32 +48,30 @@ public class ConditionDeserializer extends StdScalarDeserializer<Condition> {
   public ConditionDeserializer(final Encoding encoding) {
     super(String.class);
     this.encoding = Objects.requireNonNull(encoding, "Encoding must not be null!");
+    this.conditionCache = null;
+  }
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param encoding       The {@link Encoding} to use for serialization and deserialization of conditions and
+   *                       fulfillments.
+   * @param conditionCache The {@link ConditionCache} to read conditions through.
+   */
+  public ConditionDeserializer(final Encoding encoding, final ConditionCache conditionCache) {
+    super(String.class);
+    this.encoding = Objects.requireNonNull(encoding, "Encoding must not be null!");
+    this.conditionCache = Objects.requireNonNull(conditionCache, "ConditionCache must not be null!");
   }
 
   @Override
   public Condition deserialize(JsonParser jsonParser, DeserializationContext ctxt)
       throws IOException {
     try {
-      switch (encoding) {
-        case HEX: {
-          return CryptoConditionReader.readCondition(
-              BaseEncoding.base16().decode(jsonParser.getText().toUpperCase(Locale.US))
-          );
-        }
-        case BASE64:
-        case BASE64_WITHOUT_PADDING: {
-          return CryptoConditionReader
-              .readCondition(Base64.getDecoder().decode(jsonParser.getText()));
-        }
-        case BASE64URL:
-        case BASE64URL_WITHOUT_PADDING: {
-          return CryptoConditionReader
-              .readCondition(Base64.getUrlDecoder().decode(jsonParser.getText()));
-        }
-        default: {
-          throw new RuntimeException("Unhandled Condition Encoding!");
-        }
-      }
+      final byte[] encoded = BinaryCodec.read(jsonParser, ctxt, encoding, Condition.class);
+      return conditionCache == null
+          ? CryptoConditionReader.readCondition(encoded)
+          : conditionCache.readCondition(encoded);
     } catch (DerEncodingException e) {
       throw new RuntimeException(e);
     }
@@ -23,13 +23,11 @@ package com.ripple.cryptoconditions.jackson;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
-import com.google.common.io.BaseEncoding;
 import com.ripple.cryptoconditions.Condition;
 import com.ripple.cryptoconditions.CryptoConditionWriter;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 
 import java.io.IOException;
-import java.util.Base64;
 import java.util.Objects;
 
 
@@ -62,40 +60,11 @@ public class ConditionSerializer extends StdScalarSerializer<Condition> {
       throws IOException {
 
     try {
-      switch (encoding) {
-        case HEX: {
-          gen.writeString(
-              BaseEncoding.base16().encode(CryptoConditionWriter.writeCondition(condition))
-          );
-          break;
-        }
-        case BASE64: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getEncoder(), condition)
-          );
-          break;
-        }
-        case BASE64_WITHOUT_PADDING: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getEncoder().withoutPadding(), condition)
-          );
-          break;
-        }
-        case BASE64URL: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getUrlEncoder(), condition)
-          );
-          break;
-        }
-        case BASE64URL_WITHOUT_PADDING: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getUrlEncoder().withoutPadding(), condition)
-          );
-          break;
-        }
-        default: {
-          throw new RuntimeException("Unhandled Encoding!");
-        }
+      if (condition instanceof LazyCondition) {
+        // Echo the bytes that were read, without decoding and re-encoding them.
+        BinaryCodec.write(gen, provider, encoding, ((LazyCondition) condition).getEncoded());
+      } else {
+        BinaryCodec.write(gen, provider, encoding, CryptoConditionWriter.writeCondition(condition));
       }
     } catch (DerEncodingException e) {
       throw new RuntimeException(e);
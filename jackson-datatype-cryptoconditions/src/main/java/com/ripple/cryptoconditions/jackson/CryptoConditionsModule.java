@@ -46,6 +46,9 @@ public class CryptoConditionsModule extends SimpleModule {
 
   private final Encoding encoding;
 
+  // Null if conditions are decoded every time they are read.
+  private final ConditionCache conditionCache;
+
   /**
    * Default Constructor. Specifies an encoding of {@link Encoding#BASE64} by default, since this is the most compatible
    * with various language libraries (e.g., openssl requires padding to work properly).
@@ -60,17 +63,34 @@ public class CryptoConditionsModule extends SimpleModule {
    * @param encoding The {@link Encoding} to use for serialization and deserialization of conditions and fulfillments.
    */
   public CryptoConditionsModule(final Encoding encoding) {
+    this(encoding, null);
+  }
+
+  /**
+   * Required-args Constructor, for a module that reads conditions through a cache. Since conditions are immutable, a
+   * condition that is read again while still cached is returned without being decoded again. Keep a reference to
+   * {@code conditionCache} to monitor its hit rate.
+   *
+   * @param encoding       The {@link Encoding} to use for serialization and deserialization of conditions and
+   *                       fulfillments.
+   * @param conditionCache The {@link ConditionCache} to read conditions through, or {@code null} to decode every
+   *                       condition.
+   */
+  public CryptoConditionsModule(final Encoding encoding, final ConditionCache conditionCache) {
     super(
         NAME,
         new Version(1, 0, 0, null, "org.interledger", "jackson-datatype-cryptoconditions")
     );
 
     this.encoding = Objects.requireNonNull(encoding, "Encoding must not be null!");
+    this.conditionCache = conditionCache;
 
     addSerializer(Condition.class, new ConditionSerializer(encoding));
-    addDeserializer(Condition.class, new ConditionDeserializer(encoding));
+    addDeserializer(Condition.class, conditionDeserializer());
     addSerializer(Fulfillment.class, new FulfillmentSerializer(encoding));
     addDeserializer(Fulfillment.class, new FulfillmentDeserializer(encoding));
+    addDeserializer(LazyCondition.class, new LazyConditionDeserializer(encoding));
+    addDeserializer(LazyFulfillment.class, new LazyFulfillmentDeserializer(encoding));
   }
 
   @Override
@@ -99,8 +119,12 @@ public class CryptoConditionsModule extends SimpleModule {
           BeanDescription beanDesc,
           JsonDeserializer<?> deserializer
       ) {
-        if (Condition.class.isAssignableFrom(beanDesc.getType().getRawClass())) {
-          return new ConditionDeserializer(encoding);
+        if (LazyCondition.class.equals(beanDesc.getType().getRawClass())) {
+          return new LazyConditionDeserializer(encoding);
+        } else if (LazyFulfillment.class.equals(beanDesc.getType().getRawClass())) {
+          return new LazyFulfillmentDeserializer(encoding);
+        } else if (Condition.class.isAssignableFrom(beanDesc.getType().getRawClass())) {
+          return conditionDeserializer();
         } else if (Fulfillment.class.isAssignableFrom(beanDesc.getType().getRawClass())) {
           return new FulfillmentDeserializer(encoding);
         } else {
@@ -109,4 +133,10 @@ public class CryptoConditionsModule extends SimpleModule {
       }
     });
   }
+
+  private ConditionDeserializer conditionDeserializer() {
+    return conditionCache == null
+        ? new ConditionDeserializer(encoding)
+        : new ConditionDeserializer(encoding, conditionCache);
+  }
 }
@@ -32,5 +32,12 @@ public enum Encoding {
   BASE64,
   BASE64_WITHOUT_PADDING,
   BASE64URL,
-  BASE64URL_WITHOUT_PADDING
+  BASE64URL_WITHOUT_PADDING,
+
+  /**
+   * The raw DER encoding, written as a native binary value. Binary formats such as CBOR or Smile store the bytes as-is,
+   * while textual formats such as JSON encode them using the mapper's default {@link
+   * com.fasterxml.jackson.core.Base64Variant}.
+   */
+  BINARY
 }
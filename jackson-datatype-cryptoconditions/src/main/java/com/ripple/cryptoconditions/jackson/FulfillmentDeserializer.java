@@ -23,14 +23,11 @@ package com.ripple.cryptoconditions.jackson;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
-import com.google.common.io.BaseEncoding;
 import com.ripple.cryptoconditions.CryptoConditionReader;
 import com.ripple.cryptoconditions.Fulfillment;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 
 import java.io.IOException;
-import java.util.Base64;
-import java.util.Locale;
 import java.util.Objects;
 
 /**
@@ -54,26 +51,7 @@ public class FulfillmentDeserializer extends StdScalarDeserializer<Fulfillment>
   public Fulfillment deserialize(JsonParser jsonParser, DeserializationContext ctxt)
       throws IOException {
     try {
-      switch (encoding) {
-        case HEX: {
-          return CryptoConditionReader.readFulfillment(
-              BaseEncoding.base16().decode(jsonParser.getText().toUpperCase(Locale.US))
-          );
-        }
-        case BASE64:
-        case BASE64_WITHOUT_PADDING: {
-          return CryptoConditionReader
-              .readFulfillment(Base64.getDecoder().decode(jsonParser.getText()));
-        }
-        case BASE64URL:
-        case BASE64URL_WITHOUT_PADDING: {
-          return CryptoConditionReader
-              .readFulfillment(Base64.getUrlDecoder().decode(jsonParser.getText()));
-        }
-        default: {
-          throw new RuntimeException("Unhandled Fulfillment Encoding!");
-        }
-      }
+      return CryptoConditionReader.readFulfillment(BinaryCodec.read(jsonParser, ctxt, encoding, Fulfillment.class));
     } catch (DerEncodingException e) {
       throw new RuntimeException(e);
     }
@@ -23,13 +23,11 @@ package com.ripple.cryptoconditions.jackson;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
-import com.google.common.io.BaseEncoding;
 import com.ripple.cryptoconditions.CryptoConditionWriter;
 import com.ripple.cryptoconditions.Fulfillment;
 import com.ripple.cryptoconditions.der.DerEncodingException;
 
 import java.io.IOException;
-import java.util.Base64;
 import java.util.Objects;
 
 /**
@@ -54,40 +52,11 @@ public class FulfillmentSerializer extends StdScalarSerializer<Fulfillment> {
       throws IOException {
 
     try {
-      switch (encoding) {
-        case HEX: {
-          gen.writeString(
-              BaseEncoding.base16().encode(CryptoConditionWriter.writeFulfillment(fulfillment))
-          );
-          break;
-        }
-        case BASE64: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getEncoder(), fulfillment)
-          );
-          break;
-        }
-        case BASE64_WITHOUT_PADDING: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getEncoder().withoutPadding(), fulfillment)
-          );
-          break;
-        }
-        case BASE64URL: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getUrlEncoder(), fulfillment)
-          );
-          break;
-        }
-        case BASE64URL_WITHOUT_PADDING: {
-          gen.writeString(
-              SerializerUtils.encodeBase64(Base64.getUrlEncoder().withoutPadding(), fulfillment)
-          );
-          break;
-        }
-        default: {
-          throw new RuntimeException("Unhandled Encoding!");
-        }
+      if (fulfillment instanceof LazyFulfillment) {
+        // Echo the bytes that were read, without decoding and re-encoding them.
+        BinaryCodec.write(gen, provider, encoding, ((LazyFulfillment) fulfillment).getEncoded());
+      } else {
+        BinaryCodec.write(gen, provider, encoding, CryptoConditionWriter.writeFulfillment(fulfillment));
       }
     } catch (DerEncodingException e) {
       throw new RuntimeException(e);
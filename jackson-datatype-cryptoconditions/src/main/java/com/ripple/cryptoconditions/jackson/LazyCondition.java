@@ -0,0 +1,158 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.CryptoConditionType;
+import com.ripple.cryptoconditions.EncodedCondition;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * <p>A {@link Condition} that holds its DER encoding, and only decodes it the first time one of its {@link Condition}
+ * accessors is called.</p>
+ *
+ * <p>Declaring a property of this type, instead of {@link Condition}, lets a service that only forwards conditions skip
+ * decoding them: {@link CryptoConditionsModule} deserializes the property without inspecting the encoding, and
+ * serializes it by writing the same bytes back out.</p>
+ *
+ * <p>Since the encoding is not validated until it is decoded, an invalid encoding is only reported, by a {@link
+ * RuntimeException}, from the first accessor to be called.</p>
+ *
+ * <p>As an {@link EncodedCondition}, a lazy condition is ordered by its encoding, may be a subcondition of a threshold,
+ * and can be verified against, wherever a {@link Condition} is accepted. It only equals other lazy conditions with
+ * the same encoding, so to compare it for equality with a decoded condition, use {@link #getCondition()}.</p>
+ */
+public final class LazyCondition implements EncodedCondition {
+
+  private final byte[] encoded;
+
+  // Decoded on first use. Racing threads may each decode it, but always produce equal conditions.
+  private volatile Condition condition;
+
+  /**
+   * Required-args Constructor, which takes ownership of {@code encoded}.
+   *
+   * @param encoded The DER encoding of a condition.
+   */
+  LazyCondition(final byte[] encoded) {
+    this.encoded = Objects.requireNonNull(encoded, "Encoded condition must not be null!");
+  }
+
+  /**
+   * Constructs a {@link LazyCondition} from the DER encoding of a condition, without decoding it.
+   *
+   * @param encoded The DER encoding of a condition.
+   *
+   * @return A {@link LazyCondition} holding a copy of {@code encoded}.
+   */
+  public static LazyCondition from(final byte[] encoded) {
+    Objects.requireNonNull(encoded, "Encoded condition must not be null!");
+    return new LazyCondition(encoded.clone());
+  }
+
+  /**
+   * Accessor for the DER encoding of this condition, without copying it.
+   *
+   * @return The bytes this condition was constructed from, which must not be modified.
+   */
+  @Override
+  public byte[] getEncoded() {
+    return encoded;
+  }
+
+  /**
+   * Whether the encoding of this condition has been decoded yet.
+   *
+   * @return {@code true} if {@link #getCondition()} has already decoded this condition; {@code false} otherwise.
+   */
+  public boolean isDecoded() {
+    return condition != null;
+  }
+
+  /**
+   * Accessor for the decoded form of this condition, which is decoded on first use.
+   *
+   * @return The {@link Condition} that this condition encodes.
+   *
+   * @throws RuntimeException if the encoding of this condition is invalid.
+   */
+  @Override
+  public Condition getCondition() {
+    Condition decoded = condition;
+    if (decoded == null) {
+      try {
+        decoded = CryptoConditionReader.readCondition(encoded);
+      } catch (DerEncodingException e) {
+        throw new RuntimeException(e);
+      }
+      condition = decoded;
+    }
+    return decoded;
+  }
+
+  @Override
+  public CryptoConditionType getType() {
+    return getCondition().getType();
+  }
+
+  @Override
+  @Deprecated
+  public byte[] getFingerprint() {
+    return getCondition().getFingerprint();
+  }
+
+  @Override
+  public String getFingerprintBase64Url() {
+    return getCondition().getFingerprintBase64Url();
+  }
+
+  @Override
+  public long getCost() {
+    return getCondition().getCost();
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (!(object instanceof LazyCondition)) {
+      return false;
+    }
+    // DER is canonical, so two conditions are equal exactly when their encodings are.
+    return Arrays.equals(encoded, ((LazyCondition) object).encoded);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(encoded);
+  }
+
+  @Override
+  public String toString() {
+    return "LazyCondition{encoded=" + Base64.getUrlEncoder().withoutPadding().encodeToString(encoded) + "}";
+  }
+}
@@ -0,0 +1,160 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.CryptoConditionType;
+import com.ripple.cryptoconditions.EncodedFulfillment;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * <p>A {@link Fulfillment} that holds its DER encoding, and only decodes it the first time one of its {@link
+ * Fulfillment} methods is called.</p>
+ *
+ * <p>Declaring a property of this type, instead of {@link Fulfillment}, lets a service that only forwards fulfillments
+ * skip decoding them, and so skip constructing public keys and deriving conditions: {@link CryptoConditionsModule}
+ * deserializes the property without inspecting the encoding, and serializes it by writing the same bytes back out.</p>
+ *
+ * <p>Since the encoding is not validated until it is decoded, an invalid encoding is only reported, by a {@link
+ * RuntimeException}, from the first method to be called. As an {@link EncodedFulfillment}, a lazy fulfillment can be
+ * verified through a {@link com.ripple.cryptoconditions.CachingFulfillmentVerifier} without being decoded on a cache
+ * hit. Other parts of this library do not recognize this class, so use {@link #getFulfillment()} to pass the decoded
+ * fulfillment to them.</p>
+ */
+public final class LazyFulfillment implements EncodedFulfillment<Condition> {
+
+  private final byte[] encoded;
+
+  // Decoded on first use. Racing threads may each decode it, but always produce equal fulfillments.
+  private volatile Fulfillment<?> fulfillment;
+
+  /**
+   * Required-args Constructor, which takes ownership of {@code encoded}.
+   *
+   * @param encoded The DER encoding of a fulfillment.
+   */
+  LazyFulfillment(final byte[] encoded) {
+    this.encoded = Objects.requireNonNull(encoded, "Encoded fulfillment must not be null!");
+  }
+
+  /**
+   * Constructs a {@link LazyFulfillment} from the DER encoding of a fulfillment, without decoding it.
+   *
+   * @param encoded The DER encoding of a fulfillment.
+   *
+   * @return A {@link LazyFulfillment} holding a copy of {@code encoded}.
+   */
+  public static LazyFulfillment from(final byte[] encoded) {
+    Objects.requireNonNull(encoded, "Encoded fulfillment must not be null!");
+    return new LazyFulfillment(encoded.clone());
+  }
+
+  /**
+   * Accessor for the DER encoding of this fulfillment, without copying it.
+   *
+   * @return The bytes this fulfillment was constructed from, which must not be modified.
+   */
+  @Override
+  public byte[] getEncoded() {
+    return encoded;
+  }
+
+  /**
+   * Whether the encoding of this fulfillment has been decoded yet.
+   *
+   * @return {@code true} if {@link #getFulfillment()} has already decoded this fulfillment; {@code false} otherwise.
+   */
+  public boolean isDecoded() {
+    return fulfillment != null;
+  }
+
+  /**
+   * Accessor for the decoded form of this fulfillment, which is decoded on first use.
+   *
+   * @return The {@link Fulfillment} that this fulfillment encodes.
+   *
+   * @throws RuntimeException if the encoding of this fulfillment is invalid.
+   */
+  @Override
+  public Fulfillment<?> getFulfillment() {
+    Fulfillment<?> decoded = fulfillment;
+    if (decoded == null) {
+      try {
+        decoded = CryptoConditionReader.readFulfillment(encoded);
+      } catch (DerEncodingException e) {
+        throw new RuntimeException(e);
+      }
+      fulfillment = decoded;
+    }
+    return decoded;
+  }
+
+  @Override
+  public CryptoConditionType getType() {
+    return getFulfillment().getType();
+  }
+
+  @Override
+  public Condition getDerivedCondition() {
+    return getFulfillment().getDerivedCondition();
+  }
+
+  @Override
+  public boolean verify(final Condition condition, final byte[] message) {
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    return getFulfillment().verify(condition, message);
+  }
+
+  @Override
+  public boolean verify(final Condition condition, final byte[] message, final long maxCost) {
+    Objects.requireNonNull(condition, "Can't verify a fulfillment against an null condition.");
+    // Delegate, so that the decoded fulfillment's subfulfillments are metered individually.
+    return getFulfillment().verify(condition, message, maxCost);
+  }
+
+  @Override
+  public boolean equals(final Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (!(object instanceof LazyFulfillment)) {
+      return false;
+    }
+    // DER is canonical, so two fulfillments are equal exactly when their encodings are.
+    return Arrays.equals(encoded, ((LazyFulfillment) object).encoded);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(encoded);
+  }
+
+  @Override
+  public String toString() {
+    return "LazyFulfillment{encoded=" + Base64.getUrlEncoder().withoutPadding().encodeToString(encoded) + "}";
+  }
+}
@@ -0,0 +1,52 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Jackson deserializer for {@link LazyFulfillment} using configurable encodings, which does not decode the fulfillment.
+ */
+public class LazyFulfillmentDeserializer extends StdScalarDeserializer<LazyFulfillment> {
+
+  private final Encoding encoding;
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param encoding The {@link Encoding} to use for serialization and deserialization of conditions and fulfillments.
+   */
+  public LazyFulfillmentDeserializer(final Encoding encoding) {
+    super(LazyFulfillment.class);
+    this.encoding = Objects.requireNonNull(encoding, "Encoding must not be null!");
+  }
+
+  @Override
+  public LazyFulfillment deserialize(JsonParser jsonParser, DeserializationContext ctxt)
+      throws IOException {
+    return new LazyFulfillment(BinaryCodec.read(jsonParser, ctxt, encoding, LazyFulfillment.class));
+  }
+}
@@ -0,0 +1,601 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.CryptoConditionType;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Ed25519Sha256Fulfillment;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.ReaderLimits;
+import com.ripple.cryptoconditions.RsaSha256Fulfillment;
+import com.ripple.cryptoconditions.ThresholdSha256Fulfillment;
+import com.ripple.cryptoconditions.der.DerArrayWriter;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import com.ripple.cryptoconditions.utils.UnsignedBigInteger;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * <p>Reads and writes a {@link Fulfillment} in the structured JSON form used by the crypto-conditions test vectors,
+ * in which each fulfillment is an object holding its {@code type} and its fields, rather than an opaque encoding. For
+ * example:</p>
+ *
+ * <pre>
+ * {"type":"prefix-sha-256","maxMessageLength":0,"prefix":"",
+ *  "subfulfillment":{"type":"preimage-sha-256","preimage":"YWFh"}}
+ * </pre>
+ *
+ * <p>Binary fields are Base64URL-encoded without padding. A THRESHOLD-SHA-256 fulfillment lists its
+ * {@code subfulfillments} and its {@code threshold}; if the threshold is less than the number of subfulfillments,
+ * those that would add the most to the size of the encoded fulfillment are read as unfulfilled subconditions, and the
+ * rest are put in DER order, as the test vectors expect. Unfulfilled subconditions may also be listed explicitly, as
+ * encoded conditions, in {@code subconditions}, which is written whenever a fulfillment has any.</p>
+ *
+ * <p>Both directions work token by token on a {@link JsonParser} or {@link JsonGenerator}, without building a tree,
+ * and without recursing: besides the fulfillment itself, they hold one frame per open object. Reading keeps the
+ * encoded length of each subfulfillment, so a threshold is ordered without encoding its subfulfillments again, except
+ * to break a tie between two of the same type and length.
+ * To use this form for a property, annotate it with {@link StructuredFulfillmentSerializer} and
+ * {@link StructuredFulfillmentDeserializer}.</p>
+ */
+public final class StructuredFulfillmentCodec {
+
+  private static final String TYPE = "type";
+  private static final String PREIMAGE = "preimage";
+  private static final String PREFIX = "prefix";
+  private static final String MAX_MESSAGE_LENGTH = "maxMessageLength";
+  private static final String SUBFULFILLMENT = "subfulfillment";
+  private static final String MODULUS = "modulus";
+  private static final String PUBLIC_KEY = "publicKey";
+  private static final String SIGNATURE = "signature";
+  private static final String THRESHOLD = "threshold";
+  private static final String SUBFULFILLMENTS = "subfulfillments";
+  private static final String SUBCONDITIONS = "subconditions";
+
+  private static final Base64Variant BASE64URL = BinaryCodec.base64Variant(Encoding.BASE64URL_WITHOUT_PADDING);
+
+  private StructuredFulfillmentCodec() {
+  }
+
+  /**
+   * Writes {@code fulfillment} to {@code gen} as a single JSON object.
+   *
+   * @param fulfillment The {@link Fulfillment} to write.
+   * @param gen         The {@link JsonGenerator} to write to.
+   *
+   * @throws IOException If {@code gen} cannot be written to, or {@code fulfillment} contains a fulfillment of an
+   *                     unknown type.
+   */
+  public static void write(final Fulfillment<?> fulfillment, final JsonGenerator gen) throws IOException {
+    Objects.requireNonNull(fulfillment);
+    Objects.requireNonNull(gen);
+
+    // Each open PREFIX-SHA-256 or THRESHOLD-SHA-256 object, the innermost first.
+    final Deque<WriteFrame> frames = new ArrayDeque<>();
+    Fulfillment<?> next = fulfillment;
+    while (true) {
+      if (next != null) {
+        next = writeStart(next, gen, frames);
+        continue;
+      }
+      final WriteFrame frame = frames.peek();
+      if (frame == null) {
+        return;
+      }
+      if (frame.subfulfillments != null && frame.subfulfillments.hasNext()) {
+        next = frame.subfulfillments.next();
+      } else {
+        frames.pop();
+        if (frame.subfulfillments != null) {
+          gen.writeEndArray();
+        }
+        gen.writeEndObject();
+      }
+    }
+  }
+
+  /**
+   * Writes the start of the object for {@code fulfillment}, or all of it if it has no subfulfillments.
+   *
+   * @return The subfulfillment to write next, if {@code fulfillment} is a PREFIX-SHA-256 fulfillment; otherwise
+   *     {@code null}.
+   */
+  private static Fulfillment<?> writeStart(
+      final Fulfillment<?> fulfillment, final JsonGenerator gen, final Deque<WriteFrame> frames
+  ) throws IOException {
+    final Fulfillment<?> unwrapped =
+        fulfillment instanceof LazyFulfillment ? ((LazyFulfillment) fulfillment).getFulfillment() : fulfillment;
+
+    gen.writeStartObject();
+    gen.writeStringField(TYPE, unwrapped.getType().toString().toLowerCase());
+    if (unwrapped instanceof PreimageSha256Fulfillment) {
+      writeBinaryField(gen, PREIMAGE,
+          Base64.getUrlDecoder().decode(((PreimageSha256Fulfillment) unwrapped).getEncodedPreimage()));
+      gen.writeEndObject();
+      return null;
+    }
+    if (unwrapped instanceof PrefixSha256Fulfillment) {
+      final PrefixSha256Fulfillment prefixFulfillment = (PrefixSha256Fulfillment) unwrapped;
+      gen.writeNumberField(MAX_MESSAGE_LENGTH, prefixFulfillment.getMaxMessageLength());
+      writeBinaryField(gen, PREFIX, prefixFulfillment.getPrefix());
+      gen.writeFieldName(SUBFULFILLMENT);
+      frames.push(new WriteFrame(null));
+      return prefixFulfillment.getSubfulfillment();
+    }
+    if (unwrapped instanceof RsaSha256Fulfillment) {
+      final RsaSha256Fulfillment rsaFulfillment = (RsaSha256Fulfillment) unwrapped;
+      writeBinaryField(gen, MODULUS,
+          UnsignedBigInteger.toUnsignedByteArray(rsaFulfillment.getPublicKey().getModulus()));
+      writeBinaryField(gen, SIGNATURE, rsaFulfillment.getSignature());
+      gen.writeEndObject();
+      return null;
+    }
+    if (unwrapped instanceof Ed25519Sha256Fulfillment) {
+      final Ed25519Sha256Fulfillment ed25519Fulfillment = (Ed25519Sha256Fulfillment) unwrapped;
+      writeBinaryField(gen, PUBLIC_KEY, ed25519Fulfillment.getPublicKey().getAbyte());
+      writeBinaryField(gen, SIGNATURE, ed25519Fulfillment.getSignature());
+      gen.writeEndObject();
+      return null;
+    }
+    if (unwrapped instanceof ThresholdSha256Fulfillment) {
+      final ThresholdSha256Fulfillment thresholdFulfillment = (ThresholdSha256Fulfillment) unwrapped;
+      gen.writeNumberField(THRESHOLD, thresholdFulfillment.getSubfulfillments().size());
+      if (!thresholdFulfillment.getSubconditions().isEmpty()) {
+        gen.writeArrayFieldStart(SUBCONDITIONS);
+        for (final Condition subcondition : thresholdFulfillment.getSubconditions()) {
+          try {
+            final byte[] encoded = CryptoConditionWriter.writeCondition(subcondition);
+            gen.writeBinary(BASE64URL, encoded, 0, encoded.length);
+          } catch (DerEncodingException e) {
+            throw new RuntimeException(e);
+          }
+        }
+        gen.writeEndArray();
+      }
+      gen.writeArrayFieldStart(SUBFULFILLMENTS);
+      frames.push(new WriteFrame(thresholdFulfillment.getSubfulfillments().iterator()));
+      return null;
+    }
+    throw new JsonGenerationException("Unsupported fulfillment type: " + unwrapped.getClass().getName(), gen);
+  }
+
+  private static void writeBinaryField(final JsonGenerator gen, final String name, final byte[] value)
+      throws IOException {
+    gen.writeFieldName(name);
+    gen.writeBinary(BASE64URL, value, 0, value.length);
+  }
+
+  /**
+   * Reads a fulfillment from {@code parser}, using the default {@link ReaderLimits}.
+   *
+   * @param parser The {@link JsonParser} to read from, positioned at, or immediately before, the start of the object
+   *               to read.
+   *
+   * @return The {@link Fulfillment} that was read. On return, {@code parser} is positioned at the end of its object.
+   *
+   * @throws IOException If {@code parser} cannot be read, or does not hold a valid fulfillment.
+   */
+  public static Fulfillment read(final JsonParser parser) throws IOException {
+    return read(parser, ReaderLimits.defaults());
+  }
+
+  /**
+   * Reads a fulfillment from {@code parser}, rejecting it as soon as it exceeds the depth, subfulfillment or node
+   * limits of {@code limits}.
+   *
+   * @param parser The {@link JsonParser} to read from, positioned at, or immediately before, the start of the object
+   *               to read.
+   * @param limits The {@link ReaderLimits} to enforce.
+   *
+   * @return The {@link Fulfillment} that was read. On return, {@code parser} is positioned at the end of its object.
+   *
+   * @throws IOException If {@code parser} cannot be read, or does not hold a valid fulfillment within {@code limits}.
+   */
+  public static Fulfillment read(final JsonParser parser, final ReaderLimits limits) throws IOException {
+    Objects.requireNonNull(parser);
+    Objects.requireNonNull(limits);
+
+    JsonToken token = parser.currentToken();
+    if (token == null) {
+      token = parser.nextToken();
+    }
+    expect(parser, token, JsonToken.START_OBJECT);
+
+    // The object being read at each level of nesting, the innermost first.
+    final Deque<Frame> frames = new ArrayDeque<>();
+    frames.push(new Frame());
+    int nodes = 1;
+    while (true) {
+      token = parser.nextToken();
+      final Frame frame = frames.peek();
+
+      if (token == JsonToken.END_OBJECT) {
+        final Fulfillment fulfillment = frame.build(parser);
+        frames.pop();
+        final Frame parent = frames.peek();
+        if (parent == null) {
+          return fulfillment;
+        }
+        if (parent.inSubfulfillments) {
+          parent.subfulfillments.add(fulfillment);
+          parent.subfulfillmentLengths.add(frame.encodedLength);
+        } else {
+          parent.subfulfillment = fulfillment;
+          parent.subfulfillmentLength = frame.encodedLength;
+        }
+        continue;
+      }
+
+      if (frame.inSubfulfillments) {
+        if (token == JsonToken.END_ARRAY) {
+          frame.inSubfulfillments = false;
+          continue;
+        }
+        expect(parser, token, JsonToken.START_OBJECT);
+        if (frame.subfulfillments.size() >= limits.getMaxSubfulfillments()) {
+          throw JsonMappingException.from(
+              parser, "Threshold fulfillment exceeds the maximum number of subfulfillments."
+          );
+        }
+        nodes = pushFrame(parser, frames, nodes, limits);
+        continue;
+      }
+
+      expect(parser, token, JsonToken.FIELD_NAME);
+      final String field = parser.currentName();
+      token = parser.nextToken();
+      switch (field) {
+        case TYPE: {
+          expect(parser, token, JsonToken.VALUE_STRING);
+          try {
+            frame.type = CryptoConditionType.fromString(parser.getText());
+          } catch (IllegalArgumentException e) {
+            throw JsonMappingException.from(parser, "Unknown fulfillment type: " + parser.getText(), e);
+          }
+          break;
+        }
+        case PREIMAGE: {
+          frame.preimage = readBinary(parser, token);
+          break;
+        }
+        case PREFIX: {
+          frame.prefix = readBinary(parser, token);
+          break;
+        }
+        case MAX_MESSAGE_LENGTH: {
+          expect(parser, token, JsonToken.VALUE_NUMBER_INT);
+          frame.maxMessageLength = parser.getLongValue();
+          break;
+        }
+        case MODULUS: {
+          frame.modulus = readBinary(parser, token);
+          break;
+        }
+        case PUBLIC_KEY: {
+          frame.publicKey = readBinary(parser, token);
+          break;
+        }
+        case SIGNATURE: {
+          frame.signature = readBinary(parser, token);
+          break;
+        }
+        case THRESHOLD: {
+          expect(parser, token, JsonToken.VALUE_NUMBER_INT);
+          frame.threshold = parser.getIntValue();
+          break;
+        }
+        case SUBFULFILLMENT: {
+          expect(parser, token, JsonToken.START_OBJECT);
+          nodes = pushFrame(parser, frames, nodes, limits);
+          break;
+        }
+        case SUBFULFILLMENTS: {
+          expect(parser, token, JsonToken.START_ARRAY);
+          frame.subfulfillments = new ArrayList<>();
+          frame.subfulfillmentLengths = new ArrayList<>();
+          frame.inSubfulfillments = true;
+          break;
+        }
+        case SUBCONDITIONS: {
+          expect(parser, token, JsonToken.START_ARRAY);
+          frame.subconditions = new ArrayList<>();
+          while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (++nodes > limits.getMaxNodes()) {
+              throw JsonMappingException.from(parser, "Fulfillment exceeds the maximum number of nodes.");
+            }
+            try {
+              frame.subconditions.add(CryptoConditionReader.readCondition(readBinary(parser, token)));
+            } catch (DerEncodingException e) {
+              throw JsonMappingException.from(parser, "Invalid subcondition.", e);
+            }
+          }
+          break;
+        }
+        default: {
+          parser.skipChildren();
+          break;
+        }
+      }
+    }
+  }
+
+  private static int pushFrame(
+      final JsonParser parser, final Deque<Frame> frames, final int nodes, final ReaderLimits limits
+  ) throws IOException {
+    if (frames.size() >= limits.getMaxDepth()) {
+      throw JsonMappingException.from(parser, "Fulfillment exceeds the maximum depth.");
+    }
+    if (nodes >= limits.getMaxNodes()) {
+      throw JsonMappingException.from(parser, "Fulfillment exceeds the maximum number of nodes.");
+    }
+    frames.push(new Frame());
+    return nodes + 1;
+  }
+
+  private static byte[] readBinary(final JsonParser parser, final JsonToken token) throws IOException {
+    expect(parser, token, JsonToken.VALUE_STRING);
+    return parser.getBinaryValue(BASE64URL);
+  }
+
+  private static void expect(final JsonParser parser, final JsonToken actual, final JsonToken expected)
+      throws JsonMappingException {
+    if (actual != expected) {
+      throw JsonMappingException.from(parser, String.format("Expected %s but found %s.", expected, actual));
+    }
+  }
+
+  /**
+   * An open fulfillment object being written.
+   */
+  private static final class WriteFrame {
+
+    /**
+     * The subfulfillments of a THRESHOLD-SHA-256 fulfillment that are left to write, or {@code null} for a
+     * PREFIX-SHA-256 fulfillment, whose only subfulfillment is written as soon as its object is started.
+     */
+    private final Iterator<Fulfillment> subfulfillments;
+
+    private WriteFrame(final Iterator<Fulfillment> subfulfillments) {
+      this.subfulfillments = subfulfillments;
+    }
+  }
+
+  /**
+   * The fields of a single fulfillment object, collected until its end, in whatever order they appear.
+   */
+  private static final class Frame {
+
+    private CryptoConditionType type;
+    private byte[] preimage;
+    private byte[] prefix;
+    private long maxMessageLength = -1;
+    private Fulfillment subfulfillment;
+    private byte[] modulus;
+    private byte[] publicKey;
+    private byte[] signature;
+    private int threshold = -1;
+    private List<Fulfillment> subfulfillments;
+    private List<Condition> subconditions;
+    private boolean inSubfulfillments;
+
+    // The encoded lengths of the subfulfillments read so far, so that a parent need not encode its subtree to size or
+    // order it.
+    private int subfulfillmentLength;
+    private List<Integer> subfulfillmentLengths;
+
+    // The encoded length of the fulfillment that this frame built.
+    private int encodedLength;
+
+    /**
+     * Constructs the fulfillment described by the fields of this frame.
+     */
+    private Fulfillment build(final JsonParser parser) throws IOException {
+      if (type == null) {
+        throw JsonMappingException.from(parser, "Fulfillment has no type.");
+      }
+      try {
+        switch (type) {
+          case PREIMAGE_SHA256: {
+            final Fulfillment fulfillment = PreimageSha256Fulfillment.from(require(parser, preimage, PREIMAGE));
+            encodedLength = DerArrayWriter.encodedLength(DerArrayWriter.encodedLength(preimage.length));
+            return fulfillment;
+          }
+          case PREFIX_SHA256: {
+            if (maxMessageLength < 0) {
+              throw JsonMappingException.from(parser, "Prefix fulfillment has no maxMessageLength.");
+            }
+            final Fulfillment fulfillment = PrefixSha256Fulfillment.from(
+                require(parser, prefix, PREFIX), maxMessageLength, require(parser, subfulfillment, SUBFULFILLMENT)
+            );
+            encodedLength = DerArrayWriter.encodedLength(
+                DerArrayWriter.encodedLength(prefix.length)
+                    + DerArrayWriter.encodedLength(DerArrayWriter.integerLength(maxMessageLength))
+                    + DerArrayWriter.encodedLength(subfulfillmentLength)
+            );
+            return fulfillment;
+          }
+          case RSA_SHA256: {
+            final RsaSha256Fulfillment fulfillment = RsaSha256Fulfillment.from(
+                CryptoConditionReader.readRsaPublicKey(require(parser, modulus, MODULUS)),
+                require(parser, signature, SIGNATURE)
+            );
+            // The modulus is encoded without any leading zeros that it was read with.
+            encodedLength = DerArrayWriter.encodedLength(
+                DerArrayWriter.encodedLength(
+                    UnsignedBigInteger.toUnsignedByteArray(fulfillment.getPublicKey().getModulus()).length
+                ) + DerArrayWriter.encodedLength(signature.length)
+            );
+            return fulfillment;
+          }
+          case ED25519_SHA256: {
+            final Ed25519Sha256Fulfillment fulfillment = Ed25519Sha256Fulfillment.from(
+                CryptoConditionReader.readEd25519PublicKey(require(parser, publicKey, PUBLIC_KEY)),
+                require(parser, signature, SIGNATURE)
+            );
+            encodedLength = DerArrayWriter.encodedLength(
+                DerArrayWriter.encodedLength(fulfillment.getPublicKey().getA().toByteArray().length)
+                    + DerArrayWriter.encodedLength(signature.length)
+            );
+            return fulfillment;
+          }
+          case THRESHOLD_SHA256: {
+            return buildThreshold(parser);
+          }
+          default: {
+            throw JsonMappingException.from(parser, "Unsupported fulfillment type: " + type);
+          }
+        }
+      } catch (IllegalArgumentException e) {
+        throw JsonMappingException.from(parser, "Invalid " + type + " fulfillment: " + e.getMessage(), e);
+      }
+    }
+
+    private Fulfillment buildThreshold(final JsonParser parser) throws IOException {
+      final List<Fulfillment> fulfilled = subfulfillments == null ? new ArrayList<>() : subfulfillments;
+      final List<Integer> fulfilledLengths = subfulfillmentLengths == null ? new ArrayList<>() : subfulfillmentLengths;
+      final List<Condition> unfulfilled = subconditions == null ? new ArrayList<>() : subconditions;
+      final int required = threshold < 0 ? fulfilled.size() : threshold;
+      if (required > fulfilled.size()) {
+        throw JsonMappingException.from(parser, "Threshold fulfillment has too few subfulfillments.");
+      }
+
+      List<Integer> kept = new ArrayList<>(fulfilled.size());
+      for (int i = 0; i < fulfilled.size(); i++) {
+        kept.add(i);
+      }
+      if (required < fulfilled.size()) {
+        // Fulfill only the subfulfillments that add least to the size of the encoding, breaking ties by their
+        // encodings so that the choice does not depend on the order of the JSON array. Every other subfulfillment is
+        // replaced by its condition, whose encoding is cached.
+        final long[] growth = new long[fulfilled.size()];
+        try {
+          for (int i = 0; i < growth.length; i++) {
+            growth[i] = fulfilledLengths.get(i)
+                - CryptoConditionWriter.writeCondition(fulfilled.get(i).getDerivedCondition()).length;
+          }
+        } catch (DerEncodingException e) {
+          throw JsonMappingException.from(parser, "Invalid subfulfillment.", e);
+        }
+        sortInDerOrder(parser, kept, Comparator.comparingLong(index -> growth[index]));
+        for (final Integer index : kept.subList(required, kept.size())) {
+          unfulfilled.add(fulfilled.get(index).getDerivedCondition());
+        }
+        kept = new ArrayList<>(kept.subList(0, required));
+      }
+
+      // Both are encoded as a DER SET OF, whose elements are ordered by their encodings.
+      sortInDerOrder(parser, kept, (index1, index2) -> 0);
+      unfulfilled.sort(null);
+      final List<Fulfillment> keptFulfillments = new ArrayList<>(kept.size());
+      int keptLength = 0;
+      for (final Integer index : kept) {
+        keptFulfillments.add(fulfilled.get(index));
+        keptLength += fulfilledLengths.get(index);
+      }
+      int unfulfilledLength = 0;
+      try {
+        for (final Condition condition : unfulfilled) {
+          unfulfilledLength += CryptoConditionWriter.writeCondition(condition).length;
+        }
+      } catch (DerEncodingException e) {
+        throw JsonMappingException.from(parser, "Invalid subcondition.", e);
+      }
+      encodedLength = DerArrayWriter.encodedLength(
+          DerArrayWriter.encodedLength(keptLength) + DerArrayWriter.encodedLength(unfulfilledLength)
+      );
+      return ThresholdSha256Fulfillment.from(unfulfilled, keptFulfillments);
+    }
+
+    /**
+     * Sorts the indices of subfulfillments by {@code key}, and then in the DER order of their encodings. The tag and
+     * length that begin an encoding sort in the same order as its type code and length, so only subfulfillments of the
+     * same type and length are encoded to compare them.
+     */
+    private void sortInDerOrder(final JsonParser parser, final List<Integer> indices, final Comparator<Integer> key)
+        throws IOException {
+      final Comparator<Integer> order = key
+          .thenComparingInt(index -> subfulfillments.get(index).getType().getTypeCode())
+          .thenComparingInt(subfulfillmentLengths::get);
+      indices.sort(order);
+
+      int start = 0;
+      while (start < indices.size()) {
+        int end = start + 1;
+        while (end < indices.size() && order.compare(indices.get(start), indices.get(end)) == 0) {
+          end++;
+        }
+        if (end - start > 1) {
+          final Map<Integer, byte[]> encodings = new HashMap<>();
+          try {
+            for (final Integer index : indices.subList(start, end)) {
+              encodings.put(index, CryptoConditionWriter.writeFulfillment(subfulfillments.get(index)));
+            }
+          } catch (DerEncodingException e) {
+            throw JsonMappingException.from(parser, "Invalid subfulfillment.", e);
+          }
+          indices.subList(start, end).sort(
+              (index1, index2) -> compareEncodings(encodings.get(index1), encodings.get(index2))
+          );
+        }
+        start = end;
+      }
+    }
+
+    private static int compareEncodings(final byte[] encoded1, final byte[] encoded2) {
+      final int minLength = Math.min(encoded1.length, encoded2.length);
+      for (int i = 0; i < minLength; i++) {
+        final int result = Integer.compare(encoded1[i] & 0xFF, encoded2[i] & 0xFF);
+        if (result != 0) {
+          return result;
+        }
+      }
+      return encoded1.length - encoded2.length;
+    }
+
+    private static <T> T require(final JsonParser parser, final T value, final String field)
+        throws JsonMappingException {
+      if (value == null) {
+        throw JsonMappingException.from(parser, "Fulfillment has no " + field + ".");
+      }
+      return value;
+    }
+  }
+}
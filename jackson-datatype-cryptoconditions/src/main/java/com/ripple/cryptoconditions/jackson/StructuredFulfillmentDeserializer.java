@@ -0,0 +1,61 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.ReaderLimits;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Jackson deserializer for {@link Fulfillment} using the structured JSON form of {@link StructuredFulfillmentCodec}.
+ */
+public class StructuredFulfillmentDeserializer extends StdDeserializer<Fulfillment> {
+
+  private final ReaderLimits limits;
+
+  /**
+   * No-args Constructor, which enforces the default {@link ReaderLimits}.
+   */
+  public StructuredFulfillmentDeserializer() {
+    this(ReaderLimits.defaults());
+  }
+
+  /**
+   * Required-args Constructor.
+   *
+   * @param limits The {@link ReaderLimits} to enforce on each fulfillment that is read.
+   */
+  public StructuredFulfillmentDeserializer(final ReaderLimits limits) {
+    super(Fulfillment.class);
+    this.limits = Objects.requireNonNull(limits, "Limits must not be null!");
+  }
+
+  @Override
+  public Fulfillment deserialize(JsonParser jsonParser, DeserializationContext ctxt)
+      throws IOException {
+    return StructuredFulfillmentCodec.read(jsonParser, limits);
+  }
+}
@@ -0,0 +1,47 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.ripple.cryptoconditions.Fulfillment;
+
+import java.io.IOException;
+
+/**
+ * Jackson serializer for {@link Fulfillment} using the structured JSON form of {@link StructuredFulfillmentCodec}.
+ */
+public class StructuredFulfillmentSerializer extends StdSerializer<Fulfillment> {
+
+  /**
+   * No-args Constructor.
+   */
+  public StructuredFulfillmentSerializer() {
+    super(Fulfillment.class);
+  }
+
+  @Override
+  public void serialize(Fulfillment fulfillment, JsonGenerator gen, SerializerProvider provider)
+      throws IOException {
+    StructuredFulfillmentCodec.write(fulfillment, gen);
+  }
+}
@@ -0,0 +1,158 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.io.BaseEncoding;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * Unit tests for {@link BinaryCodec}, through the serializers and deserializers of {@link CryptoConditionsModule}.
+ */
+public class BinaryCodecTest {
+
+  private static final Fulfillment FULFILLMENT = PreimageSha256Fulfillment.from(
+      "you built a time machine out of a DeLorean?".getBytes()
+  );
+
+  private static final Condition CONDITION = FULFILLMENT.getDerivedCondition();
+
+  @Test
+  public void testHexIsReadInEitherCase() throws Exception {
+    final String hex = BaseEncoding.base16().encode(CryptoConditionWriter.writeCondition(CONDITION));
+
+    assertThat(mapper(Encoding.HEX).readValue(quote(hex.toLowerCase()), Condition.class), is(CONDITION));
+    assertThat(mapper(Encoding.HEX).readValue(quote(hex.toUpperCase()), Condition.class), is(CONDITION));
+  }
+
+  @Test(expected = InvalidFormatException.class)
+  public void testHexWithOddNumberOfDigitsIsRejected() throws Exception {
+    final String hex = BaseEncoding.base16().encode(CryptoConditionWriter.writeCondition(CONDITION));
+
+    mapper(Encoding.HEX).readValue(quote(hex.substring(1)), Condition.class);
+  }
+
+  @Test(expected = InvalidFormatException.class)
+  public void testHexWithNonHexDigitIsRejected() throws Exception {
+    final String hex = BaseEncoding.base16().encode(CryptoConditionWriter.writeFulfillment(FULFILLMENT));
+
+    mapper(Encoding.HEX).readValue(quote("0G" + hex.substring(2)), Fulfillment.class);
+  }
+
+  @Test
+  public void testBase64IsReadWithOrWithoutPadding() throws Exception {
+    final byte[] bytes = CryptoConditionWriter.writeFulfillment(FULFILLMENT);
+    final String padded = Base64.getEncoder().encodeToString(bytes);
+    final String unpadded = Base64.getEncoder().withoutPadding().encodeToString(bytes);
+    assertThat(padded.equals(unpadded), is(false));
+
+    for (final Encoding encoding : new Encoding[] {Encoding.BASE64, Encoding.BASE64_WITHOUT_PADDING}) {
+      assertThat(mapper(encoding).readValue(quote(padded), Fulfillment.class), is(FULFILLMENT));
+      assertThat(mapper(encoding).readValue(quote(unpadded), Fulfillment.class), is(FULFILLMENT));
+    }
+  }
+
+  @Test
+  public void testBase64UrlIsReadWithOrWithoutPadding() throws Exception {
+    final byte[] bytes = CryptoConditionWriter.writeFulfillment(FULFILLMENT);
+    final String padded = Base64.getUrlEncoder().encodeToString(bytes);
+    final String unpadded = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+    for (final Encoding encoding : new Encoding[] {Encoding.BASE64URL, Encoding.BASE64URL_WITHOUT_PADDING}) {
+      assertThat(mapper(encoding).readValue(quote(padded), Fulfillment.class), is(FULFILLMENT));
+      assertThat(mapper(encoding).readValue(quote(unpadded), Fulfillment.class), is(FULFILLMENT));
+    }
+  }
+
+  @Test(expected = JsonProcessingException.class)
+  public void testBase64RejectsUrlAlphabet() throws IOException {
+    mapper(Encoding.BASE64).readValue(quote("oSqAIOkkHZWtT8F6Nz5gm7af8CY8g1l91rx1jxYr8NnRXwnqgQIEZoICB4A_"),
+        Condition.class);
+  }
+
+  @Test
+  public void testWritesMatchJavaEncoders() throws Exception {
+    final byte[] bytes = CryptoConditionWriter.writeCondition(CONDITION);
+
+    assertThat(mapper(Encoding.HEX).writeValueAsString(CONDITION),
+        is(quote(BaseEncoding.base16().encode(bytes))));
+    assertThat(mapper(Encoding.BASE64).writeValueAsString(CONDITION),
+        is(quote(Base64.getEncoder().encodeToString(bytes))));
+    assertThat(mapper(Encoding.BASE64_WITHOUT_PADDING).writeValueAsString(CONDITION),
+        is(quote(Base64.getEncoder().withoutPadding().encodeToString(bytes))));
+    assertThat(mapper(Encoding.BASE64URL).writeValueAsString(CONDITION),
+        is(quote(Base64.getUrlEncoder().encodeToString(bytes))));
+    assertThat(mapper(Encoding.BASE64URL_WITHOUT_PADDING).writeValueAsString(CONDITION),
+        is(quote(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes))));
+  }
+
+  @Test
+  public void testBinaryFallsBackToMapperBase64VariantInJson() throws Exception {
+    final byte[] bytes = CryptoConditionWriter.writeFulfillment(FULFILLMENT);
+    final String json = mapper(Encoding.BINARY).writeValueAsString(FULFILLMENT);
+
+    assertThat(json, is(quote(Base64.getEncoder().encodeToString(bytes))));
+    assertThat(mapper(Encoding.BINARY).readValue(json, Fulfillment.class), is(FULFILLMENT));
+
+    final ObjectMapper urlMapper = mapper(Encoding.BINARY).setBase64Variant(Base64Variants.MODIFIED_FOR_URL);
+    final String urlJson = urlMapper.writeValueAsString(FULFILLMENT);
+    assertThat(urlJson, is(quote(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes))));
+    assertThat(urlMapper.readValue(urlJson, Fulfillment.class), is(FULFILLMENT));
+  }
+
+  @Test
+  public void testBinaryIsPassedThroughBinaryCapableBackend() throws Exception {
+    final byte[] bytes = CryptoConditionWriter.writeCondition(CONDITION);
+    final ObjectMapper objectMapper = mapper(Encoding.BINARY);
+
+    final TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+    objectMapper.writeValue(buffer, CONDITION);
+    try (JsonParser parser = buffer.asParser()) {
+      assertThat(parser.nextToken(), is(JsonToken.VALUE_EMBEDDED_OBJECT));
+      assertThat(parser.getBinaryValue(), is(bytes));
+    }
+    assertThat(objectMapper.readValue(buffer.asParser(), Condition.class), is(CONDITION));
+  }
+
+  private static ObjectMapper mapper(final Encoding encoding) {
+    return new ObjectMapper().registerModule(new CryptoConditionsModule(encoding));
+  }
+
+  private static String quote(final String value) {
+    return "\"" + value + "\"";
+  }
+}
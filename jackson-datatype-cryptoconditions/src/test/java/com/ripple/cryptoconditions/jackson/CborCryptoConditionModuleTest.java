@@ -0,0 +1,91 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+/**
+ * Validates the functionality of {@link CryptoConditionsModule} using {@link Encoding#BINARY} with CBOR, a binary
+ * format backend.
+ */
+public class CborCryptoConditionModuleTest {
+
+  private static final Fulfillment FULFILLMENT = PrefixSha256Fulfillment.from(
+      "I'm your density. I mean, your destiny.".getBytes(), 20,
+      PreimageSha256Fulfillment.from("you built a time machine out of a DeLorean?".getBytes())
+  );
+
+  private static final Condition CONDITION = FULFILLMENT.getDerivedCondition();
+
+  private ObjectMapper objectMapper;
+
+  @Before
+  public void setUp() {
+    objectMapper = new ObjectMapper(new CBORFactory())
+        .registerModule(new CryptoConditionsModule(Encoding.BINARY));
+  }
+
+  @Test
+  public void testConditionIsWrittenAsRawDer() throws Exception {
+    final byte[] der = CryptoConditionWriter.writeCondition(CONDITION);
+    final byte[] cbor = objectMapper.writeValueAsBytes(CONDITION);
+
+    // A CBOR byte string is a header of at most a few bytes, followed by the bytes themselves.
+    assertThat(cbor.length <= der.length + 3, is(true));
+    assertThat(Arrays.copyOfRange(cbor, cbor.length - der.length, cbor.length), is(der));
+
+    try (JsonParser parser = objectMapper.getFactory().createParser(cbor)) {
+      assertThat(parser.nextToken(), is(JsonToken.VALUE_EMBEDDED_OBJECT));
+      assertThat(parser.getBinaryValue(), is(der));
+    }
+  }
+
+  @Test
+  public void testSerializeDeserializeCondition() throws Exception {
+    final byte[] cbor = objectMapper.writeValueAsBytes(CONDITION);
+
+    assertThat(objectMapper.readValue(cbor, Condition.class), is(CONDITION));
+  }
+
+  @Test
+  public void testSerializeDeserializeFulfillment() throws Exception {
+    final byte[] der = CryptoConditionWriter.writeFulfillment(FULFILLMENT);
+    final byte[] cbor = objectMapper.writeValueAsBytes(FULFILLMENT);
+
+    assertThat(cbor.length <= der.length + 3, is(true));
+    assertThat(objectMapper.readValue(cbor, Fulfillment.class), is(FULFILLMENT));
+  }
+}
@@ -0,0 +1,134 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.fail;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.der.DerEncodingException;
+import org.junit.Test;
+
+import java.util.Base64;
+
+/**
+ * Unit tests for {@link ConditionCache}, and its use by {@link CryptoConditionsModule}.
+ */
+public class ConditionCacheTest {
+
+  private static final Condition CONDITION = PreimageSha256Fulfillment.from(
+      "you built a time machine out of a DeLorean?".getBytes()
+  ).getDerivedCondition();
+
+  private static final Condition OTHER_CONDITION = PreimageSha256Fulfillment.from(
+      "Great Scott!".getBytes()
+  ).getDerivedCondition();
+
+  @Test
+  public void testReadConditionCachesConditions() throws Exception {
+    final ConditionCache conditionCache = new ConditionCache(100);
+    final byte[] encoded = CryptoConditionWriter.writeCondition(CONDITION);
+
+    final Condition condition = conditionCache.readCondition(encoded);
+    assertThat(condition, is(CONDITION));
+    assertThat(conditionCache.readCondition(encoded.clone()), is(sameInstance(condition)));
+    assertThat(conditionCache.readCondition(CryptoConditionWriter.writeCondition(OTHER_CONDITION)),
+        is(OTHER_CONDITION));
+
+    assertThat(conditionCache.getHitCount(), is(1L));
+    assertThat(conditionCache.getMissCount(), is(2L));
+    assertThat(conditionCache.getHitRate(), is(1.0 / 3));
+    assertThat(conditionCache.size(), is(2L));
+  }
+
+  @Test
+  public void testReadConditionEvictsLeastRecentlyUsedConditions() throws Exception {
+    final ConditionCache conditionCache = new ConditionCache(1);
+
+    conditionCache.readCondition(CryptoConditionWriter.writeCondition(CONDITION));
+    conditionCache.readCondition(CryptoConditionWriter.writeCondition(OTHER_CONDITION));
+    conditionCache.readCondition(CryptoConditionWriter.writeCondition(CONDITION));
+
+    assertThat(conditionCache.getHitCount(), is(0L));
+    assertThat(conditionCache.getMissCount(), is(3L));
+    assertThat(conditionCache.size(), is(1L));
+  }
+
+  @Test
+  public void testInvalidEncodingIsNotCached() {
+    final ConditionCache conditionCache = new ConditionCache(100);
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        conditionCache.readCondition(new byte[] {1, 2, 3, 4, 5});
+        fail("Expected a DerEncodingException");
+      } catch (DerEncodingException e) {
+        // Expected.
+      }
+    }
+    assertThat(conditionCache.getMissCount(), is(2L));
+    assertThat(conditionCache.size(), is(0L));
+  }
+
+  @Test
+  public void testInvalidateAll() throws Exception {
+    final ConditionCache conditionCache = new ConditionCache(100);
+    assertThat(conditionCache.getHitRate(), is(1.0));
+
+    conditionCache.readCondition(CryptoConditionWriter.writeCondition(CONDITION));
+    conditionCache.invalidateAll();
+    conditionCache.readCondition(CryptoConditionWriter.writeCondition(CONDITION));
+
+    assertThat(conditionCache.getHitCount(), is(0L));
+    assertThat(conditionCache.getMissCount(), is(2L));
+    assertThat(conditionCache.size(), is(1L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNonPositiveMaximumSizeIsRejected() {
+    new ConditionCache(0);
+  }
+
+  @Test
+  public void testModuleReadsConditionsThroughCache() throws Exception {
+    final ConditionCache conditionCache = new ConditionCache(100);
+    final ObjectMapper objectMapper = new ObjectMapper()
+        .registerModule(new CryptoConditionsModule(Encoding.BASE64, conditionCache));
+    final byte[] encoded = CryptoConditionWriter.writeCondition(CONDITION);
+    final String padded = "\"" + Base64.getEncoder().encodeToString(encoded) + "\"";
+    final String unpadded = "\"" + Base64.getEncoder().withoutPadding().encodeToString(encoded) + "\"";
+
+    final Condition condition = objectMapper.readValue(padded, Condition.class);
+    assertThat(condition, is(CONDITION));
+    // The same condition, whatever text it was read from, is only decoded once.
+    assertThat(objectMapper.readValue(padded, Condition.class), is(sameInstance(condition)));
+    assertThat(objectMapper.readValue(unpadded, Condition.class), is(sameInstance(condition)));
+    assertThat(objectMapper.writeValueAsString(condition), is(padded));
+
+    assertThat(conditionCache.getHitCount(), is(2L));
+    assertThat(conditionCache.getMissCount(), is(1L));
+  }
+}
@@ -0,0 +1,237 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.ripple.cryptoconditions.CachingFulfillmentVerifier;
+import com.ripple.cryptoconditions.Condition;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.ThresholdConditionBuilder;
+import com.ripple.cryptoconditions.ThresholdSha256Condition;
+import com.ripple.cryptoconditions.ThresholdSha256Fulfillment;
+import org.immutables.value.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Validates the functionality of {@link CryptoConditionsModule} for {@link LazyCondition} and {@link LazyFulfillment}.
+ */
+public class LazyCryptoConditionModuleTest {
+
+  private static final Fulfillment FULFILLMENT = PrefixSha256Fulfillment.from(
+      "I'm your density. I mean, your destiny.".getBytes(), 20,
+      PreimageSha256Fulfillment.from("you built a time machine out of a DeLorean?".getBytes())
+  );
+
+  private static final Condition CONDITION = FULFILLMENT.getDerivedCondition();
+
+  private ObjectMapper objectMapper;
+
+  @Before
+  public void setUp() {
+    objectMapper = new ObjectMapper().registerModule(new CryptoConditionsModule());
+  }
+
+  @Test
+  public void testConditionIsEchoedWithoutDecoding() throws Exception {
+    final String json = objectMapper.writeValueAsString(CONDITION);
+
+    final LazyCondition lazyCondition = objectMapper.readValue(json, LazyCondition.class);
+    assertThat(objectMapper.writeValueAsString(lazyCondition), is(json));
+    assertThat(lazyCondition.isDecoded(), is(false));
+
+    assertThat(lazyCondition.getType(), is(CONDITION.getType()));
+    assertThat(lazyCondition.getCost(), is(CONDITION.getCost()));
+    assertThat(lazyCondition.getFingerprintBase64Url(), is(CONDITION.getFingerprintBase64Url()));
+    assertThat(lazyCondition.compareTo(CONDITION), is(0));
+    assertThat(lazyCondition.isDecoded(), is(true));
+    assertThat(lazyCondition.getCondition(), is(CONDITION));
+  }
+
+  @Test
+  public void testFulfillmentIsEchoedWithoutDecoding() throws Exception {
+    final String json = objectMapper.writeValueAsString(FULFILLMENT);
+
+    final LazyFulfillment lazyFulfillment = objectMapper.readValue(json, LazyFulfillment.class);
+    assertThat(objectMapper.writeValueAsString(lazyFulfillment), is(json));
+    assertThat(lazyFulfillment.isDecoded(), is(false));
+
+    assertThat(lazyFulfillment.getType(), is(FULFILLMENT.getType()));
+    assertThat(lazyFulfillment.getDerivedCondition(), is(CONDITION));
+    assertThat(lazyFulfillment.isDecoded(), is(true));
+    assertThat(lazyFulfillment.getFulfillment(), is(FULFILLMENT));
+  }
+
+  @Test
+  public void testInvalidEncodingIsEchoedAndOnlyRejectedWhenDecoded() throws Exception {
+    final byte[] garbage = {1, 2, 3, 4, 5};
+    final String json = "\"" + Base64.getEncoder().encodeToString(garbage) + "\"";
+
+    final LazyCondition lazyCondition = objectMapper.readValue(json, LazyCondition.class);
+    assertThat(objectMapper.writeValueAsString(lazyCondition), is(json));
+    assertThat(lazyCondition.getEncoded(), is(garbage));
+
+    try {
+      lazyCondition.getCost();
+      throw new AssertionError("Expected a RuntimeException");
+    } catch (RuntimeException e) {
+      assertThat(lazyCondition.isDecoded(), is(false));
+    }
+  }
+
+  @Test
+  public void testVerifyAgainstLazyOrDecodedCondition() throws Exception {
+    final LazyFulfillment lazyFulfillment = LazyFulfillment.from(CryptoConditionWriter.writeFulfillment(FULFILLMENT));
+    final LazyCondition lazyCondition = LazyCondition.from(CryptoConditionWriter.writeCondition(CONDITION));
+
+    assertThat(lazyFulfillment.verify(CONDITION, new byte[0]), is(true));
+    assertThat(lazyFulfillment.verify(lazyCondition, new byte[0]), is(true));
+    assertThat(lazyFulfillment.verify(lazyCondition, new byte[0], CONDITION.getCost()), is(true));
+    assertThat(lazyFulfillment.verify(lazyCondition, new byte[0], CONDITION.getCost() - 1), is(false));
+    assertThat(lazyFulfillment.verify(LazyCondition.from(CryptoConditionWriter.writeCondition(
+        PreimageSha256Fulfillment.from("Great Scott!".getBytes()).getDerivedCondition())), new byte[0]), is(false));
+  }
+
+  @Test
+  public void testCachedVerificationDoesNotDecode() throws Exception {
+    final CachingFulfillmentVerifier verifier = new CachingFulfillmentVerifier(100);
+    final LazyFulfillment lazyFulfillment = LazyFulfillment.from(CryptoConditionWriter.writeFulfillment(FULFILLMENT));
+
+    assertThat(verifier.verify(FULFILLMENT, CONDITION, new byte[0]), is(true));
+    assertThat(verifier.verify(lazyFulfillment, CONDITION, new byte[0]), is(true));
+    assertThat(verifier.getHitCount(), is(1L));
+    assertThat(lazyFulfillment.isDecoded(), is(false));
+  }
+
+  @Test
+  public void testEqualityIsByEncoding() throws Exception {
+    final byte[] encoded = CryptoConditionWriter.writeCondition(CONDITION);
+    final LazyCondition lazyCondition = LazyCondition.from(encoded);
+    lazyCondition.getCost();
+
+    assertThat(lazyCondition.equals(LazyCondition.from(encoded)), is(true));
+    assertThat(lazyCondition.hashCode(), is(LazyCondition.from(encoded).hashCode()));
+    assertThat(lazyCondition.equals(LazyCondition.from(CryptoConditionWriter.writeCondition(
+        PreimageSha256Fulfillment.from("Great Scott!".getBytes()).getDerivedCondition()))), is(false));
+  }
+
+  @Test
+  public void testOrderingIsByEncodingInEitherDirection() throws Exception {
+    final LazyCondition lazyCondition = LazyCondition.from(CryptoConditionWriter.writeCondition(CONDITION));
+    final Condition otherCondition = PreimageSha256Fulfillment.from("Great Scott!".getBytes()).getDerivedCondition();
+
+    assertThat(CONDITION.compareTo(lazyCondition), is(0));
+    assertThat(lazyCondition.compareTo(CONDITION), is(0));
+    assertThat(Integer.signum(otherCondition.compareTo(lazyCondition)),
+        is(Integer.signum(otherCondition.compareTo(CONDITION))));
+    assertThat(Integer.signum(lazyCondition.compareTo(otherCondition)),
+        is(Integer.signum(CONDITION.compareTo(otherCondition))));
+
+    final List<Condition> conditions = new ArrayList<>(Arrays.asList(lazyCondition, otherCondition, CONDITION));
+    Collections.sort(conditions);
+    assertThat(lazyCondition.isDecoded(), is(false));
+    final List<Condition> expected = new ArrayList<>(Arrays.asList(CONDITION, otherCondition, CONDITION));
+    Collections.sort(expected);
+    for (int i = 0; i < conditions.size(); i++) {
+      assertThat(CryptoConditionWriter.writeCondition(conditions.get(i)),
+          is(CryptoConditionWriter.writeCondition(expected.get(i))));
+    }
+  }
+
+  @Test
+  public void testLazyConditionAsThresholdSubcondition() throws Exception {
+    final LazyCondition lazyCondition = LazyCondition.from(CryptoConditionWriter.writeCondition(CONDITION));
+    final Fulfillment otherFulfillment = PreimageSha256Fulfillment.from("Great Scott!".getBytes());
+
+    final ThresholdSha256Fulfillment decodedThreshold = ThresholdSha256Fulfillment.from(
+        Collections.singletonList(CONDITION), Collections.singletonList(otherFulfillment)
+    );
+    final ThresholdSha256Fulfillment lazyThreshold = ThresholdSha256Fulfillment.from(
+        Collections.singletonList(lazyCondition), Collections.singletonList(otherFulfillment)
+    );
+    assertThat(lazyThreshold.getDerivedCondition(), is(decodedThreshold.getDerivedCondition()));
+    assertThat(lazyThreshold.getDerivedCondition().getSubtypes(),
+        is(decodedThreshold.getDerivedCondition().getSubtypes()));
+    assertThat(CryptoConditionWriter.writeFulfillment(lazyThreshold),
+        is(CryptoConditionWriter.writeFulfillment(decodedThreshold)));
+    assertThat(lazyThreshold.verify(decodedThreshold.getDerivedCondition(), new byte[0]), is(true));
+
+    final ThresholdSha256Condition built = new ThresholdConditionBuilder(2)
+        .add(lazyCondition)
+        .add(otherFulfillment.getDerivedCondition())
+        .build();
+    assertThat(built, is(ThresholdSha256Condition.from(
+        2, Arrays.asList(CONDITION, otherFulfillment.getDerivedCondition())
+    )));
+  }
+
+  @Test
+  public void testDecodedFulfillmentVerifiesAgainstLazyCondition() throws Exception {
+    final LazyCondition lazyCondition = LazyCondition.from(CryptoConditionWriter.writeCondition(CONDITION));
+
+    assertThat(FULFILLMENT.verify(lazyCondition, new byte[0]), is(true));
+    assertThat(FULFILLMENT.verify(LazyCondition.from(CryptoConditionWriter.writeCondition(
+        PreimageSha256Fulfillment.from("Great Scott!".getBytes()).getDerivedCondition())), new byte[0]), is(false));
+  }
+
+  @Test
+  public void testSerializeDeserializeContainer() throws Exception {
+    final String json = String.format(
+        "{\"condition\":\"%s\",\"fulfillment\":\"%s\"}",
+        Base64.getEncoder().encodeToString(CryptoConditionWriter.writeCondition(CONDITION)),
+        Base64.getEncoder().encodeToString(CryptoConditionWriter.writeFulfillment(FULFILLMENT))
+    );
+
+    final LazyContainer container = objectMapper.readValue(json, LazyContainer.class);
+    assertThat(container.getCondition().isDecoded(), is(false));
+    assertThat(container.getFulfillment().isDecoded(), is(false));
+    assertThat(objectMapper.writeValueAsString(container), is(json));
+
+    assertThat(container.getFulfillment().verify(container.getCondition(), new byte[0]), is(true));
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableLazyContainer.class)
+  @JsonDeserialize(as = ImmutableLazyContainer.class)
+  interface LazyContainer {
+
+    @JsonProperty("condition")
+    LazyCondition getCondition();
+
+    @JsonProperty("fulfillment")
+    LazyFulfillment getFulfillment();
+  }
+}
@@ -0,0 +1,260 @@
+package com.ripple.cryptoconditions.jackson;
+
+/*-
+ * ========================LICENSE_START=================================
+ * Crypto-Conditions Jackson
+ * %%
+ * Copyright (C) 2018 Ripple Labs
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * =========================LICENSE_END==================================
+ */
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsSame.sameInstance;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Lists;
+import com.google.common.io.BaseEncoding;
+import com.ripple.cryptoconditions.CryptoConditionReader;
+import com.ripple.cryptoconditions.CryptoConditionWriter;
+import com.ripple.cryptoconditions.Ed25519Sha256Fulfillment;
+import com.ripple.cryptoconditions.Fulfillment;
+import com.ripple.cryptoconditions.PrefixSha256Fulfillment;
+import com.ripple.cryptoconditions.PreimageSha256Fulfillment;
+import com.ripple.cryptoconditions.ReaderLimits;
+import com.ripple.cryptoconditions.ThresholdSha256Fulfillment;
+import org.immutables.value.Value;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+
+/**
+ * Unit tests for {@link StructuredFulfillmentCodec}.
+ */
+public class StructuredFulfillmentCodecTest {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+  @Test
+  public void testReadMinimalPrefixTestVector() throws Exception {
+    assertReadsAs(
+        "{\"type\":\"prefix-sha-256\",\"maxMessageLength\":0,\"prefix\":\"\","
+            + "\"subfulfillment\":{\"type\":\"preimage-sha-256\",\"preimage\":\"\"}}",
+        "A10B8000810100A204A0028000"
+    );
+  }
+
+  @Test
+  public void testReadEd25519TestVector() throws Exception {
+    assertReadsAs(
+        "{\"type\":\"ed25519-sha-256\",\"publicKey\":\"11qYAYKxCrfVS_7TyWQHOg7hcvPapiMlrwIaaPcHURo\","
+            + "\"signature\":\"5VZDAMNgrHKQhuLMgG6CioSHfx645dl02HPgZSJJAVVfuIIVkKM7r"
+            + "MYeOXAc-bRr0lv18FlbviRlUUFDjnoQCw\"}",
+        "A4648020D75A980182B10AB7D54BFED3C964073A0EE172F3DAA62325AF021A68F707511A8140E5564300C360AC729086E2CC806E828A84"
+            + "877F1EB8E5D974D873E065224901555FB8821590A33BACC61E39701CF9B46BD25BF5F0595BBE24655141438E7A100B"
+    );
+  }
+
+  @Test
+  public void testReadSharesDecodedKeysWithTheReader() throws Exception {
+    final Ed25519Sha256Fulfillment fulfillment = AbstractCryptoConditionsModuleTest.constructEd25519Fulfillment();
+    final String json = write(fulfillment);
+
+    final Ed25519Sha256Fulfillment read = (Ed25519Sha256Fulfillment) read(json, ReaderLimits.defaults());
+    assertThat(read, is(fulfillment));
+    assertThat(read.getPublicKey(), is(sameInstance(
+        ((Ed25519Sha256Fulfillment) CryptoConditionReader.readFulfillment(
+            CryptoConditionWriter.writeFulfillment(fulfillment))).getPublicKey()
+    )));
+  }
+
+  @Test
+  public void testReadThresholdTestVectorWithUnfulfilledSubfulfillment() throws Exception {
+    // The threshold is 1, so the second subfulfillment is only encoded as its condition.
+    assertReadsAs(
+        "{\"type\":\"threshold-sha-256\",\"threshold\":1,\"subfulfillments\":["
+            + "{\"type\":\"preimage-sha-256\",\"preimage\":\"YWFh\"},"
+            + "{\"type\":\"preimage-sha-256\",\"preimage\":\"YWFh\"}"
+            + "]}",
+        "A232A007A0058003616161A127A02580209834876DCFB05CB167A5C24953EBA58C4AC89B1ADF57F28F2F9D09AF107EE8F0810103"
+    );
+  }
+
+  @Test
+  public void testReadEveryValidTestVector() throws Exception {
+    // The test vectors are resources of the crypto-conditions module, which sits alongside this one.
+    final File[] vectors = Paths.get(
+        "..", "crypto-conditions", "src", "test", "resources", "com", "ripple", "cryptoconditions", "vectors", "valid"
+    ).toFile().listFiles((dir, name) -> name.endsWith(".json"));
+    assertThat(vectors != null && vectors.length > 0, is(true));
+
+    final ObjectMapper objectMapper = new ObjectMapper();
+    for (final File vector : vectors) {
+      final JsonNode testVector = objectMapper.readTree(vector);
+      try (JsonParser parser = objectMapper.treeAsTokens(testVector.get("json"))) {
+        final Fulfillment fulfillment = StructuredFulfillmentCodec.read(parser, ReaderLimits.defaults());
+        assertThat(vector.getName(), BaseEncoding.base16().encode(CryptoConditionWriter.writeFulfillment(fulfillment)),
+            is(testVector.get("fulfillment").asText()));
+      }
+    }
+  }
+
+  @Test
+  public void testFieldsAreReadInAnyOrder() throws Exception {
+    assertReadsAs(
+        "{\"subfulfillment\":{\"preimage\":\"\",\"type\":\"preimage-sha-256\"},\"unknown\":{\"ignored\":[1,2]},"
+            + "\"prefix\":\"\",\"maxMessageLength\":0,\"type\":\"PREFIX-SHA-256\"}",
+        "A10B8000810100A204A0028000"
+    );
+  }
+
+  @Test
+  public void testWriteReadEachType() throws Exception {
+    assertRoundTrips(AbstractCryptoConditionsModuleTest.constructPreimageFulfillment());
+    assertRoundTrips(AbstractCryptoConditionsModuleTest.constructPrefixFulfillment());
+    assertRoundTrips(AbstractCryptoConditionsModuleTest.constructRsaFulfillment());
+    assertRoundTrips(AbstractCryptoConditionsModuleTest.constructEd25519Fulfillment());
+  }
+
+  @Test
+  public void testWriteReadThresholdWithSubconditions() throws Exception {
+    final ThresholdSha256Fulfillment threshold = ThresholdSha256Fulfillment.from(
+        Lists.newArrayList(AbstractCryptoConditionsModuleTest.constructRsaFulfillment().getDerivedCondition()),
+        Lists.newArrayList(
+            AbstractCryptoConditionsModuleTest.constructPrefixFulfillment(),
+            AbstractCryptoConditionsModuleTest.constructEd25519Fulfillment()
+        )
+    );
+    // Decode the canonical encoding, whose subfulfillments and subconditions are in DER order.
+    final Fulfillment fulfillment = CryptoConditionReader.readFulfillment(
+        CryptoConditionWriter.writeFulfillment(threshold)
+    );
+
+    final String json = write(fulfillment);
+    assertThat(read(json, ReaderLimits.defaults()), is(fulfillment));
+    assertThat(read(json, ReaderLimits.defaults()).getDerivedCondition(), is(threshold.getDerivedCondition()));
+  }
+
+  @Test
+  public void testWriteLazyFulfillment() throws Exception {
+    final Fulfillment fulfillment = AbstractCryptoConditionsModuleTest.constructPrefixFulfillment();
+    final LazyFulfillment lazyFulfillment = LazyFulfillment.from(CryptoConditionWriter.writeFulfillment(fulfillment));
+
+    assertThat(write(lazyFulfillment), is(write(fulfillment)));
+  }
+
+  @Test
+  public void testDeeplyNestedFulfillment() throws Exception {
+    // Just below the default nesting limit of recent Jackson parsers.
+    final int depth = 990;
+    final StringBuilder json = new StringBuilder();
+    for (int i = 0; i < depth; i++) {
+      json.append("{\"type\":\"prefix-sha-256\",\"maxMessageLength\":0,\"prefix\":\"\",\"subfulfillment\":");
+    }
+    json.append("{\"type\":\"preimage-sha-256\",\"preimage\":\"\"}");
+    for (int i = 0; i < depth; i++) {
+      json.append('}');
+    }
+    final ReaderLimits limits = ReaderLimits.builder()
+        .maxDepth(depth + 1)
+        .maxNodes(depth + 1)
+        .build();
+
+    Fulfillment fulfillment = read(json.toString(), limits);
+    assertThat(write(fulfillment), is(json.toString()));
+    for (int i = 0; i < depth; i++) {
+      fulfillment = ((PrefixSha256Fulfillment) fulfillment).getSubfulfillment();
+    }
+    assertThat(fulfillment, is(PreimageSha256Fulfillment.from(new byte[0])));
+  }
+
+  @Test(expected = JsonMappingException.class)
+  public void testReadBeyondMaxDepth() throws Exception {
+    final ReaderLimits limits = ReaderLimits.builder().maxDepth(1).build();
+
+    read("{\"type\":\"prefix-sha-256\",\"maxMessageLength\":0,\"prefix\":\"\","
+        + "\"subfulfillment\":{\"type\":\"preimage-sha-256\",\"preimage\":\"\"}}", limits);
+  }
+
+  @Test(expected = JsonMappingException.class)
+  public void testReadWithoutType() throws Exception {
+    read("{\"preimage\":\"YWFh\"}", ReaderLimits.defaults());
+  }
+
+  @Test(expected = JsonMappingException.class)
+  public void testReadThresholdGreaterThanSubfulfillments() throws Exception {
+    read("{\"type\":\"threshold-sha-256\",\"threshold\":2,\"subfulfillments\":["
+        + "{\"type\":\"preimage-sha-256\",\"preimage\":\"YWFh\"}]}", ReaderLimits.defaults());
+  }
+
+  @Test
+  public void testSerializeDeserializeAnnotatedProperty() throws Exception {
+    final Fulfillment fulfillment = AbstractCryptoConditionsModuleTest.constructPrefixFulfillment();
+    final StructuredContainer expectedContainer = ImmutableStructuredContainer.builder()
+        .fulfillment(fulfillment)
+        .build();
+    final ObjectMapper objectMapper = new ObjectMapper().registerModule(new CryptoConditionsModule());
+
+    final String json = objectMapper.writeValueAsString(expectedContainer);
+    assertThat(json, is("{\"fulfillment\":" + write(fulfillment) + "}"));
+    assertThat(objectMapper.readValue(json, StructuredContainer.class), is(expectedContainer));
+  }
+
+  private static void assertReadsAs(final String json, final String expectedDerHex) throws Exception {
+    final Fulfillment fulfillment = read(json, ReaderLimits.defaults());
+
+    assertThat(BaseEncoding.base16().encode(CryptoConditionWriter.writeFulfillment(fulfillment)), is(expectedDerHex));
+  }
+
+  private static void assertRoundTrips(final Fulfillment fulfillment) throws IOException {
+    assertThat(read(write(fulfillment), ReaderLimits.defaults()), is(fulfillment));
+  }
+
+  private static String write(final Fulfillment fulfillment) throws IOException {
+    final StringWriter writer = new StringWriter();
+    try (JsonGenerator gen = JSON_FACTORY.createGenerator(writer)) {
+      StructuredFulfillmentCodec.write(fulfillment, gen);
+    }
+    return writer.toString();
+  }
+
+  private static Fulfillment read(final String json, final ReaderLimits limits) throws IOException {
+    try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+      return StructuredFulfillmentCodec.read(parser, limits);
+    }
+  }
+
+  @Value.Immutable
+  @JsonSerialize(as = ImmutableStructuredContainer.class)
+  @JsonDeserialize(as = ImmutableStructuredContainer.class)
+  interface StructuredContainer {
+
+    @JsonProperty("fulfillment")
+    @JsonSerialize(using = StructuredFulfillmentSerializer.class)
+    @JsonDeserialize(using = StructuredFulfillmentDeserializer.class)
+    Fulfillment getFulfillment();
+  }
+}